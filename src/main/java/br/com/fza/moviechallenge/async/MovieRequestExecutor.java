@@ -0,0 +1,117 @@
+package br.com.fza.moviechallenge.async;
+
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@Profile("!reactive")
+public class MovieRequestExecutor {
+
+    public static final String CAUSAL_TOKEN_HEADER = "X-Movies-Causal-Token";
+
+    private static final String METRIC_PREFIX = "movies.requests.";
+
+    private final AsyncTaskExecutor movieTaskExecutor;
+    private final long timeoutMillis;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+    private final MovieCausalSessions movieCausalSessions;
+    private final Counter rejected;
+    private final Counter timeouts;
+
+    public MovieRequestExecutor(final @Qualifier("movieTaskExecutor") AsyncTaskExecutor movieTaskExecutor,
+                                final @Value("${movies.async.timeout-millis}") long timeoutMillis,
+                                final @Value("${movies.async.max-in-flight}") int maxInFlight,
+                                final MeterRegistry meterRegistry,
+                                final MovieCausalSessions movieCausalSessions) {
+        this.movieTaskExecutor = movieTaskExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maxInFlight);
+        this.meterRegistry = meterRegistry;
+        this.movieCausalSessions = movieCausalSessions;
+        this.rejected = meterRegistry.counter(METRIC_PREFIX + "rejected");
+        this.timeouts = meterRegistry.counter(METRIC_PREFIX + "timeouts");
+        Gauge.builder(METRIC_PREFIX + "in.flight", this.permits, semaphore -> maxInFlight - semaphore.availablePermits())
+                .register(meterRegistry);
+    }
+
+    public <T> WebAsyncTask<T> submit(final String operation, final Callable<T> callable) {
+        final ServletRequestAttributes request = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        final BsonDocument after = this.causalToken(request);
+        if (!this.permits.tryAcquire()) {
+            this.rejected.increment();
+            log.warn("Rejecting {}: too many movie requests in flight", operation);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many movie requests in flight");
+        }
+        final AtomicBoolean released = new AtomicBoolean();
+        final long submittedAt = System.nanoTime();
+        final WebAsyncTask<T> task = new WebAsyncTask<>(this.timeoutMillis, this.movieTaskExecutor, () -> {
+            final long startedAt = System.nanoTime();
+            this.timer("queue", operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                return this.movieCausalSessions.execute(after, () -> {
+                    final T result = callable.call();
+                    if (request != null && request.getResponse() != null) {
+                        this.movieCausalSessions.token()
+                                .ifPresent(token -> request.getResponse().setHeader(CAUSAL_TOKEN_HEADER, token));
+                    }
+                    return result;
+                });
+            } finally {
+                this.timer("execution", operation).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+        // Completion also follows timeouts, errors and disconnects, where a queued callable is cancelled before it runs
+        task.onCompletion(() -> {
+            if (released.compareAndSet(false, true)) {
+                this.permits.release();
+            }
+        });
+        task.onTimeout(() -> {
+            this.timeouts.increment();
+            log.error("Timed out {} after {} ms", operation, this.timeoutMillis);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Timed out " + operation);
+        });
+        return task;
+    }
+
+    // Reads after the token observe the write that produced it, even when they are served by a secondary
+    private BsonDocument causalToken(final ServletRequestAttributes request) {
+        final String token = request == null ? null : request.getRequest().getHeader(CAUSAL_TOKEN_HEADER);
+        if (token == null) {
+            return null;
+        }
+        try {
+            return this.movieCausalSessions.parse(token);
+        } catch(final IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private Timer timer(final String stage, final String operation) {
+        return Timer.builder(METRIC_PREFIX + stage)
+                .tag("operation", operation)
+                .register(this.meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fza.moviechallenge.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        final long expected = Math.max(expectedInsertions, 1);
+        final long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((optimalBits + Long.SIZE - 1) / Long.SIZE));
+        this.bits = (long) this.words.length() * Long.SIZE;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) this.bits / expected * Math.log(2)));
+    }
+
+    boolean mightContain(final String value) {
+        final long hash = hash(value);
+        final long increment = mix(hash) | 1;
+        for (int index = 0; index < this.hashFunctions; index++) {
+            final long bit = Math.floorMod(hash + index * increment, this.bits);
+            if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(final String value) {
+        final long hash = hash(value);
+        final long increment = mix(hash) | 1;
+        for (int index = 0; index < this.hashFunctions; index++) {
+            final long bit = Math.floorMod(hash + index * increment, this.bits);
+            this.words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+        this.insertions.incrementAndGet();
+    }
+
+    long insertions() {
+        return this.insertions.get();
+    }
+
+    long sizeInBytes() {
+        return this.bits / Byte.SIZE;
+    }
+
+    int hashFunctions() {
+        return this.hashFunctions;
+    }
+
+    // 64 bit FNV-1a spread by the murmur3 finalizer, the second hash for double hashing is derived from it
+    private static long hash(final String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (final byte character : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= character;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieCatalogStats {
+
+    private static final long RECENT_IDS = 100_000;
+    private static final long RECENT_IDS_EXPIRE_MINUTES = 10;
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final MovieCausalSessions movieCausalSessions;
+    private final AtomicLong drift;
+    // A creation can be delivered more than once, by the node that wrote it and by the change stream
+    private final Cache<String, Boolean> counted = Caffeine.newBuilder()
+            .maximumSize(RECENT_IDS)
+            .expireAfterWrite(RECENT_IDS_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private final long snapshotMaxMillis;
+
+    private volatile State state = new State(null, null);
+    private volatile boolean snapshots = true;
+
+    public MovieCatalogStats(final MovieRepository movieRepository, final MovieCausalSessions movieCausalSessions,
+                             final MeterRegistry meterRegistry,
+                             final @Value("${movies.stats.snapshot-max-millis}") long snapshotMaxMillis) {
+        this.movieRepository = movieRepository;
+        this.movieCausalSessions = movieCausalSessions;
+        this.snapshotMaxMillis = snapshotMaxMillis;
+        this.drift = meterRegistry.gauge("movies.stats.drift", new AtomicLong());
+    }
+
+    public MovieStats stats() {
+        final MovieStatsCounters current = this.state.counters;
+        if (current == null) {
+            throw new MovieStatsUnavailableException("The catalog statistics are still being computed, try again later");
+        }
+        return current.snapshot();
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        final State current = this.state;
+        for (final Movie movie : event.getMovies()) {
+            if (this.counted.asMap().putIfAbsent(movie.getId(), Boolean.TRUE) == null) {
+                count(current.counters, event.getClusterTime(), movie);
+                if (current.reconciliation != null) {
+                    current.reconciliation.offer(event.getClusterTime(), movie);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movies.stats.reconcile-interval-millis}")
+    public void reconcile() {
+        final MovieStatsCounters previous = this.state.counters;
+        MovieStatsCounters next = null;
+        if (this.snapshots) {
+            final long startedAt = System.nanoTime();
+            next = this.reconcile(previous, reconciliation ->
+                    this.movieCausalSessions.snapshot(() -> this.aggregate(reconciliation)));
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            // The server aborts transactions older than its lifetime limit, a catalog this large would never reconcile
+            if (elapsedMillis >= this.snapshotMaxMillis) {
+                log.warn("Reconciling the movie catalog statistics took {} ms in a snapshot, reading the latest data "
+                        + "from now on", elapsedMillis);
+                this.snapshots = false;
+            }
+        }
+        if (next == null) {
+            next = this.reconcile(previous, this::aggregate);
+        }
+        if (next == null) {
+            return;
+        }
+        if (previous != null) {
+            this.drift.set(next.total() - previous.total());
+        }
+        log.info("Movie catalog statistics reconciled with {} movies", next.total());
+    }
+
+    private MovieStatsCounters reconcile(final MovieStatsCounters previous,
+                                         final Function<Reconciliation, MovieStatsCounters> aggregation) {
+        final Reconciliation reconciliation = new Reconciliation();
+        this.state = new State(previous, reconciliation);
+        try {
+            final MovieStatsCounters next = aggregation.apply(reconciliation);
+            this.state = new State(next, null);
+            return next;
+        } catch(final RuntimeException e) {
+            log.error("Could not reconcile the movie catalog statistics, keeping the current counters", e);
+            this.state = new State(previous, null);
+            return null;
+        }
+    }
+
+    // The aggregation and the lookup of the movies created meanwhile read the same snapshot, so each creation is
+    // either counted by the aggregation or replayed on top of it. Boundaries come from the server, never from ids
+    // assigned by the clients
+    private MovieStatsCounters aggregate(final Reconciliation reconciliation) {
+        final MovieStats stats = this.movieRepository.aggregateStats();
+        final MovieStatsCounters next = new MovieStatsCounters(this.movieCausalSessions.snapshotTime().orElse(null));
+        next.add(stats);
+        final List<Movie> created = reconciliation.handOver(next);
+        final Set<String> aggregated = new HashSet<>();
+        for (int from = 0; from < created.size(); from += LOOKUP_BATCH_SIZE) {
+            aggregated.addAll(this.movieRepository.findExistingIds(created
+                    .subList(from, Math.min(from + LOOKUP_BATCH_SIZE, created.size())).stream()
+                    .map(Movie::getId)
+                    .collect(Collectors.toList())));
+        }
+        created.stream()
+                .filter(movie -> !aggregated.contains(movie.getId()))
+                .forEach(next::add);
+        return next;
+    }
+
+    private static void count(final MovieStatsCounters counters, final BsonTimestamp clusterTime, final Movie movie) {
+        if (counters != null && !counters.covers(clusterTime)) {
+            counters.add(movie);
+        }
+    }
+
+    // Swapped as a whole, so a creation never lands twice in the reconciled counters
+    @RequiredArgsConstructor
+    private static final class State {
+
+        // null until the first reconciliation, counting only the creations seen since boot would be wrong
+        private final MovieStatsCounters counters;
+        private final Reconciliation reconciliation;
+    }
+
+    // Holds the creations seen while the aggregation runs, then hands the later ones straight to the next counters
+    private static final class Reconciliation {
+
+        private final List<Movie> created = new ArrayList<>();
+        private MovieStatsCounters next;
+
+        private synchronized void offer(final BsonTimestamp clusterTime, final Movie movie) {
+            if (this.next == null) {
+                this.created.add(movie);
+            } else {
+                count(this.next, clusterTime, movie);
+            }
+        }
+
+        private synchronized List<Movie> handOver(final MovieStatsCounters next) {
+            this.next = next;
+            return this.created;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class MovieGenerationCounter {
+
+    // Generations restart at zero on every boot, the epoch keeps versions from different runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<CensureLevel, AtomicLong> generations = new EnumMap<>(CensureLevel.class);
+
+    public MovieGenerationCounter() {
+        Arrays.stream(CensureLevel.values()).forEach(level -> this.generations.put(level, new AtomicLong()));
+    }
+
+    public long generation(final CensureLevel censureLevel) {
+        return this.generations.get(censureLevel).get();
+    }
+
+    public String version(final CensureLevel censureLevel) {
+        return this.epoch + "." + this.generation(censureLevel);
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        event.censureLevels().forEach(censureLevel -> {
+            final long generation = this.generations.get(censureLevel).incrementAndGet();
+            log.debug("Censure level {} moved to generation {}", censureLevel, generation);
+        });
+    }
+}
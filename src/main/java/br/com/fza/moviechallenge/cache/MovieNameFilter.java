@@ -0,0 +1,124 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieNameFilter {
+
+    private static final String LOOKUPS_METRIC = "movies.names.filter.lookups";
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Counter skippedLookups;
+    private final Counter confirmedLookups;
+    private final Counter falsePositiveLookups;
+
+    // Null until the first scan finishes, every name might exist meanwhile
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    public MovieNameFilter(final MovieRepository movieRepository,
+                           final MeterRegistry meterRegistry,
+                           final @Value("${movies.names.filter.expected-insertions}") long expectedInsertions,
+                           final @Value("${movies.names.filter.false-positive-probability}") double falsePositiveProbability) {
+        this.movieRepository = movieRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.skippedLookups = meterRegistry.counter(LOOKUPS_METRIC, "result", "skipped");
+        this.confirmedLookups = meterRegistry.counter(LOOKUPS_METRIC, "result", "confirmed");
+        this.falsePositiveLookups = meterRegistry.counter(LOOKUPS_METRIC, "result", "false_positive");
+        meterRegistry.gauge("movies.names.filter.false.positive.rate", this, MovieNameFilter::falsePositiveRate);
+        meterRegistry.gauge("movies.names.filter.memory.bytes", this, MovieNameFilter::sizeInBytes);
+    }
+
+    public boolean mightContain(final String name) {
+        final BloomFilter current = this.filter;
+        return current == null || current.mightContain(name);
+    }
+
+    public Set<String> existingNames(final Collection<String> names,
+                                     final Function<Set<String>, Collection<String>> lookup) {
+        final Set<String> possibleNames = this.possibleNames(names);
+        if (possibleNames.isEmpty()) {
+            return Set.of();
+        }
+        return this.confirm(possibleNames, lookup.apply(possibleNames));
+    }
+
+    // Reactive callers look the possible names up themselves and confirm what the lookup found
+    public Set<String> possibleNames(final Collection<String> names) {
+        final Set<String> possibleNames = names.stream().filter(this::mightContain).collect(Collectors.toSet());
+        this.skippedLookups.increment(names.size() - possibleNames.size());
+        return possibleNames;
+    }
+
+    public Set<String> confirm(final Set<String> possibleNames, final Collection<String> foundNames) {
+        final Set<String> existingNames = new HashSet<>(foundNames);
+        this.confirmedLookups.increment(existingNames.size());
+        this.falsePositiveLookups.increment(possibleNames.size() - existingNames.size());
+        return existingNames;
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        event.getMovies().forEach(movie -> this.put(movie.getName()));
+    }
+
+    @Scheduled(fixedDelayString = "${movies.names.filter.rebuild-interval-millis}")
+    public void rebuild() {
+        final BloomFilter current = this.filter;
+        final long expected = Math.max(this.expectedInsertions, current == null ? 0 : current.insertions() * 2);
+        final BloomFilter next = new BloomFilter(expected, this.falsePositiveProbability);
+        // Names created during the scan go to both filters, so the swap cannot lose them
+        this.rebuilding = next;
+        try (CloseableIterator<Movie> movies = this.movieRepository.streamNames(SCAN_BATCH_SIZE)) {
+            movies.forEachRemaining(movie -> next.put(movie.getName()));
+            this.filter = next;
+            log.info("Movie name filter rebuilt with {} names in {} bytes", next.insertions(), next.sizeInBytes());
+        } catch(final RuntimeException e) {
+            log.error("Could not rebuild the movie name filter, keeping the previous one", e);
+        } finally {
+            this.rebuilding = null;
+        }
+    }
+
+    private void put(final String name) {
+        final BloomFilter current = this.filter;
+        if (current != null) {
+            current.put(name);
+        }
+        final BloomFilter next = this.rebuilding;
+        if (next != null) {
+            next.put(name);
+        }
+    }
+
+    private double falsePositiveRate() {
+        final double negatives = this.skippedLookups.count() + this.falsePositiveLookups.count();
+        return negatives == 0 ? 0 : this.falsePositiveLookups.count() / negatives;
+    }
+
+    private double sizeInBytes() {
+        final BloomFilter current = this.filter;
+        return current == null ? 0 : current.sizeInBytes();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class MoviePageCache {
+
+    public static final String CACHE_NAME = "movies.pages";
+
+    private final Cache<MoviePageKey, Page<Movie>> cache;
+    private final MovieCausalSessions movieCausalSessions;
+
+    public MoviePageCache(final @Value("${movies.cache.pages.maximum-weight}") long maximumWeight,
+                          final @Value("${movies.cache.pages.expire-after-write-seconds}") long expireAfterWriteSeconds,
+                          final MeterRegistry meterRegistry,
+                          final MovieCausalSessions movieCausalSessions) {
+        // Caffeine evicts with W-TinyLFU, so one-off deep pages do not push the popular ones out
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((MoviePageKey key, Page<Movie> page) -> page.getNumberOfElements() + 1)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+        this.movieCausalSessions = movieCausalSessions;
+    }
+
+    public Page<Movie> get(final MoviePageKey key, final Function<MoviePageKey, Page<Movie>> loader) {
+        return this.cache.get(key, missing -> {
+            this.movieCausalSessions.catchUp();
+            return loader.apply(missing);
+        });
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        final Set<CensureLevel> censureLevels = event.censureLevels();
+        this.cache.asMap().keySet().removeIf(key -> censureLevels.contains(key.getCensureLevel()));
+        log.debug("Cached pages of censure levels {} invalidated", censureLevels);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.MovieField;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Objects;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public final class MoviePageKey {
+
+    @Getter
+    private final CensureLevel censureLevel;
+
+    private final long generation;
+
+    private final Pageable pageable;
+
+    private final Set<MovieField> fields;
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof MoviePageKey)) {
+            return false;
+        }
+        final MoviePageKey key = (MoviePageKey) other;
+        return this.censureLevel == key.censureLevel
+                && this.generation == key.generation
+                && this.pageable.equals(key.pageable)
+                && this.fields.equals(key.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.censureLevel, this.generation, this.pageable, this.fields);
+    }
+
+}
@@ -0,0 +1,44 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MovieResponseBody {
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    public static MovieResponseBody of(final Content content) {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try {
+            content.writeTo(json);
+            final ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.size() / 4 + 64);
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(gzip)) {
+                json.writeTo(gzipOutputStream);
+            }
+            return new MovieResponseBody(json.toByteArray(), gzip.toByteArray());
+        } catch(final IOException e) {
+            throw new CouldNotTransformException("Could not serialize response body", e);
+        }
+    }
+
+    public int weight() {
+        return this.json.length + this.gzip.length;
+    }
+
+    @FunctionalInterface
+    public interface Content {
+
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class MovieResponseCache {
+
+    public static final String CACHE_NAME = "movies.responses";
+
+    private final Cache<MoviePageKey, MovieResponseBody> cache;
+    private final MovieCausalSessions movieCausalSessions;
+
+    public MovieResponseCache(final @Value("${movies.cache.responses.maximum-weight-bytes}") long maximumWeightBytes,
+                              final @Value("${movies.cache.responses.expire-after-write-seconds}") long expireAfterWriteSeconds,
+                              final MeterRegistry meterRegistry,
+                              final MovieCausalSessions movieCausalSessions) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((MoviePageKey key, MovieResponseBody body) -> body.weight())
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+        this.movieCausalSessions = movieCausalSessions;
+    }
+
+    public MovieResponseBody get(final MoviePageKey key, final Function<MoviePageKey, MovieResponseBody> loader) {
+        return this.cache.get(key, missing -> {
+            this.movieCausalSessions.catchUp();
+            return loader.apply(missing);
+        });
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        final Set<CensureLevel> censureLevels = event.censureLevels();
+        this.cache.asMap().keySet().removeIf(key -> censureLevels.contains(key.getCensureLevel()));
+        log.debug("Cached responses of censure levels {} invalidated", censureLevels);
+    }
+}
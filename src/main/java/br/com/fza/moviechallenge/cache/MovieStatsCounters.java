@@ -0,0 +1,68 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieStats;
+import org.bson.BsonTimestamp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class MovieStatsCounters {
+
+    // Movies committed up to the boundary are already counted by the aggregation the counters started from
+    private final BsonTimestamp boundary;
+    private final LongAdder total = new LongAdder();
+
+    // Kept sorted, so a snapshot is a read-only view over the counts instead of a copy rebuilt after each change
+    private final ConcurrentNavigableMap<CensureLevel, Long> byCensureLevel = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Integer, Long> byLaunchYear = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, Long> byDirector = new ConcurrentSkipListMap<>();
+
+    MovieStatsCounters(final BsonTimestamp boundary) {
+        this.boundary = boundary;
+        Arrays.stream(CensureLevel.values()).forEach(level -> this.byCensureLevel.put(level, 0L));
+    }
+
+    // Without a cluster time, or a boundary to compare it with, the movie cannot have been aggregated yet
+    boolean covers(final BsonTimestamp clusterTime) {
+        return clusterTime != null && this.boundary != null && clusterTime.compareTo(this.boundary) <= 0;
+    }
+
+    void add(final Movie movie) {
+        this.total.increment();
+        if (movie.getCensureLevel() != null) {
+            this.byCensureLevel.merge(movie.getCensureLevel(), 1L, Long::sum);
+        }
+        if (movie.getLaunchDate() != null) {
+            this.byLaunchYear.merge(movie.getLaunchDate().getYear(), 1L, Long::sum);
+        }
+        if (movie.getDirector() != null) {
+            this.byDirector.merge(movie.getDirector(), 1L, Long::sum);
+        }
+    }
+
+    void add(final MovieStats stats) {
+        this.total.add(stats.getTotal());
+        stats.getByCensureLevel().forEach((level, count) -> this.byCensureLevel.merge(level, count, Long::sum));
+        stats.getByLaunchYear().forEach((year, count) -> this.byLaunchYear.merge(year, count, Long::sum));
+        stats.getByDirector().forEach((director, count) -> this.byDirector.merge(director, count, Long::sum));
+    }
+
+    long total() {
+        return this.total.sum();
+    }
+
+    // The counts keep moving under the views, each of them is exact when read
+    MovieStats snapshot() {
+        return MovieStats.builder()
+                .total(this.total.sum())
+                .byCensureLevel(Collections.unmodifiableMap(this.byCensureLevel))
+                .byLaunchYear(Collections.unmodifiableMap(this.byLaunchYear))
+                .byDirector(Collections.unmodifiableMap(this.byDirector))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fza.moviechallenge.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration
+@Profile("!reactive")
+public class AsyncExecutionConfig {
+
+    private static final String EXECUTOR_NAME = "movieTaskExecutor";
+
+    @Bean(name = EXECUTOR_NAME)
+    public AsyncTaskExecutor movieTaskExecutor(final @Value("${movies.async.mode}") MovieExecutionMode mode,
+                                               final @Value("${movies.async.pool-size}") int poolSize,
+                                               final @Value("${movies.async.max-in-flight}") int maxInFlight,
+                                               final MeterRegistry meterRegistry) {
+        if (mode == MovieExecutionMode.SERVLET) {
+            log.info("Movie requests will run on the servlet container threads");
+            return new TaskExecutorAdapter(Runnable::run);
+        }
+        if (mode != MovieExecutionMode.BOUNDED) {
+            final Optional<ExecutorService> virtualThreads = this.virtualThreadPerTaskExecutor();
+            if (virtualThreads.isPresent()) {
+                log.info("Movie requests will run on virtual threads, limited to {} in flight", maxInFlight);
+                return new TaskExecutorAdapter(ExecutorServiceMetrics.monitor(meterRegistry, virtualThreads.get(),
+                        EXECUTOR_NAME, Collections.emptyList()));
+            }
+            if (mode == MovieExecutionMode.VIRTUAL) {
+                log.warn("Virtual threads are not supported by this runtime, falling back to a bounded pool");
+            }
+        }
+        log.info("Movie requests will run on a bounded pool of {} threads, limited to {} in flight", poolSize, maxInFlight);
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(maxInFlight);
+        executor.setThreadNamePrefix("movies-");
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), EXECUTOR_NAME,
+                Collections.emptyList());
+        return executor;
+    }
+
+    // Declaring an executor turns off Boot's applicationTaskExecutor, which MVC streams response bodies on
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder taskExecutorBuilder) {
+        return taskExecutorBuilder.build();
+    }
+
+    private Optional<ExecutorService> virtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch(final ReflectiveOperationException | UnsupportedOperationException e) {
+            log.debug("Virtual threads are not available", e);
+            return Optional.empty();
+        }
+    }
+
+}
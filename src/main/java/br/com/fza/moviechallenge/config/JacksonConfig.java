@@ -1,11 +1,14 @@
 package br.com.fza.moviechallenge.config;
 
+import br.com.fza.moviechallenge.metrics.MovieStageMetrics;
+import br.com.fza.moviechallenge.metrics.TimedJacksonHttpMessageConverter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -24,6 +27,12 @@ public class JacksonConfig {
         return javaTimeModule;
     }
 
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(final ObjectMapper objectMapper,
+                                                                                   final MovieStageMetrics movieStageMetrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, movieStageMetrics);
+    }
+
     @Bean
     public ObjectMapper objectMapper(final JavaTimeModule javaTimeModule) {
         return Jackson2ObjectMapperBuilder
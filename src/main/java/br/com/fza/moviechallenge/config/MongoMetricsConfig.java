@@ -0,0 +1,23 @@
+package br.com.fza.moviechallenge.config;
+
+import br.com.fza.moviechallenge.metrics.MongoCommandMetrics;
+import br.com.fza.moviechallenge.metrics.MongoPoolMetrics;
+import br.com.fza.moviechallenge.metrics.RepositoryMethodTagger;
+import com.mongodb.MongoClientOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoMetricsConfig {
+
+    @Bean
+    public MongoClientOptions mongoClientOptions(final MeterRegistry meterRegistry,
+                                                 final RepositoryMethodTagger repositoryMethodTagger) {
+        return MongoClientOptions.builder()
+                .addCommandListener(new MongoCommandMetrics(meterRegistry, repositoryMethodTagger))
+                .addConnectionPoolListener(new MongoPoolMetrics(meterRegistry, repositoryMethodTagger))
+                .build();
+    }
+
+}
@@ -0,0 +1,51 @@
+package br.com.fza.moviechallenge.config;
+
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Configuration
+public class MongoReadConfig {
+
+    @Bean
+    public MongoTemplate mongoTemplate(final MongoDbFactory mongoDbFactory,
+                                       final MongoConverter mongoConverter,
+                                       final MovieCausalSessions movieCausalSessions,
+                                       final @Value("${movies.reads.preference}") String preference,
+                                       final @Value("${movies.reads.max-staleness-seconds}") long maxStalenessSeconds) {
+        final ReadPreference readPreference = ReadPreference.primary().getName().equalsIgnoreCase(preference)
+                ? ReadPreference.primary()
+                : ReadPreference.valueOf(preference, Collections.emptyList(), maxStalenessSeconds, TimeUnit.SECONDS);
+        log.info("Movie request reads will use the {} read preference", readPreference);
+        return new MongoTemplate(mongoDbFactory, mongoConverter) {
+
+            // Operations run inside the causally consistent session bound to the calling thread, if any
+            @Override
+            protected MongoDatabase doGetDatabase() {
+                return movieCausalSessions.getDatabase();
+            }
+
+            // Background scans and rebuilds run outside sessions and must see every write, so they stay on the primary
+            @Override
+            protected MongoCollection<Document> prepareCollection(final MongoCollection<Document> collection) {
+                return collection.withReadPreference(movieCausalSessions.inSession()
+                        ? readPreference
+                        : ReadPreference.primary());
+            }
+        };
+    }
+
+}
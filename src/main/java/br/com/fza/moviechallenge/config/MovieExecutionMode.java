@@ -0,0 +1,10 @@
+package br.com.fza.moviechallenge.config;
+
+public enum MovieExecutionMode {
+
+    SERVLET,
+    BOUNDED,
+    VIRTUAL,
+    AUTO
+
+}
@@ -0,0 +1,24 @@
+package br.com.fza.moviechallenge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveWebSecurityConfig implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+        final HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set("Access-Control-Allow-Origin", "*");
+        headers.set("Access-Control-Allow-Methods", "*");
+        headers.add("Access-Control-Allow-Headers", "*");
+        return chain.filter(exchange);
+    }
+
+}
@@ -1,76 +1,406 @@
 package br.com.fza.moviechallenge.controller;
 
+import br.com.fza.moviechallenge.async.MovieRequestExecutor;
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.cache.MoviePageKey;
+import br.com.fza.moviechallenge.cache.MovieResponseBody;
+import br.com.fza.moviechallenge.cache.MovieResponseCache;
+import br.com.fza.moviechallenge.controller.request.MovieBatchRequest;
 import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.response.CursorPageResponse;
+import br.com.fza.moviechallenge.controller.response.MovieBatchResponse;
 import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.response.MovieStatsResponse;
+import br.com.fza.moviechallenge.controller.response.SliceResponse;
 import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieStatsTransformer;
 import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
 import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
 import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.metrics.MovieStageMetrics;
+import br.com.fza.moviechallenge.model.MovieField;
 import br.com.fza.moviechallenge.service.MovieService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @RequestMapping("/movies")
 @Api(value = "/movies", protocols = "http", tags = "movies")
 public class MovieController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String GZIP = "gzip";
+
     private final MovieService movieService;
     private final MovieRequestTransformer movieRequestTransformer;
     private final MovieTransformer movieTransformer;
+    private final MovieStatsTransformer movieStatsTransformer;
+    private final ObjectMapper objectMapper;
+    private final MovieGenerationCounter movieGenerationCounter;
+    private final MovieResponseCache movieResponseCache;
+    private final MovieRequestExecutor movieRequestExecutor;
+    private final MovieStageMetrics movieStageMetrics;
+    private final MovieControllerSupport movieControllerSupport;
 
     @ApiOperation(value = "Find All Movies")
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public Page<MovieResponse> findAllByCensureLevel(final @RequestParam CensureLevel censureLevel,
-                                                     final @RequestParam(required = false, defaultValue = "0") int page,
-                                                     final @RequestParam(required = false, defaultValue = "0") int size) {
+    public WebAsyncTask<ResponseEntity<?>> findAllByCensureLevel(final @RequestParam CensureLevel censureLevel,
+                                                                 final @RequestParam(required = false, defaultValue = "0") int page,
+                                                                 final @RequestParam(required = false, defaultValue = "0") int size,
+                                                                 final @RequestParam(required = false) Set<String> fields,
+                                                                 final @RequestParam(required = false) String sort,
+                                                                 final WebRequest webRequest) {
         log.info("Finding All Movies by Censure Level: {}", censureLevel);
+        final Set<MovieField> movieFields = this.movieControllerSupport.parseFields(fields);
+        final Sort movieSort = this.movieControllerSupport.parseSort(sort, page, size);
+        return this.movieRequestExecutor.submit("findAllByCensureLevel", () -> {
+            final String eTag = this.movieControllerSupport.buildETag(censureLevel, page, size, movieFields, movieSort);
+            final CacheControl cacheControl = this.movieControllerSupport.buildCacheControl();
+            if (webRequest.checkNotModified(eTag)) {
+                log.info("Movies by Censure Level: {} not modified since: {}", censureLevel, eTag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+            }
+            try {
+                final Pageable pageRequest = page == 0 || size == 0
+                        ? Pageable.unpaged()
+                        : PageRequest.of(page - 1, size, movieSort);
+                final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .eTag(eTag)
+                        .cacheControl(cacheControl);
+                // Unpaged listings are the largest, the message converter streams them instead of buffering
+                if (pageRequest.isUnpaged()) {
+                    return response.body(this.findPage(censureLevel, movieFields, pageRequest)
+                            .map(this.movieTransformer::transform));
+                }
+                final MoviePageKey pageKey = new MoviePageKey(censureLevel,
+                        this.movieGenerationCounter.generation(censureLevel), pageRequest, movieFields);
+                final MovieResponseBody responseBody = this.movieResponseCache.get(pageKey, key -> MovieResponseBody.of(
+                        outputStream -> this.serialize(this.findPage(censureLevel, movieFields, pageRequest), outputStream)));
+                response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+                if (this.acceptsGzip(webRequest)) {
+                    return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(responseBody.getGzip());
+                }
+                return response.body(responseBody.getJson());
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding all movies";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Stream All Movies as Newline Delimited JSON")
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllByCensureLevel(final @RequestParam CensureLevel censureLevel) {
+        log.info("Streaming All Movies by Censure Level: {}", censureLevel);
+        final Stream<Movie> movies;
         try {
-            final Pageable pageRequest = page == 0 || size == 0
-                    ? Pageable.unpaged()
-                    : PageRequest.of(page - 1, size);
-            final Page<Movie> moviesPage = this.movieService.findAllByCensureLevel(censureLevel, pageRequest);
-            return moviesPage.map(this.movieTransformer::transform);
+            movies = this.movieService.streamAllByCensureLevel(censureLevel);
         } catch(final Exception e) {
-            final String errorMessage = "Error finding all movies";
+            final String errorMessage = "Error streaming all movies";
             log.error(errorMessage, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
         }
+        final ObjectWriter writer = this.objectMapper
+                .writerFor(MovieResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final StreamingResponseBody body = outputStream -> {
+            try (movies; JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                final Iterator<Movie> iterator = movies.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, this.movieTransformer.transform(iterator.next()));
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @ApiOperation(value = "Find the Movies of an Actor, most recent first")
+    @GetMapping("/actors/{actor}")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Page<MovieResponse>> findAllByActor(final @PathVariable String actor,
+                                                            final @RequestParam(required = false, defaultValue = "1") int page,
+                                                            final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding All Movies with Actor: {}", actor);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.movieRequestExecutor.submit("findAllByActor", () -> {
+            try {
+                return this.movieService.findAllByActor(actor, PageRequest.of(page - 1, size))
+                        .map(this.movieTransformer::transform);
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding movies with actor: " + actor;
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Find the Movies of a Director, most recent first")
+    @GetMapping("/directors/{director}")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Page<MovieResponse>> findAllByDirector(final @PathVariable String director,
+                                                               final @RequestParam(required = false, defaultValue = "1") int page,
+                                                               final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding All Movies by Director: {}", director);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.movieRequestExecutor.submit("findAllByDirector", () -> {
+            try {
+                return this.movieService.findAllByDirector(director, PageRequest.of(page - 1, size))
+                        .map(this.movieTransformer::transform);
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding movies by director: " + director;
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Find a Slice of Movies without counting the total")
+    @GetMapping("/slice")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<SliceResponse<MovieResponse>> findSliceByCensureLevel(final @RequestParam CensureLevel censureLevel,
+                                                                              final @RequestParam(required = false, defaultValue = "1") int page,
+                                                                              final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding a Slice of Movies by Censure Level: {}", censureLevel);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.movieRequestExecutor.submit("findSliceByCensureLevel", () -> {
+            try {
+                final Slice<Movie> moviesSlice = this.movieService.findSliceByCensureLevel(censureLevel,
+                        PageRequest.of(page - 1, size));
+                return this.movieControllerSupport.toSliceResponse(moviesSlice, page);
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding a slice of movies";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Find All Movies using Cursor Pagination")
+    @GetMapping("/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<CursorPageResponse<MovieResponse>> findAllByCensureLevelWithCursor(final @RequestParam CensureLevel censureLevel,
+                                                                                           final @RequestParam(required = false) String cursor,
+                                                                                           final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding Movies by Censure Level: {} with cursor: {}", censureLevel, cursor);
+        this.movieControllerSupport.validatePageSize(size);
+        final String lastId = this.movieControllerSupport.decodeCursor(cursor);
+        return this.movieRequestExecutor.submit("findAllByCensureLevelWithCursor", () -> {
+            try {
+                return this.movieControllerSupport.toCursorPage(
+                        this.movieService.findAllByCensureLevelAfter(censureLevel, lastId, size));
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding movies with cursor";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Find the Movies launched in a period using Cursor Pagination")
+    @GetMapping("/releases")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<CursorPageResponse<MovieResponse>> findAllByLaunchDateBetween(final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                      final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                                      final @RequestParam(required = false) CensureLevel censureLevel,
+                                                                                      final @RequestParam(required = false) String cursor,
+                                                                                      final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding Movies launched between {} and {} with Censure Level: {}", from, to, censureLevel);
+        this.movieControllerSupport.validateRelease(from, to, size);
+        final Movie after = this.movieControllerSupport.decodeReleaseCursor(cursor);
+        return this.movieRequestExecutor.submit("findAllByLaunchDateBetween", () -> {
+            try {
+                return this.movieControllerSupport.toReleasePage(
+                        this.movieService.findAllByLaunchDateBetween(from, to, censureLevel, after, size));
+            } catch(final Exception e) {
+                final String errorMessage = "Error finding movies launched between " + from + " and " + to;
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Search Movies by name, director and cast")
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Page<MovieResponse>> searchMovies(final @RequestParam String q,
+                                                          final @RequestParam(required = false, defaultValue = "1") int page,
+                                                          final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Searching Movies matching: {}", q);
+        this.movieControllerSupport.validateSearch(q, page, size);
+        return this.movieRequestExecutor.submit("searchMovies", () -> {
+            try {
+                return this.movieService.searchMovies(q, PageRequest.of(page - 1, size))
+                        .map(this.movieTransformer::transform);
+            } catch(final MovieSearchUnavailableException se) {
+                log.error(se.getMessage(), se);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+            } catch(final Exception e) {
+                final String errorMessage = "Error searching movies";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Suggest Movie titles starting with a prefix")
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<List<MovieResponse>> suggestMovies(final @RequestParam String prefix,
+                                                           final @RequestParam(required = false) CensureLevel censureLevel,
+                                                           final @RequestParam(required = false, defaultValue = "10") int limit) {
+        log.debug("Suggesting Movies starting with: {}", prefix);
+        this.movieControllerSupport.validateSuggest(prefix, limit);
+        return this.movieRequestExecutor.submit("suggestMovies", () -> {
+            try {
+                return this.movieService.suggestMovies(prefix, censureLevel, limit).stream()
+                        .map(this.movieTransformer::transform)
+                        .collect(Collectors.toList());
+            } catch(final MovieSearchUnavailableException se) {
+                log.error(se.getMessage(), se);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+            } catch(final Exception e) {
+                final String errorMessage = "Error suggesting movies";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Movie Catalog Statistics")
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<MovieStatsResponse> getStats() {
+        log.debug("Getting the Movie Catalog Statistics");
+        return this.movieRequestExecutor.submit("getStats", () -> {
+            try {
+                return this.movieStatsTransformer.transform(this.movieService.getStats());
+            } catch(final MovieStatsUnavailableException se) {
+                log.error(se.getMessage(), se);
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+            } catch(final Exception e) {
+                final String errorMessage = "Error getting the movie catalog statistics";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
     }
 
     @ApiOperation(value = "Create a Movie")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public MovieResponse createMovie(final @RequestBody @Valid MovieRequest movieRequest) {
+    public WebAsyncTask<MovieResponse> createMovie(final @RequestBody @Valid MovieRequest movieRequest) {
         log.info("Creating a new Movie: {}", movieRequest);
-        try {
-            final Movie movieCandidate = this.movieRequestTransformer.transform(movieRequest);
-            final Movie persistedMovie = this.movieService.createMovie(movieCandidate);
-            final MovieResponse movieResponse = this.movieTransformer.transform(persistedMovie);
-            log.info("Movie {} created with id: {}", persistedMovie.getName(), persistedMovie.getId());
-            return movieResponse;
-        } catch(final DuplicatedMovieException de) {
-            log.error(de.getMessage(), de);
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, de.getMessage(), de);
-        } catch(final Exception e) {
-            final String errorMessage = "Error creating the movie: " + movieRequest.toString();
-            log.error(errorMessage, e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+        return this.movieRequestExecutor.submit("createMovie", () -> {
+            try {
+                final Movie movieCandidate = this.movieRequestTransformer.transform(movieRequest);
+                final Movie persistedMovie = this.movieService.createMovie(movieCandidate);
+                final MovieResponse movieResponse = this.movieTransformer.transform(persistedMovie);
+                log.info("Movie {} created with id: {}", persistedMovie.getName(), persistedMovie.getId());
+                return movieResponse;
+            } catch(final DuplicatedMovieException de) {
+                log.error(de.getMessage(), de);
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, de.getMessage(), de);
+            } catch(final Exception e) {
+                final String errorMessage = "Error creating the movie: " + movieRequest.toString();
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    @ApiOperation(value = "Create a Batch of Movies")
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<MovieBatchResponse> createMovies(final @RequestBody @Valid MovieBatchRequest movieBatchRequest) {
+        log.info("Creating a batch of {} movies", movieBatchRequest.getMovies().size());
+        return this.movieRequestExecutor.submit("createMovies", () -> {
+            try {
+                final List<Movie> movieCandidates = movieBatchRequest.getMovies().stream()
+                        .map(this.movieRequestTransformer::transform)
+                        .collect(Collectors.toList());
+                return this.movieControllerSupport.toBatchResponse(this.movieService.createMovies(movieCandidates));
+            } catch(final Exception e) {
+                final String errorMessage = "Error creating the batch of movies";
+                log.error(errorMessage, e);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+            }
+        });
+    }
+
+    private Page<Movie> findPage(final CensureLevel censureLevel, final Set<MovieField> movieFields,
+                                 final Pageable pageRequest) {
+        return movieFields.isEmpty()
+                ? this.movieService.findAllByCensureLevel(censureLevel, pageRequest)
+                : this.movieService.findAllByCensureLevel(censureLevel, movieFields, pageRequest);
+    }
+
+    private void serialize(final Page<Movie> moviesPage, final OutputStream outputStream) throws IOException {
+        final Page<MovieResponse> movieResponses = moviesPage.map(this.movieTransformer::transform);
+        this.movieStageMetrics.time(MovieStageMetrics.SERIALIZATION, "movieController.findAllByCensureLevel", () -> {
+            this.objectMapper.writeValue(outputStream, movieResponses);
+            return null;
+        });
+    }
+
+    private boolean acceptsGzip(final WebRequest webRequest) {
+        final String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0{0,3})?");
+            }
         }
+        return false;
     }
 
 }
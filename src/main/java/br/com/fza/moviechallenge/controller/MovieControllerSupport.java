@@ -0,0 +1,209 @@
+package br.com.fza.moviechallenge.controller;
+
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.controller.response.CursorPageResponse;
+import br.com.fza.moviechallenge.controller.response.MovieBatchItemResponse;
+import br.com.fza.moviechallenge.controller.response.MovieBatchResponse;
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.response.SliceResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieBatchResultTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieCursorTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieReleaseCursorTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieSortTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.search.MovieSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Request validation and response assembly shared by the servlet and the reactive controllers
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieControllerSupport {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final MovieTransformer movieTransformer;
+    private final MovieCursorTransformer movieCursorTransformer;
+    private final MovieReleaseCursorTransformer movieReleaseCursorTransformer;
+    private final MovieSortTransformer movieSortTransformer;
+    private final MovieBatchResultTransformer movieBatchResultTransformer;
+    private final MovieGenerationCounter movieGenerationCounter;
+
+    @Value("${movies.http.cache.max-age-seconds}")
+    private long cacheMaxAgeSeconds;
+
+    public String buildETag(final CensureLevel censureLevel, final int page, final int size,
+                            final Set<MovieField> fields, final Sort sort) {
+        // Weak, so the container may still compress the response and every encoding shares the validator
+        return "W/\"" + this.movieGenerationCounter.version(censureLevel)
+                + "-" + censureLevel.ordinal() + "-" + page + "-" + size
+                + fields.stream().map(field -> "-" + field.ordinal()).collect(Collectors.joining())
+                + sort.stream().map(order -> "-" + order.getProperty() + "." + order.getDirection())
+                .collect(Collectors.joining()) + "\"";
+    }
+
+    public CacheControl buildCacheControl() {
+        return this.cacheMaxAgeSeconds > 0
+                ? CacheControl.maxAge(this.cacheMaxAgeSeconds, TimeUnit.SECONDS).mustRevalidate()
+                : CacheControl.noCache();
+    }
+
+    public Set<MovieField> parseFields(final Set<String> fields) {
+        final Set<MovieField> movieFields = EnumSet.noneOf(MovieField.class);
+        if (fields == null) {
+            return movieFields;
+        }
+        try {
+            fields.forEach(field -> movieFields.add(MovieField.fromProperty(field.trim())));
+            return movieFields;
+        } catch(final IllegalArgumentException e) {
+            log.error(e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    public Sort parseSort(final String sort, final int page, final int size) {
+        if (sort == null) {
+            return Sort.unsorted();
+        }
+        if (page == 0 || size == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sort requires page and size");
+        }
+        try {
+            return this.movieSortTransformer.transform(sort);
+        } catch(final CouldNotTransformException te) {
+            log.error(te.getMessage(), te);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, te.getMessage(), te);
+        }
+    }
+
+    public void validateSearch(final String query, final int page, final int size) {
+        if (query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be blank");
+        }
+        this.validatePage(page, size);
+    }
+
+    public void validateSuggest(final String prefix, final int limit) {
+        if (prefix.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefix must not be blank");
+        }
+        if (limit < 1 || limit > MovieSuggestIndex.MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MovieSuggestIndex.MAX_SUGGESTIONS);
+        }
+    }
+
+    public void validatePage(final int page, final int size) {
+        if (page < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be greater than zero");
+        }
+        this.validatePageSize(size);
+    }
+
+    public void validatePageSize(final int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public void validateRelease(final LocalDate from, final LocalDate to, final int size) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must not be after to");
+        }
+        this.validatePageSize(size);
+    }
+
+    public Movie decodeReleaseCursor(final String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return this.movieReleaseCursorTransformer.decode(cursor);
+        } catch(final CouldNotTransformException te) {
+            log.error(te.getMessage(), te);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor, te);
+        }
+    }
+
+    public String decodeCursor(final String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return this.movieCursorTransformer.decode(cursor);
+        } catch(final CouldNotTransformException te) {
+            log.error(te.getMessage(), te);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor, te);
+        }
+    }
+
+    public SliceResponse<MovieResponse> toSliceResponse(final Slice<Movie> moviesSlice, final int page) {
+        return SliceResponse.<MovieResponse>builder()
+                .content(moviesSlice.map(this.movieTransformer::transform).getContent())
+                .page(page)
+                .size(moviesSlice.getNumberOfElements())
+                .hasNext(moviesSlice.hasNext())
+                .build();
+    }
+
+    public CursorPageResponse<MovieResponse> toCursorPage(final Slice<Movie> moviesSlice) {
+        return this.toCursorPage(moviesSlice, this.movieCursorTransformer::transform);
+    }
+
+    public CursorPageResponse<MovieResponse> toReleasePage(final Slice<Movie> moviesSlice) {
+        return this.toCursorPage(moviesSlice, this.movieReleaseCursorTransformer::transform);
+    }
+
+    public MovieBatchResponse toBatchResponse(final List<MovieBatchResult> movieBatchResults) {
+        final List<MovieBatchItemResponse> results = movieBatchResults.stream()
+                .map(this.movieBatchResultTransformer::transform)
+                .collect(Collectors.toList());
+        final MovieBatchResponse movieBatchResponse = MovieBatchResponse.builder()
+                .results(results)
+                .created(this.count(results, MovieBatchStatus.CREATED))
+                .duplicated(this.count(results, MovieBatchStatus.DUPLICATED))
+                .failed(this.count(results, MovieBatchStatus.FAILED))
+                .build();
+        log.info("Batch of {} movies processed: {} created, {} duplicated, {} failed", results.size(),
+                movieBatchResponse.getCreated(), movieBatchResponse.getDuplicated(), movieBatchResponse.getFailed());
+        return movieBatchResponse;
+    }
+
+    private long count(final List<MovieBatchItemResponse> results, final MovieBatchStatus status) {
+        return results.stream().filter(result -> result.getStatus() == status).count();
+    }
+
+    private CursorPageResponse<MovieResponse> toCursorPage(final Slice<Movie> moviesSlice,
+                                                           final Function<Movie, String> cursorOf) {
+        final List<Movie> movies = moviesSlice.getContent();
+        return CursorPageResponse.<MovieResponse>builder()
+                .content(movies.stream().map(this.movieTransformer::transform).collect(Collectors.toList()))
+                .size(movies.size())
+                .next(moviesSlice.hasNext() ? cursorOf.apply(movies.get(movies.size() - 1)) : null)
+                .build();
+    }
+
+}
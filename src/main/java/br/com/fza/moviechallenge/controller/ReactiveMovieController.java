@@ -0,0 +1,255 @@
+package br.com.fza.moviechallenge.controller;
+
+import br.com.fza.moviechallenge.controller.request.MovieBatchRequest;
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.response.CursorPageResponse;
+import br.com.fza.moviechallenge.controller.response.MovieBatchResponse;
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.response.MovieStatsResponse;
+import br.com.fza.moviechallenge.controller.response.SliceResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieStatsTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.service.ReactiveMovieService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static br.com.fza.moviechallenge.controller.MovieController.APPLICATION_NDJSON_VALUE;
+
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/movies")
+public class ReactiveMovieController {
+
+    private final ReactiveMovieService reactiveMovieService;
+    private final MovieRequestTransformer movieRequestTransformer;
+    private final MovieTransformer movieTransformer;
+    private final MovieStatsTransformer movieStatsTransformer;
+    private final ObjectMapper objectMapper;
+    private final MovieControllerSupport movieControllerSupport;
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<MovieResponse>>> findAllByCensureLevel(final @RequestParam CensureLevel censureLevel,
+                                                                           final @RequestParam(required = false, defaultValue = "0") int page,
+                                                                           final @RequestParam(required = false, defaultValue = "0") int size,
+                                                                           final @RequestParam(required = false) Set<String> fields,
+                                                                           final @RequestParam(required = false) String sort,
+                                                                           final ServerWebExchange exchange) {
+        log.info("Finding All Movies by Censure Level: {}", censureLevel);
+        final Set<MovieField> movieFields = this.movieControllerSupport.parseFields(fields);
+        final Sort movieSort = this.movieControllerSupport.parseSort(sort, page, size);
+        final String eTag = this.movieControllerSupport.buildETag(censureLevel, page, size, movieFields, movieSort);
+        final CacheControl cacheControl = this.movieControllerSupport.buildCacheControl();
+        if (exchange.checkNotModified(eTag)) {
+            log.info("Movies by Censure Level: {} not modified since: {}", censureLevel, eTag);
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build());
+        }
+        return Mono.fromCallable(() -> page == 0 || size == 0
+                        ? Pageable.unpaged()
+                        : PageRequest.of(page - 1, size, movieSort))
+                .flatMap(pageRequest -> movieFields.isEmpty()
+                        ? this.reactiveMovieService.findAllByCensureLevel(censureLevel, pageRequest)
+                        : this.reactiveMovieService.findAllByCensureLevel(censureLevel, movieFields, pageRequest))
+                .map(moviesPage -> ResponseEntity.ok()
+                        .eTag(eTag)
+                        .cacheControl(cacheControl)
+                        .body(moviesPage.map(this.movieTransformer::transform)))
+                .onErrorMap(e -> this.internalServerError("Error finding all movies", e));
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public Flux<String> streamAllByCensureLevel(final @RequestParam CensureLevel censureLevel) {
+        log.info("Streaming All Movies by Censure Level: {}", censureLevel);
+        final ObjectWriter writer = this.objectMapper.writerFor(MovieResponse.class);
+        return this.reactiveMovieService.streamAllByCensureLevel(censureLevel)
+                .map(movie -> this.writeLine(writer, this.movieTransformer.transform(movie)))
+                .onErrorMap(e -> this.internalServerError("Error streaming all movies", e));
+    }
+
+    @GetMapping("/actors/{actor}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<Page<MovieResponse>> findAllByActor(final @PathVariable String actor,
+                                                    final @RequestParam(required = false, defaultValue = "1") int page,
+                                                    final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding All Movies with Actor: {}", actor);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.reactiveMovieService.findAllByActor(actor, PageRequest.of(page - 1, size))
+                .map(moviesPage -> moviesPage.map(this.movieTransformer::transform))
+                .onErrorMap(e -> this.internalServerError("Error finding movies with actor: " + actor, e));
+    }
+
+    @GetMapping("/directors/{director}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<Page<MovieResponse>> findAllByDirector(final @PathVariable String director,
+                                                       final @RequestParam(required = false, defaultValue = "1") int page,
+                                                       final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding All Movies by Director: {}", director);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.reactiveMovieService.findAllByDirector(director, PageRequest.of(page - 1, size))
+                .map(moviesPage -> moviesPage.map(this.movieTransformer::transform))
+                .onErrorMap(e -> this.internalServerError("Error finding movies by director: " + director, e));
+    }
+
+    @GetMapping("/slice")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<SliceResponse<MovieResponse>> findSliceByCensureLevel(final @RequestParam CensureLevel censureLevel,
+                                                                      final @RequestParam(required = false, defaultValue = "1") int page,
+                                                                      final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding a Slice of Movies by Censure Level: {}", censureLevel);
+        this.movieControllerSupport.validatePage(page, size);
+        return this.reactiveMovieService.findSliceByCensureLevel(censureLevel, PageRequest.of(page - 1, size))
+                .map(moviesSlice -> this.movieControllerSupport.toSliceResponse(moviesSlice, page))
+                .onErrorMap(e -> this.internalServerError("Error finding a slice of movies", e));
+    }
+
+    @GetMapping("/cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<CursorPageResponse<MovieResponse>> findAllByCensureLevelWithCursor(final @RequestParam CensureLevel censureLevel,
+                                                                                   final @RequestParam(required = false) String cursor,
+                                                                                   final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding Movies by Censure Level: {} with cursor: {}", censureLevel, cursor);
+        this.movieControllerSupport.validatePageSize(size);
+        final String lastId = this.movieControllerSupport.decodeCursor(cursor);
+        return this.reactiveMovieService.findAllByCensureLevelAfter(censureLevel, lastId, size)
+                .map(this.movieControllerSupport::toCursorPage)
+                .onErrorMap(e -> this.internalServerError("Error finding movies with cursor", e));
+    }
+
+    @GetMapping("/releases")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<CursorPageResponse<MovieResponse>> findAllByLaunchDateBetween(final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                              final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                              final @RequestParam(required = false) CensureLevel censureLevel,
+                                                                              final @RequestParam(required = false) String cursor,
+                                                                              final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Finding Movies launched between {} and {} with Censure Level: {}", from, to, censureLevel);
+        this.movieControllerSupport.validateRelease(from, to, size);
+        final Movie after = this.movieControllerSupport.decodeReleaseCursor(cursor);
+        return this.reactiveMovieService.findAllByLaunchDateBetween(from, to, censureLevel, after, size)
+                .map(this.movieControllerSupport::toReleasePage)
+                .onErrorMap(e -> this.internalServerError("Error finding movies launched between " + from + " and " + to, e));
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<Page<MovieResponse>> searchMovies(final @RequestParam String q,
+                                                  final @RequestParam(required = false, defaultValue = "1") int page,
+                                                  final @RequestParam(required = false, defaultValue = "20") int size) {
+        log.info("Searching Movies matching: {}", q);
+        this.movieControllerSupport.validateSearch(q, page, size);
+        return this.reactiveMovieService.searchMovies(q, PageRequest.of(page - 1, size))
+                .map(moviesPage -> moviesPage.map(this.movieTransformer::transform))
+                .onErrorMap(MovieSearchUnavailableException.class, se -> {
+                    log.error(se.getMessage(), se);
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> this.internalServerError("Error searching movies", e));
+    }
+
+    @GetMapping("/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<MovieResponse> suggestMovies(final @RequestParam String prefix,
+                                             final @RequestParam(required = false) CensureLevel censureLevel,
+                                             final @RequestParam(required = false, defaultValue = "10") int limit) {
+        log.debug("Suggesting Movies starting with: {}", prefix);
+        this.movieControllerSupport.validateSuggest(prefix, limit);
+        return this.reactiveMovieService.suggestMovies(prefix, censureLevel, limit)
+                .map(this.movieTransformer::transform)
+                .onErrorMap(MovieSearchUnavailableException.class, se -> {
+                    log.error(se.getMessage(), se);
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> this.internalServerError("Error suggesting movies", e));
+    }
+
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<MovieStatsResponse> getStats() {
+        log.debug("Getting the Movie Catalog Statistics");
+        return this.reactiveMovieService.getStats()
+                .map(this.movieStatsTransformer::transform)
+                .onErrorMap(MovieStatsUnavailableException.class, se -> {
+                    log.error(se.getMessage(), se);
+                    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, se.getMessage(), se);
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> this.internalServerError("Error getting the movie catalog statistics", e));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<MovieResponse> createMovie(final @RequestBody @Valid MovieRequest movieRequest) {
+        log.info("Creating a new Movie: {}", movieRequest);
+        return Mono.fromCallable(() -> this.movieRequestTransformer.transform(movieRequest))
+                .flatMap(this.reactiveMovieService::createMovie)
+                .map(persistedMovie -> {
+                    log.info("Movie {} created with id: {}", persistedMovie.getName(), persistedMovie.getId());
+                    return this.movieTransformer.transform(persistedMovie);
+                })
+                .onErrorMap(DuplicatedMovieException.class, de -> {
+                    log.error(de.getMessage(), de);
+                    return new ResponseStatusException(HttpStatus.BAD_REQUEST, de.getMessage(), de);
+                })
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> this.internalServerError("Error creating the movie: " + movieRequest.toString(), e));
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<MovieBatchResponse> createMovies(final @RequestBody @Valid MovieBatchRequest movieBatchRequest) {
+        log.info("Creating a batch of {} movies", movieBatchRequest.getMovies().size());
+        return Mono.fromCallable(() -> movieBatchRequest.getMovies().stream()
+                        .map(this.movieRequestTransformer::transform)
+                        .collect(Collectors.toList()))
+                .flatMap(this.reactiveMovieService::createMovies)
+                .map(this.movieControllerSupport::toBatchResponse)
+                .onErrorMap(e -> this.internalServerError("Error creating the batch of movies", e));
+    }
+
+    private String writeLine(final ObjectWriter writer, final MovieResponse movieResponse) {
+        try {
+            return writer.writeValueAsString(movieResponse) + "\n";
+        } catch(final JsonProcessingException e) {
+            throw new CouldNotTransformException("Could not serialize movie " + movieResponse.getId(), e);
+        }
+    }
+
+    private ResponseStatusException internalServerError(final String errorMessage, final Throwable e) {
+        log.error(errorMessage, e);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage, e);
+    }
+
+}
@@ -0,0 +1,25 @@
+package br.com.fza.moviechallenge.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchRequest implements Serializable {
+
+    @Valid
+    @NotNull(message = "Batch must have at least 1 and at most 5000 movies.")
+    @Size(min = 1, max = 5000, message = "Batch must have at least {min} and at most {max} movies.")
+    private List<MovieRequest> movies;
+
+}
@@ -0,0 +1,22 @@
+package br.com.fza.moviechallenge.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> implements Serializable {
+
+    private List<T> content;
+
+    private int size;
+
+    private String next;
+}
@@ -0,0 +1,24 @@
+package br.com.fza.moviechallenge.controller.response;
+
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchItemResponse implements Serializable {
+
+    private int index;
+
+    private MovieBatchStatus status;
+
+    private MovieResponse movie;
+
+    private String message;
+}
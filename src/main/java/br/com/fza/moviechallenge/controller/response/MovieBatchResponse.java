@@ -0,0 +1,24 @@
+package br.com.fza.moviechallenge.controller.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchResponse implements Serializable {
+
+    private List<MovieBatchItemResponse> results;
+
+    private long created;
+
+    private long duplicated;
+
+    private long failed;
+}
@@ -0,0 +1,31 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.controller.response.MovieBatchItemResponse;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.Transformer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieBatchResultTransformer implements Transformer<MovieBatchResult, MovieBatchItemResponse> {
+
+    private final MovieTransformer movieTransformer;
+
+    @Override
+    public MovieBatchItemResponse transform(final MovieBatchResult movieBatchResult) {
+        try {
+            return MovieBatchItemResponse.builder()
+                    .index(movieBatchResult.getIndex())
+                    .status(movieBatchResult.getStatus())
+                    .movie(this.movieTransformer.transform(movieBatchResult.getMovie()))
+                    .message(movieBatchResult.getMessage())
+                    .build();
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert MovieBatchResult to MovieBatchItemResponse", e);
+        }
+    }
+}
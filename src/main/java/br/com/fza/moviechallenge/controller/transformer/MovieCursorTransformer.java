@@ -0,0 +1,39 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.Transformer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Slf4j
+@Component
+public class MovieCursorTransformer implements Transformer<Movie, String> {
+
+    @Override
+    public String transform(final Movie movie) {
+        try {
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(movie.getId().getBytes(StandardCharsets.UTF_8));
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert Movie to Cursor", e);
+        }
+    }
+
+    public String decode(final String cursor) {
+        try {
+            final String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Cursor does not reference a valid movie id");
+            }
+            return id;
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert Cursor to Movie id", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.Transformer;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+@Component
+public class MovieReleaseCursorTransformer implements Transformer<Movie, String> {
+
+    private static final String SEPARATOR = "_";
+
+    // Launch dates repeat, so the id is part of the position to keep the order total
+    @Override
+    public String transform(final Movie movie) {
+        try {
+            final String position = movie.getLaunchDate().toString() + SEPARATOR + movie.getId();
+            return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert Movie to Release Cursor", e);
+        }
+    }
+
+    public Movie decode(final String cursor) {
+        try {
+            final String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (position.length != 2 || !ObjectId.isValid(position[1])) {
+                throw new IllegalArgumentException("Cursor does not reference a valid movie release");
+            }
+            return Movie.builder()
+                    .launchDate(LocalDate.parse(position[0]))
+                    .id(position[1])
+                    .build();
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert Release Cursor to Movie", e);
+        }
+    }
+}
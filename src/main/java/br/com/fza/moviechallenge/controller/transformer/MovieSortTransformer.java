@@ -0,0 +1,39 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.Transformer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieSortTransformer implements Transformer<String, Sort> {
+
+    @Override
+    public Sort transform(final String sort) {
+        try {
+            final String[] parts = sort.split(",", -1);
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Sort must be <field> or <field>,<asc|desc>");
+            }
+            final MovieField field = MovieField.fromProperty(parts[0].trim());
+            if (!field.isSortable()) {
+                throw new IllegalArgumentException("Movies cannot be sorted by '" + field.getProperty()
+                        + "'. Allowed Values: " + MovieField.sortableFields().stream()
+                        .map(MovieField::getProperty)
+                        .collect(Collectors.joining(", ")));
+            }
+            final Sort.Direction direction = parts.length == 1
+                    ? Sort.Direction.ASC
+                    : Sort.Direction.fromString(parts[1].trim());
+            // The id tie breaker keeps pages stable, the sort indexes end with it as well
+            return Sort.by(direction, field.getProperty(), MovieField.ID.getProperty());
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert '" + sort + "' to Sort: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.controller.response.MovieStatsResponse;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.model.Transformer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MovieStatsTransformer implements Transformer<MovieStats, MovieStatsResponse> {
+    @Override
+    public MovieStatsResponse transform(final MovieStats movieStats) {
+        try {
+            return MovieStatsResponse.builder()
+                    .total(movieStats.getTotal())
+                    .byCensureLevel(movieStats.getByCensureLevel())
+                    .byLaunchYear(movieStats.getByLaunchYear())
+                    .byDirector(movieStats.getByDirector())
+                    .build();
+        } catch(final Exception e) {
+            throw new CouldNotTransformException("Could not Convert MovieStats to MovieStatsResponse", e);
+        }
+    }
+}
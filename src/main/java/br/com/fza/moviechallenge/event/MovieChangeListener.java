@@ -0,0 +1,208 @@
+package br.com.fza.moviechallenge.event;
+
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "movies.changes.enabled", havingValue = "true")
+public class MovieChangeListener implements DisposableBean {
+
+    // Standalone servers cannot open change streams, the resume token errors mean the oplog moved past it
+    static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+    static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    static final int RESUME_TOKEN_NOT_FOUND = 280;
+
+    static final String CHANGE_STREAM = "change-stream";
+    static final String POLLING = "polling";
+
+    private static final long MAX_AWAIT_MILLIS = 1000;
+    private static final int SCAN_BATCH_SIZE = 1000;
+    private static final long RECENT_IDS = 100_000;
+    private static final long RECENT_IDS_EXPIRE_MINUTES = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final MovieRepository movieRepository;
+    private final MovieCausalSessions movieCausalSessions;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final MovieResumeToken resumeToken;
+    private final long pollIntervalMillis;
+    private final long pollLookbackMillis;
+    private final long resumeTokenFlushMillis;
+    private final ExecutorService listener =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "movies-change-listener"));
+
+    // Movies already published on this node, so its own inserts are not published again when they come back
+    private final Cache<String, Boolean> published = Caffeine.newBuilder()
+            .maximumSize(RECENT_IDS)
+            .expireAfterWrite(RECENT_IDS_EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    // Only touched by the listener thread once it is started
+    private boolean changeStreams = true;
+    private BsonDocument token;
+    private boolean tokenFlushed = true;
+    private long tokenFlushedAt;
+
+    public MovieChangeListener(final MongoTemplate mongoTemplate,
+                               final MovieRepository movieRepository,
+                               final MovieCausalSessions movieCausalSessions,
+                               final ApplicationEventPublisher applicationEventPublisher,
+                               final MeterRegistry meterRegistry,
+                               final @Value("${movies.changes.resume-token-file}") String resumeTokenFile,
+                               final @Value("${movies.changes.resume-token-flush-millis}") long resumeTokenFlushMillis,
+                               final @Value("${movies.changes.poll-interval-millis}") long pollIntervalMillis,
+                               final @Value("${movies.changes.poll-lookback-millis}") long pollLookbackMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.movieRepository = movieRepository;
+        this.movieCausalSessions = movieCausalSessions;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.resumeToken = new MovieResumeToken(Paths.get(resumeTokenFile));
+        this.resumeTokenFlushMillis = resumeTokenFlushMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.pollLookbackMillis = pollLookbackMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            this.token = this.resumeToken.read();
+        } catch(final RuntimeException e) {
+            log.error("Could not read the movie change stream resume token, listening from now on", e);
+        }
+        this.listener.execute(this::run);
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        event.getMovies().forEach(movie -> this.published.put(movie.getId(), Boolean.TRUE));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.listener.shutdownNow();
+        this.listener.awaitTermination(MAX_AWAIT_MILLIS * 2, TimeUnit.MILLISECONDS);
+    }
+
+    void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (this.changeStreams) {
+                    this.watch();
+                } else {
+                    this.poll();
+                    this.pause();
+                }
+            } catch(final RuntimeException e) {
+                this.recover(e);
+            }
+        }
+        this.flushToken(true);
+    }
+
+    private void watch() {
+        ChangeStreamIterable<Document> changes = this.mongoTemplate
+                .getCollection(this.mongoTemplate.getCollectionName(Movie.class))
+                .watch(List.of(Aggregates.match(Filters.eq("operationType", "insert"))))
+                .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+        if (this.token != null) {
+            changes = changes.resumeAfter(this.token);
+        }
+        try (MongoCursor<ChangeStreamDocument<Document>> cursor = changes.iterator()) {
+            log.info("Listening to movie changes with a change stream");
+            while (!Thread.currentThread().isInterrupted()) {
+                final ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    this.movieCausalSessions.advance(change.getClusterTime());
+                    this.publish(this.mongoTemplate.getConverter().read(Movie.class, change.getFullDocument()),
+                            change.getClusterTime(), CHANGE_STREAM);
+                    this.token = change.getResumeToken();
+                    this.tokenFlushed = false;
+                }
+                this.flushToken(false);
+            }
+        }
+    }
+
+    // Inserts from other nodes can carry a slightly older ObjectId, so every poll looks a bit back in time
+    private void poll() {
+        final ObjectId from = new ObjectId(new Date(System.currentTimeMillis() - this.pollLookbackMillis));
+        try (CloseableIterator<Movie> movies = this.movieRepository.streamByIdRange(from.toHexString(), null,
+                SCAN_BATCH_SIZE)) {
+            movies.forEachRemaining(movie -> this.publish(movie, null, POLLING));
+        }
+    }
+
+    private void publish(final Movie movie, final BsonTimestamp clusterTime, final String source) {
+        if (this.published.asMap().putIfAbsent(movie.getId(), Boolean.TRUE) == null) {
+            this.meterRegistry.counter("movies.changes.published", "source", source).increment();
+            this.applicationEventPublisher.publishEvent(new MovieCreatedEvent(List.of(movie), clusterTime));
+        }
+    }
+
+    private void recover(final RuntimeException e) {
+        final int code = e instanceof MongoException ? ((MongoException) e).getCode() : 0;
+        if (code == CHANGE_STREAM_NOT_SUPPORTED) {
+            log.warn("Change streams need a replica set, polling new movies every {} ms instead",
+                    this.pollIntervalMillis);
+            this.changeStreams = false;
+        } else if (code == CHANGE_STREAM_HISTORY_LOST || code == RESUME_TOKEN_NOT_FOUND) {
+            log.warn("The movie change stream resume token is no longer in the oplog, listening from now on", e);
+            this.token = null;
+            this.tokenFlushed = true;
+        } else {
+            log.error("Could not listen to movie changes, retrying in " + this.pollIntervalMillis + " ms", e);
+            this.pause();
+        }
+    }
+
+    private void flushToken(final boolean force) {
+        final long now = System.currentTimeMillis();
+        if (!this.tokenFlushed && (force || now - this.tokenFlushedAt >= this.resumeTokenFlushMillis)) {
+            this.resumeToken.write(this.token);
+            this.tokenFlushed = true;
+            this.tokenFlushedAt = now;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(this.pollIntervalMillis);
+        } catch(final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
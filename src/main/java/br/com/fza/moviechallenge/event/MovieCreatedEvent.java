@@ -0,0 +1,38 @@
+package br.com.fza.moviechallenge.event;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonTimestamp;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Getter
+@RequiredArgsConstructor
+public class MovieCreatedEvent {
+
+    private final List<Movie> movies;
+
+    // Time the server committed the movies, only known for the ones read from the change stream
+    private final BsonTimestamp clusterTime;
+
+    public MovieCreatedEvent(final List<Movie> movies) {
+        this(movies, null);
+    }
+
+    public MovieCreatedEvent(final Movie movie) {
+        this(List.of(movie));
+    }
+
+    // Batches are published as one event, so listeners invalidate each censure level once instead of per movie
+    public Set<CensureLevel> censureLevels() {
+        return this.movies.stream()
+                .map(Movie::getCensureLevel)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(CensureLevel.class)));
+    }
+
+}
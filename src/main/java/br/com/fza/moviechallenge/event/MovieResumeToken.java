@@ -0,0 +1,37 @@
+package br.com.fza.moviechallenge.event;
+
+import br.com.fza.moviechallenge.exception.CouldNotListenToMovieChangesException;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RequiredArgsConstructor
+public class MovieResumeToken {
+
+    private final Path path;
+
+    public BsonDocument read() {
+        if (!Files.exists(this.path)) {
+            return null;
+        }
+        try {
+            return BsonDocument.parse(Files.readString(this.path));
+        } catch(final IOException | RuntimeException e) {
+            throw new CouldNotListenToMovieChangesException("Could not read the resume token " + this.path, e);
+        }
+    }
+
+    public void write(final BsonDocument token) {
+        final Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try {
+            Files.writeString(temporary, token.toJson());
+            Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(final IOException e) {
+            throw new CouldNotListenToMovieChangesException("Could not write the resume token " + this.path, e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.exception;
+
+public class CouldNotExportMoviesException extends RuntimeException {
+
+    public CouldNotExportMoviesException(final String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.exception;
+
+public class CouldNotImportMoviesException extends RuntimeException {
+
+    public CouldNotImportMoviesException(final String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.exception;
+
+public class CouldNotListenToMovieChangesException extends RuntimeException {
+
+    public CouldNotListenToMovieChangesException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+
+}
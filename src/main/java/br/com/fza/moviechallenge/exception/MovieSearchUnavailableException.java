@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.exception;
+
+public class MovieSearchUnavailableException extends RuntimeException {
+
+    public MovieSearchUnavailableException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.exception;
+
+public class MovieStatsUnavailableException extends RuntimeException {
+
+    public MovieStatsUnavailableException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.fza.moviechallenge.exporter;
+
+import br.com.fza.moviechallenge.model.MovieExportReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "movies.export.enabled", havingValue = "true")
+public class MovieExportJob {
+
+    private static final DateTimeFormatter SNAPSHOT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final MovieExporter movieExporter;
+
+    @Value("${movies.export.directory}")
+    private String directory;
+
+    @Scheduled(cron = "${movies.export.cron}")
+    public void exportSnapshot() {
+        final String snapshot = LocalDateTime.now().format(SNAPSHOT_FORMAT);
+        final MovieExportReport report = this.movieExporter.export(Paths.get(this.directory, snapshot));
+        log.info("Exported {} movies to {} ({} bytes) in {} ms", report.getMovies(), report.getDirectory(),
+                report.getBytes(), report.getElapsedMillis());
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.fza.moviechallenge.exporter;
+
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
+import br.com.fza.moviechallenge.exception.CouldNotExportMoviesException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieExportRange;
+import br.com.fza.moviechallenge.model.MovieExportReport;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+public class MovieExporter {
+
+    private static final String SHARD_FILE = "movies-%03d.ndjson.gz";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MovieRepository movieRepository;
+    private final MovieTransformer movieTransformer;
+    private final ObjectWriter movieWriter;
+    private final MeterRegistry meterRegistry;
+    private final int shards;
+    private final int parallelism;
+    private final int batchSize;
+
+    public MovieExporter(final MovieRepository movieRepository,
+                         final MovieTransformer movieTransformer,
+                         final ObjectMapper objectMapper,
+                         final MeterRegistry meterRegistry,
+                         final @Value("${movies.export.shards}") int shards,
+                         final @Value("${movies.export.parallelism}") int parallelism,
+                         final @Value("${movies.export.batch-size}") int batchSize) {
+        this.movieRepository = movieRepository;
+        this.movieTransformer = movieTransformer;
+        this.movieWriter = objectMapper.writerFor(MovieResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.meterRegistry = meterRegistry;
+        this.shards = shards;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    public MovieExportReport export(final Path directory) {
+        final long startedAt = System.nanoTime();
+        final List<MovieExportRange> ranges = this.splitIdRanges();
+        log.info("Exporting movies to {} in {} shards", directory, ranges.size());
+        final ExecutorService workers = Executors.newFixedThreadPool(this.parallelism);
+        final List<MovieExportShard> exported;
+        try {
+            Files.createDirectories(directory);
+            final List<CompletableFuture<MovieExportShard>> futures = ranges.stream()
+                    .map(range -> CompletableFuture.supplyAsync(() -> this.exportShard(range, directory), workers))
+                    .collect(Collectors.toList());
+            exported = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch(final IOException | CompletionException e) {
+            throw new CouldNotExportMoviesException("Could not export movies to " + directory,
+                    e instanceof CompletionException ? e.getCause() : e);
+        } finally {
+            workers.shutdownNow();
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        final long movies = exported.stream().mapToLong(MovieExportShard::getMovies).sum();
+        final MovieExportReport report = MovieExportReport.builder()
+                .directory(directory.toString())
+                .files(exported.stream().map(shard -> shard.getFile().toString()).collect(Collectors.toList()))
+                .movies(movies)
+                .bytes(exported.stream().mapToLong(MovieExportShard::getBytes).sum())
+                .elapsedMillis(elapsedMillis)
+                .moviesPerSecond(movies * 1000 / Math.max(elapsedMillis, 1))
+                .build();
+        this.meterRegistry.counter("movies.export.movies").increment(movies);
+        this.meterRegistry.timer("movies.export.duration").record(elapsedMillis, TimeUnit.MILLISECONDS);
+        log.info("Export to {} finished: {}", directory, report);
+        return report;
+    }
+
+    List<MovieExportRange> splitIdRanges() {
+        final Optional<String> firstId = this.movieRepository.findFirstByOrderByIdAsc().map(Movie::getId);
+        if (firstId.isEmpty()) {
+            return List.of();
+        }
+        final String lastId = this.movieRepository.findFirstByOrderByIdDesc().map(Movie::getId).orElse(firstId.get());
+        final long from = new ObjectId(firstId.get()).getTimestamp();
+        final long span = new ObjectId(lastId).getTimestamp() - from + 1;
+        final List<MovieExportRange> ranges = new ArrayList<>(this.shards);
+        String lowerId = null;
+        long lower = from;
+        for (int shard = 1; shard < this.shards; shard++) {
+            final long upper = from + span * shard / this.shards;
+            if (upper > lower) {
+                final String upperId = String.format("%08x%016x", upper, 0);
+                ranges.add(new MovieExportRange(ranges.size(), lowerId, upperId));
+                lowerId = upperId;
+                lower = upper;
+            }
+        }
+        ranges.add(new MovieExportRange(ranges.size(), lowerId, null));
+        return ranges;
+    }
+
+    private MovieExportShard exportShard(final MovieExportRange range, final Path directory) {
+        final Path file = directory.resolve(String.format(SHARD_FILE, range.getShard()));
+        final Path partial = directory.resolve(file.getFileName() + PARTIAL_SUFFIX);
+        long movies = 0;
+        try (CloseableIterator<Movie> iterator = this.movieRepository.streamByIdRange(range.getFromId(),
+                range.getToId(), this.batchSize);
+             OutputStream output = new BufferedOutputStream(new GZIPOutputStream(Channels.newOutputStream(
+                     FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                             StandardOpenOption.WRITE)), BUFFER_SIZE), BUFFER_SIZE)) {
+            while (iterator.hasNext()) {
+                this.movieWriter.writeValue(output, this.movieTransformer.transform(iterator.next()));
+                output.write('\n');
+                movies++;
+            }
+        } catch(final IOException | RuntimeException e) {
+            this.deleteQuietly(partial);
+            throw new CouldNotExportMoviesException("Could not export shard " + range, e);
+        }
+        try {
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Exported {} movies to {}", movies, file);
+            return new MovieExportShard(file, movies, Files.size(file));
+        } catch(final IOException e) {
+            throw new CouldNotExportMoviesException("Could not publish shard " + file, e);
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch(final IOException e) {
+            log.warn("Could not delete partial export {}", file, e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class MovieExportShard {
+
+        private final Path file;
+        private final long movies;
+        private final long bytes;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.exception.CouldNotImportMoviesException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Getter
+@RequiredArgsConstructor
+public class MovieImportCheckpoint {
+
+    private final Path path;
+
+    public static MovieImportCheckpoint of(final Path file) {
+        return new MovieImportCheckpoint(file.resolveSibling(file.getFileName() + ".checkpoint"));
+    }
+
+    public long read() {
+        if (!Files.exists(this.path)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(this.path).trim());
+        } catch(final IOException | NumberFormatException e) {
+            throw new CouldNotImportMoviesException("Could not read the import checkpoint " + this.path, e);
+        }
+    }
+
+    public void write(final long line) {
+        final Path temporary = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try {
+            Files.writeString(temporary, Long.toString(line));
+            Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(final IOException e) {
+            throw new CouldNotImportMoviesException("Could not write the import checkpoint " + this.path, e);
+        }
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(this.path);
+        } catch(final IOException e) {
+            throw new CouldNotImportMoviesException("Could not delete the import checkpoint " + this.path, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class MovieImportParser {
+
+    private static final int CSV_COLUMNS = 5;
+    private static final String CAST_SEPARATOR = "\\|";
+
+    private final ObjectMapper objectMapper;
+
+    public MovieRequest parse(final String line, final MovieImportFormat format) {
+        return format == MovieImportFormat.CSV ? this.parseCsv(line) : this.parseJson(line);
+    }
+
+    private MovieRequest parseJson(final String line) {
+        try {
+            return this.objectMapper.readValue(line, MovieRequest.class);
+        } catch(final IOException e) {
+            throw new CouldNotTransformException("Could not parse movie: " + e.getMessage(), e);
+        }
+    }
+
+    private MovieRequest parseCsv(final String line) {
+        final List<String> values = this.splitCsv(line);
+        if (values.size() != CSV_COLUMNS) {
+            throw new CouldNotTransformException("Expected " + CSV_COLUMNS + " columns but found " + values.size(), null);
+        }
+        try {
+            return MovieRequest.builder()
+                    .name(values.get(0))
+                    .launchDate(values.get(1).isEmpty() ? null : LocalDate.parse(values.get(1)))
+                    .censureLevel(values.get(2).isEmpty() ? null : CensureLevel.valueOf(values.get(2)))
+                    .director(values.get(3))
+                    .cast(values.get(4).isEmpty() ? List.of() : Arrays.asList(values.get(4).split(CAST_SEPARATOR)))
+                    .build();
+        } catch(final RuntimeException e) {
+            throw new CouldNotTransformException("Could not parse movie: " + e.getMessage(), e);
+        }
+    }
+
+    private List<String> splitCsv(final String line) {
+        final List<String> values = new ArrayList<>(CSV_COLUMNS);
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            final char character = line.charAt(index);
+            if (character == '"' && quoted && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                value.append('"');
+                index++;
+            } else if (character == '"') {
+                quoted = !quoted;
+            } else if (character == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
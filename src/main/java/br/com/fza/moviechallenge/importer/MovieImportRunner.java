@@ -0,0 +1,41 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import br.com.fza.moviechallenge.model.MovieImportReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty("movies.import.file")
+public class MovieImportRunner implements ApplicationRunner {
+
+    private final MovieImporter movieImporter;
+
+    @Value("${movies.import.file}")
+    private String file;
+
+    @Value("${movies.import.format:}")
+    private String format;
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final Path path = Paths.get(this.file);
+        final MovieImportFormat importFormat = this.format.isEmpty()
+                ? MovieImportFormat.fromFileName(path.getFileName().toString())
+                : MovieImportFormat.valueOf(this.format.toUpperCase());
+        final MovieImportReport report = this.movieImporter.importFile(path, importFormat);
+        log.info("Imported {} movies from {} ({} duplicated, {} invalid, {} failed) in {} ms",
+                report.getCreated(), report.getFile(), report.getDuplicated(), report.getInvalid(),
+                report.getFailed(), report.getElapsedMillis());
+    }
+}
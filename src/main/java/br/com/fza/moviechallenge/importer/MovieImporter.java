@@ -0,0 +1,224 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.CouldNotImportMoviesException;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import br.com.fza.moviechallenge.model.MovieImportReport;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieImporter {
+
+    private static final String LINES_METRIC = "movies.import.lines";
+
+    private final MovieImportParser movieImportParser;
+    private final MovieRequestTransformer movieRequestTransformer;
+    private final Validator validator;
+    private final MovieRepository movieRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxInFlightBatches;
+    private final WriteConcern writeConcern;
+
+    public MovieImporter(final MovieImportParser movieImportParser,
+                         final MovieRequestTransformer movieRequestTransformer,
+                         final Validator validator,
+                         final MovieRepository movieRepository,
+                         final ApplicationEventPublisher applicationEventPublisher,
+                         final MeterRegistry meterRegistry,
+                         final @Value("${movies.import.batch-size}") int batchSize,
+                         final @Value("${movies.import.parallelism}") int parallelism,
+                         final @Value("${movies.import.max-in-flight-batches}") int maxInFlightBatches,
+                         final @Value("${movies.import.write-concern}") String writeConcern) {
+        this.movieImportParser = movieImportParser;
+        this.movieRequestTransformer = movieRequestTransformer;
+        this.validator = validator;
+        this.movieRepository = movieRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.writeConcern = Optional.ofNullable(WriteConcern.valueOf(writeConcern))
+                .orElseThrow(() -> new IllegalArgumentException("Unknown write concern: " + writeConcern));
+    }
+
+    public MovieImportReport importFile(final Path file, final MovieImportFormat format) {
+        final MovieImportCheckpoint checkpoint = MovieImportCheckpoint.of(file);
+        final long resumeFrom = checkpoint.read();
+        log.info("Importing {} movies from {} after line {}", format, file, resumeFrom);
+        final MovieImportReport report = MovieImportReport.builder()
+                .file(file.toString())
+                .format(format)
+                .resumedFromLine(resumeFrom)
+                .lastLine(resumeFrom)
+                .build();
+        final long startedAt = System.nanoTime();
+        final ExecutorService workers = Executors.newFixedThreadPool(this.parallelism);
+        final Deque<CompletableFuture<MovieImportBatch>> inFlight = new ArrayDeque<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            List<MovieImportLine> lines = new ArrayList<>(this.batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeFrom || (lineNumber == 1 && format.hasHeader()) || line.isBlank()) {
+                    continue;
+                }
+                lines.add(new MovieImportLine(lineNumber, line));
+                if (lines.size() == this.batchSize) {
+                    inFlight.add(this.prepareAsync(lines, format, lineNumber, workers));
+                    lines = new ArrayList<>(this.batchSize);
+                }
+                if (inFlight.size() >= this.maxInFlightBatches) {
+                    this.write(inFlight.remove().join(), checkpoint, report, startedAt);
+                }
+            }
+            if (!lines.isEmpty()) {
+                inFlight.add(this.prepareAsync(lines, format, lineNumber, workers));
+            }
+            while (!inFlight.isEmpty()) {
+                this.write(inFlight.remove().join(), checkpoint, report, startedAt);
+            }
+        } catch(final IOException | RuntimeException e) {
+            throw new CouldNotImportMoviesException("Import of " + file + " stopped after line " + report.getLastLine()
+                    + ", run it again to resume from there", e);
+        } finally {
+            workers.shutdownNow();
+        }
+        checkpoint.delete();
+        log.info("Import of {} finished: {}", file, report);
+        return report;
+    }
+
+    private CompletableFuture<MovieImportBatch> prepareAsync(final List<MovieImportLine> lines,
+                                                             final MovieImportFormat format, final long lastLine,
+                                                             final ExecutorService workers) {
+        return CompletableFuture.supplyAsync(() -> this.prepare(lines, format, lastLine), workers);
+    }
+
+    private MovieImportBatch prepare(final List<MovieImportLine> lines, final MovieImportFormat format,
+                                     final long lastLine) {
+        final List<Movie> movies = new ArrayList<>(lines.size());
+        int invalid = 0;
+        for (final MovieImportLine line : lines) {
+            try {
+                final MovieRequest movieRequest = this.movieImportParser.parse(line.getContent(), format);
+                final Set<ConstraintViolation<MovieRequest>> violations = this.validator.validate(movieRequest);
+                if (violations.isEmpty()) {
+                    final Movie movie = this.movieRequestTransformer.transform(movieRequest);
+                    movie.setId(new ObjectId().toHexString());
+                    movies.add(movie);
+                } else {
+                    invalid++;
+                    log.warn("Skipping invalid movie at line {}: {}", line.getNumber(), violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .collect(Collectors.joining(", ")));
+                }
+            } catch(final CouldNotTransformException e) {
+                invalid++;
+                log.warn("Skipping unreadable movie at line {}: {}", line.getNumber(), e.getMessage());
+            }
+        }
+        return new MovieImportBatch(movies, lines.size(), invalid, lastLine);
+    }
+
+    private void write(final MovieImportBatch batch, final MovieImportCheckpoint checkpoint,
+                       final MovieImportReport report, final long startedAt) {
+        final List<Movie> movies = batch.getMovies();
+        final Map<Integer, BulkWriteError> errors = movies.isEmpty()
+                ? Map.of()
+                : this.movieRepository.insertAll(movies, this.writeConcern).stream()
+                        .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        final List<Movie> created = new ArrayList<>(movies.size());
+        long duplicated = 0;
+        for (int index = 0; index < movies.size(); index++) {
+            final BulkWriteError error = errors.get(index);
+            if (error == null) {
+                created.add(movies.get(index));
+            } else if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                duplicated++;
+            } else {
+                log.error("Could not import movie {}: {}", movies.get(index).getName(), error.getMessage());
+            }
+        }
+        if (!created.isEmpty()) {
+            this.applicationEventPublisher.publishEvent(new MovieCreatedEvent(created));
+        }
+        final long failed = movies.size() - created.size() - duplicated;
+        checkpoint.write(batch.getLastLine());
+
+        report.setLastLine(batch.getLastLine());
+        report.setLines(report.getLines() + batch.getLines());
+        report.setCreated(report.getCreated() + created.size());
+        report.setDuplicated(report.getDuplicated() + duplicated);
+        report.setInvalid(report.getInvalid() + batch.getInvalid());
+        report.setFailed(report.getFailed() + failed);
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        report.setLinesPerSecond(report.getLines() * 1000 / Math.max(report.getElapsedMillis(), 1));
+        this.meterRegistry.counter(LINES_METRIC, "outcome", "created").increment(created.size());
+        this.meterRegistry.counter(LINES_METRIC, "outcome", "duplicated").increment(duplicated);
+        this.meterRegistry.counter(LINES_METRIC, "outcome", "invalid").increment(batch.getInvalid());
+        this.meterRegistry.counter(LINES_METRIC, "outcome", "failed").increment(failed);
+        log.info("Imported up to line {}: {} lines, {} created, {} duplicated, {} invalid, {} failed, {} lines/s",
+                report.getLastLine(), report.getLines(), report.getCreated(), report.getDuplicated(),
+                report.getInvalid(), report.getFailed(), report.getLinesPerSecond());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class MovieImportLine {
+
+        private final long number;
+        private final String content;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class MovieImportBatch {
+
+        private final List<Movie> movies;
+        private final int lines;
+        private final int invalid;
+        private final long lastLine;
+    }
+}
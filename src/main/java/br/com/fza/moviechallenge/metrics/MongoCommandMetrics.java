@@ -0,0 +1,45 @@
+package br.com.fza.moviechallenge.metrics;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class MongoCommandMetrics implements CommandListener {
+
+    private final MeterRegistry meterRegistry;
+    private final RepositoryMethodTagger repositoryMethodTagger;
+
+    @Override
+    public void commandStarted(final CommandStartedEvent event) {
+        // Only finished commands carry their elapsed time
+    }
+
+    @Override
+    public void commandSucceeded(final CommandSucceededEvent event) {
+        this.record(event, "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(final CommandFailedEvent event) {
+        this.record(event, "failure", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(final CommandEvent event, final String status, final long elapsedNanos) {
+        Timer.builder("mongodb.driver.commands")
+                .tag("command", event.getCommandName())
+                .tag("method", this.repositoryMethodTagger.currentMethod())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+}
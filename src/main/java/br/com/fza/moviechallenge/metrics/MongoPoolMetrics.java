@@ -0,0 +1,106 @@
+package br.com.fza.moviechallenge.metrics;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.event.ConnectionPoolOpenedEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueEnteredEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueExitedEvent;
+import com.mongodb.event.ConnectionRemovedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RequiredArgsConstructor
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+    private final RepositoryMethodTagger repositoryMethodTagger;
+    private final Map<ServerId, Pool> pools = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> waitStartedAt = new ThreadLocal<>();
+
+    @Override
+    public void connectionPoolOpened(final ConnectionPoolOpenedEvent event) {
+        this.pool(event.getServerId());
+    }
+
+    @Override
+    public void connectionPoolClosed(final ConnectionPoolClosedEvent event) {
+        final Pool pool = this.pools.remove(event.getServerId());
+        if (pool != null) {
+            pool.meters.forEach(this.meterRegistry::remove);
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(final ConnectionCheckedOutEvent event) {
+        this.pool(event.getConnectionId().getServerId()).checkedOut.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedIn(final ConnectionCheckedInEvent event) {
+        this.pool(event.getConnectionId().getServerId()).checkedOut.decrementAndGet();
+    }
+
+    @Override
+    public void waitQueueEntered(final ConnectionPoolWaitQueueEnteredEvent event) {
+        this.waitStartedAt.set(System.nanoTime());
+    }
+
+    // The synchronous driver enters and exits the wait queue on the thread checking the connection out
+    @Override
+    public void waitQueueExited(final ConnectionPoolWaitQueueExitedEvent event) {
+        final long waitedNanos = System.nanoTime() - this.waitStartedAt.get();
+        this.waitStartedAt.remove();
+        Timer.builder("mongodb.driver.pool.wait")
+                .tag("server", event.getServerId().getAddress().toString())
+                .tag("method", this.repositoryMethodTagger.currentMethod())
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(waitedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionAdded(final ConnectionAddedEvent event) {
+        this.pool(event.getConnectionId().getServerId()).size.incrementAndGet();
+    }
+
+    @Override
+    public void connectionRemoved(final ConnectionRemovedEvent event) {
+        this.pool(event.getConnectionId().getServerId()).size.decrementAndGet();
+    }
+
+    private Pool pool(final ServerId serverId) {
+        return this.pools.computeIfAbsent(serverId, Pool::new);
+    }
+
+    private class Pool {
+
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final List<Meter> meters;
+
+        private Pool(final ServerId serverId) {
+            final String server = serverId.getAddress().toString();
+            this.meters = List.of(
+                    Gauge.builder("mongodb.driver.pool.size", this.size, AtomicInteger::get)
+                            .tag("server", server)
+                            .register(MongoPoolMetrics.this.meterRegistry),
+                    Gauge.builder("mongodb.driver.pool.checkedout", this.checkedOut, AtomicInteger::get)
+                            .tag("server", server)
+                            .register(MongoPoolMetrics.this.meterRegistry));
+        }
+    }
+
+}
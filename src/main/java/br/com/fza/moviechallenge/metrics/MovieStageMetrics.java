@@ -0,0 +1,49 @@
+package br.com.fza.moviechallenge.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class MovieStageMetrics {
+
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+    public static final String TRANSFORMER = "transformer";
+    public static final String SERIALIZATION = "serialization";
+
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    // Histograms and SLO buckets come from the management.metrics.distribution properties of movies.stages
+    public <T, E extends Throwable> T time(final String stage, final String method,
+                                           final Operation<T, E> operation) throws E {
+        final long startedAt = System.nanoTime();
+        String exception = NONE;
+        try {
+            return operation.run();
+        } catch(final Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder("movies.stages")
+                    .tag("stage", stage)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(this.meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Throwable> {
+
+        T run() throws E;
+    }
+
+}
@@ -0,0 +1,41 @@
+package br.com.fza.moviechallenge.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RepositoryMethodTagger implements BeanPostProcessor {
+
+    static final String NONE = "none";
+
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (bean instanceof Repository && bean instanceof Advised) {
+            ((Advised) bean).addAdvice(0, (MethodInterceptor) invocation -> {
+                // Repository methods calling each other keep the outermost one, the one the caller made
+                if (this.current.get() != null) {
+                    return invocation.proceed();
+                }
+                this.current.set(beanName + "." + invocation.getMethod().getName());
+                try {
+                    return invocation.proceed();
+                } finally {
+                    this.current.remove();
+                }
+            });
+        }
+        return bean;
+    }
+
+    // The synchronous driver reports commands and pool waits on the thread that called the repository
+    public String currentMethod() {
+        final String method = this.current.get();
+        return method == null ? NONE : method;
+    }
+
+}
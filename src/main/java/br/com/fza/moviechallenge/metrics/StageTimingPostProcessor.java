@@ -0,0 +1,54 @@
+package br.com.fza.moviechallenge.metrics;
+
+import br.com.fza.moviechallenge.model.Transformer;
+import br.com.fza.moviechallenge.service.MovieService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+@Component
+public class StageTimingPostProcessor implements BeanPostProcessor {
+
+    private final MovieStageMetrics movieStageMetrics;
+
+    public StageTimingPostProcessor(final @Lazy MovieStageMetrics movieStageMetrics) {
+        this.movieStageMetrics = movieStageMetrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        final String stage = bean instanceof Repository ? MovieStageMetrics.REPOSITORY
+                : bean instanceof MovieService ? MovieStageMetrics.SERVICE
+                : bean instanceof Transformer ? MovieStageMetrics.TRANSFORMER
+                : null;
+        if (stage == null) {
+            return bean;
+        }
+        final MethodInterceptor timing = invocation -> this.isTimed(invocation.getMethod())
+                ? this.movieStageMetrics.time(stage, beanName + "." + invocation.getMethod().getName(),
+                invocation::proceed)
+                : invocation.proceed();
+        if (bean instanceof Advised) {
+            ((Advised) bean).addAdvice(0, timing);
+            return bean;
+        }
+        // Controllers inject the transformers by class, so the proxy must extend them
+        final ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(timing);
+        return proxyFactory.getProxy();
+    }
+
+    // Reactive results are only assembled by the call, their work happens once they are subscribed
+    private boolean isTimed(final Method method) {
+        return method.getDeclaringClass() != Object.class && !Publisher.class.isAssignableFrom(method.getReturnType());
+    }
+
+}
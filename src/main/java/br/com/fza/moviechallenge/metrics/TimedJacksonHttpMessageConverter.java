@@ -0,0 +1,47 @@
+package br.com.fza.moviechallenge.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MovieStageMetrics movieStageMetrics;
+
+    public TimedJacksonHttpMessageConverter(final ObjectMapper objectMapper,
+                                            final MovieStageMetrics movieStageMetrics) {
+        super(objectMapper);
+        this.movieStageMetrics = movieStageMetrics;
+    }
+
+    @Override
+    protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException {
+        this.movieStageMetrics.time(MovieStageMetrics.SERIALIZATION, this.handler(), () -> {
+            super.writeInternal(object, type, outputMessage);
+            return null;
+        });
+    }
+
+    // Responses are tagged by the handler that produced them, e.g. movieController.searchMovies
+    private String handler() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        final Object handler = requestAttributes == null ? null : requestAttributes.getAttribute(
+                HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(handler instanceof HandlerMethod)) {
+            return MovieStageMetrics.NONE;
+        }
+        final HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return StringUtils.uncapitalize(handlerMethod.getBeanType().getSimpleName()) + "."
+                + handlerMethod.getMethod().getName();
+    }
+
+}
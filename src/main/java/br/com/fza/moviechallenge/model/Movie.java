@@ -5,7 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -15,6 +15,7 @@ import java.util.List;
 @Data
 @Builder
 @Document(collection = "movies")
+@CompoundIndex(name = "censureLevel_id", def = "{'censureLevel': 1, '_id': 1}")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Movie implements Serializable{
@@ -22,12 +23,10 @@ public class Movie implements Serializable{
     @Id
     private String id;
 
-    @Indexed
     private String name;
 
     private LocalDate launchDate;
 
-    @Indexed
     private CensureLevel censureLevel;
 
     private String director;
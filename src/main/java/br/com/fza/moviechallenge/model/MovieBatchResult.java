@@ -0,0 +1,24 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchResult implements Serializable {
+
+    private int index;
+
+    private Movie movie;
+
+    private MovieBatchStatus status;
+
+    private String message;
+
+}
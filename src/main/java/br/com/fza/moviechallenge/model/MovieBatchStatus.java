@@ -0,0 +1,9 @@
+package br.com.fza.moviechallenge.model;
+
+public enum MovieBatchStatus {
+
+    CREATED,
+    DUPLICATED,
+    FAILED
+
+}
@@ -0,0 +1,21 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieExportRange implements Serializable {
+
+    private int shard;
+
+    private String fromId;
+
+    private String toId;
+}
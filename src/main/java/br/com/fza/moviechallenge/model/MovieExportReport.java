@@ -0,0 +1,28 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieExportReport implements Serializable {
+
+    private String directory;
+
+    private List<String> files;
+
+    private long movies;
+
+    private long bytes;
+
+    private long elapsedMillis;
+
+    private long moviesPerSecond;
+}
@@ -0,0 +1,46 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Getter
+@RequiredArgsConstructor
+public enum MovieField {
+
+    ID("id", false),
+
+    NAME("name", true),
+
+    LAUNCH_DATE("launchDate", true),
+
+    CENSURE_LEVEL("censureLevel", false),
+
+    DIRECTOR("director", true),
+
+    CAST("cast", false);
+
+    private final String property;
+
+    private final boolean sortable;
+
+    public static MovieField fromProperty(final String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.getProperty().equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown movie field '" + property
+                        + "'. Allowed Values: " + Arrays.stream(values())
+                        .map(MovieField::getProperty)
+                        .collect(Collectors.joining(", "))));
+    }
+
+    public static Set<MovieField> sortableFields() {
+        return Arrays.stream(values())
+                .filter(MovieField::isSortable)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(MovieField.class)));
+    }
+}
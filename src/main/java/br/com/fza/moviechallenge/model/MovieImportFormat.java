@@ -0,0 +1,16 @@
+package br.com.fza.moviechallenge.model;
+
+public enum MovieImportFormat {
+
+    NDJSON,
+    CSV;
+
+    public static MovieImportFormat fromFileName(final String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    public boolean hasHeader() {
+        return this == CSV;
+    }
+
+}
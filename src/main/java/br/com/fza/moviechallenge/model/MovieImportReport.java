@@ -0,0 +1,37 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportReport implements Serializable {
+
+    private String file;
+
+    private MovieImportFormat format;
+
+    private long resumedFromLine;
+
+    private long lastLine;
+
+    private long lines;
+
+    private long created;
+
+    private long duplicated;
+
+    private long invalid;
+
+    private long failed;
+
+    private long elapsedMillis;
+
+    private long linesPerSecond;
+}
@@ -0,0 +1,24 @@
+package br.com.fza.moviechallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieStats implements Serializable {
+
+    private long total;
+
+    private Map<CensureLevel, Long> byCensureLevel;
+
+    private Map<Integer, Long> byLaunchYear;
+
+    private Map<String, Long> byDirector;
+}
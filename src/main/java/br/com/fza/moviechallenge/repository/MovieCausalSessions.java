@@ -0,0 +1,244 @@
+package br.com.fza.moviechallenge.repository;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientException;
+import com.mongodb.MongoException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieCausalSessions {
+
+    static final String OPERATION_TIME = "operationTime";
+    static final String CLUSTER_TIME = "clusterTime";
+
+    // Answered by standalone servers to the first command of a transaction
+    static final int ILLEGAL_OPERATION = 20;
+
+    private static final ClientSessionOptions CAUSALLY_CONSISTENT = ClientSessionOptions.builder()
+            .causallyConsistent(true)
+            .build();
+
+    private static final TransactionOptions SNAPSHOT = TransactionOptions.builder()
+            .readConcern(ReadConcern.SNAPSHOT)
+            .readPreference(ReadPreference.primary())
+            .build();
+
+    private final MongoDbFactory mongoDbFactory;
+    private final ThreadLocal<BoundSession> bound = new ThreadLocal<>();
+
+    // Latest operation time answered to this node, only reads filling node-wide caches wait for it
+    private final AtomicReference<BsonDocument> latest = new AtomicReference<>();
+
+    private volatile boolean transactions = true;
+
+    public <T, E extends Exception> T execute(final BsonDocument after, final Operation<T, E> operation) throws E {
+        final ClientSession session;
+        try {
+            session = this.mongoDbFactory.getSession(CAUSALLY_CONSISTENT);
+        } catch(final MongoClientException e) {
+            log.debug("Sessions are not supported, running without causal consistency", e);
+            return operation.run();
+        }
+        try (session) {
+            this.advance(session, after);
+            final BoundSession boundSession = new BoundSession(session, session.getOperationTime(), false);
+            this.bound.set(boundSession);
+            try {
+                final T result = operation.run();
+                this.record(boundSession);
+                return result;
+            } finally {
+                this.bound.remove();
+            }
+        }
+    }
+
+    // Every read of the operation sees the same snapshot of the primary, whose time snapshotTime() answers. Servers
+    // without transactions run it on its own, its reads may then see writes made while it runs
+    public <T, E extends Exception> T snapshot(final Operation<T, E> operation) throws E {
+        final ClientSession session = this.transactions ? this.snapshotSession() : null;
+        if (session == null) {
+            return operation.run();
+        }
+        try {
+            return this.inTransaction(session, operation);
+        } catch(final RuntimeException e) {
+            if (!transactionsUnsupported(e)) {
+                throw e;
+            }
+            log.info("Transactions are not supported, snapshots will read the latest data instead", e);
+            this.transactions = false;
+            return operation.run();
+        }
+    }
+
+    public Optional<BsonTimestamp> snapshotTime() {
+        final BoundSession boundSession = this.bound.get();
+        return boundSession == null || !boundSession.snapshot
+                ? Optional.empty()
+                : Optional.ofNullable(boundSession.session.getOperationTime());
+    }
+
+    public MongoDatabase getDatabase() {
+        final BoundSession boundSession = this.bound.get();
+        return boundSession == null
+                ? this.mongoDbFactory.getDb()
+                : this.mongoDbFactory.withSession(boundSession.session).getDb();
+    }
+
+    // Only request sessions, snapshots always read the primary
+    public boolean inSession() {
+        final BoundSession boundSession = this.bound.get();
+        return boundSession != null && !boundSession.snapshot;
+    }
+
+    // Caches are shared by every client and invalidated by every change, so they must not be filled from a secondary
+    // lagging behind a change this node already saw
+    public void catchUp() {
+        this.observe(this.latest.get());
+    }
+
+    // What the bound session observed so far, for writes it makes on behalf of callers bound to other sessions
+    public Optional<BsonDocument> observed() {
+        final BoundSession boundSession = this.bound.get();
+        return boundSession == null || boundSession.session.getOperationTime() == null
+                ? Optional.empty()
+                : Optional.of(this.tokenOf(boundSession.session));
+    }
+
+    // A write made in another session on behalf of this one, the token handed back to the client must cover it
+    public void observe(final BsonDocument token) {
+        final BoundSession boundSession = this.bound.get();
+        if (boundSession != null) {
+            this.advance(boundSession.session, token);
+        }
+    }
+
+    // The token carries only what the client's own session observed
+    public Optional<String> token() {
+        final BoundSession boundSession = this.bound.get();
+        if (boundSession == null || boundSession.session.getOperationTime() == null) {
+            return Optional.empty();
+        }
+        this.record(boundSession);
+        return Optional.of(Base64.getUrlEncoder().encodeToString(
+                this.tokenOf(boundSession.session).toJson().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public BsonDocument parse(final String token) {
+        try {
+            final BsonDocument document = BsonDocument.parse(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+            document.getTimestamp(OPERATION_TIME);
+            return document;
+        } catch(final RuntimeException e) {
+            throw new IllegalArgumentException("Invalid causal token: " + token, e);
+        }
+    }
+
+    // Changes seen by the change stream listener already happened, later reads on this node must observe them
+    public void advance(final BsonTimestamp operationTime) {
+        if (operationTime != null) {
+            this.advance(new BsonDocument(OPERATION_TIME, operationTime));
+        }
+    }
+
+    private void advance(final ClientSession session, final BsonDocument token) {
+        if (token == null) {
+            return;
+        }
+        if (token.isDocument(CLUSTER_TIME)) {
+            session.advanceClusterTime(token.getDocument(CLUSTER_TIME));
+        }
+        session.advanceOperationTime(token.getTimestamp(OPERATION_TIME));
+    }
+
+    // Only times answered by the server are kept, a token sent by a client is never trusted on its own
+    private void record(final BoundSession boundSession) {
+        final BsonTimestamp operationTime = boundSession.session.getOperationTime();
+        if (operationTime != null && !operationTime.equals(boundSession.startedAt)) {
+            this.advance(this.tokenOf(boundSession.session));
+        }
+    }
+
+    private <T, E extends Exception> T inTransaction(final ClientSession session,
+                                                     final Operation<T, E> operation) throws E {
+        try (session) {
+            session.startTransaction(SNAPSHOT);
+            this.bound.set(new BoundSession(session, null, true));
+            try {
+                final T result = operation.run();
+                session.commitTransaction();
+                return result;
+            } finally {
+                this.bound.remove();
+            }
+        }
+    }
+
+    private ClientSession snapshotSession() {
+        try {
+            return this.mongoDbFactory.getSession(CAUSALLY_CONSISTENT);
+        } catch(final MongoClientException e) {
+            log.info("Sessions are not supported, snapshots will read the latest data instead", e);
+            this.transactions = false;
+            return null;
+        }
+    }
+
+    // The driver refuses transactions on servers older than 4.0, standalone servers refuse the first command
+    private static boolean transactionsUnsupported(final RuntimeException e) {
+        final Throwable cause = e instanceof NestedRuntimeException
+                ? ((NestedRuntimeException) e).getMostSpecificCause()
+                : e;
+        return cause.getClass() == MongoClientException.class
+                || cause instanceof MongoException && ((MongoException) cause).getCode() == ILLEGAL_OPERATION;
+    }
+
+    private BsonDocument tokenOf(final ClientSession session) {
+        final BsonDocument token = new BsonDocument(OPERATION_TIME, session.getOperationTime());
+        if (session.getClusterTime() != null) {
+            token.append(CLUSTER_TIME, session.getClusterTime());
+        }
+        return token;
+    }
+
+    private void advance(final BsonDocument token) {
+        this.latest.accumulateAndGet(token, (current, next) -> current == null
+                || next.getTimestamp(OPERATION_TIME).compareTo(current.getTimestamp(OPERATION_TIME)) > 0
+                ? next
+                : current);
+    }
+
+    @FunctionalInterface
+    public interface Operation<T, E extends Exception> {
+
+        T run() throws E;
+    }
+
+    @RequiredArgsConstructor
+    private static class BoundSession {
+
+        private final ClientSession session;
+        private final BsonTimestamp startedAt;
+        private final boolean snapshot;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieIndexInitializer {
+
+    static final String NAME_INDEX = "name_unique";
+    static final String SORT_INDEX_PREFIX = "sort_censureLevel_";
+    static final String FILMOGRAPHY_INDEX_PREFIX = "filmography_";
+    static final String RELEASE_INDEX = "launchDate_id";
+    static final Set<MovieField> FILMOGRAPHY_FIELDS = EnumSet.of(MovieField.CAST, MovieField.DIRECTOR);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureUniqueNameIndex() {
+        final String name = MovieField.NAME.getProperty();
+        final IndexOperations indexOperations = this.mongoTemplate.indexOps(Movie.class);
+        final Optional<IndexInfo> nameIndex = indexOperations.getIndexInfo().stream()
+                .filter(indexInfo -> indexInfo.getIndexFields().size() == 1)
+                .filter(indexInfo -> indexInfo.isIndexForFields(List.of(name)))
+                .findFirst();
+        if (nameIndex.filter(IndexInfo::isUnique).isPresent()) {
+            log.info("Unique index on movie {} verified: {}", name, nameIndex.get().getName());
+            return;
+        }
+        nameIndex.ifPresent(indexInfo -> {
+            log.warn("Replacing non unique index {} on movie {}", indexInfo.getName(), name);
+            indexOperations.dropIndex(indexInfo.getName());
+        });
+        try {
+            indexOperations.ensureIndex(new Index().on(name, Sort.Direction.ASC).named(NAME_INDEX).unique());
+            log.info("Unique index on movie {} created: {}", name, NAME_INDEX);
+        } catch(final RuntimeException e) {
+            log.error("Could not create the unique index on movie " + name + ", remove the duplicated movies first", e);
+            throw e;
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void reconcileSortIndexes() {
+        final String censureLevel = MovieField.CENSURE_LEVEL.getProperty();
+        final IndexOperations indexOperations = this.mongoTemplate.indexOps(Movie.class);
+        final Set<String> sortIndexes = MovieField.sortableFields().stream()
+                .map(field -> SORT_INDEX_PREFIX + field.getProperty())
+                .collect(Collectors.toSet());
+        // Every compound index starting with the censure level already serves the filter alone
+        indexOperations.getIndexInfo().stream()
+                .filter(indexInfo -> (indexInfo.getName().startsWith(SORT_INDEX_PREFIX)
+                        && !sortIndexes.contains(indexInfo.getName()))
+                        || (indexInfo.getIndexFields().size() == 1 && indexInfo.isIndexForFields(List.of(censureLevel))))
+                .forEach(indexInfo -> {
+                    log.warn("Dropping index {} on movie {}, it is no longer needed", indexInfo.getName(),
+                            indexInfo.getIndexFields());
+                    indexOperations.dropIndex(indexInfo.getName());
+                });
+        MovieField.sortableFields().forEach(field -> {
+            final String indexName = indexOperations.ensureIndex(sortIndex(field));
+            log.info("Sort index on movie {} ensured: {}", field.getProperty(), indexName);
+        });
+    }
+
+    // Release ranges restricted to a censure level are served by its launchDate sort index
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureReleaseIndex() {
+        final String indexName = this.mongoTemplate.indexOps(Movie.class).ensureIndex(releaseIndex());
+        log.info("Release index on movie {} ensured: {}", MovieField.LAUNCH_DATE.getProperty(), indexName);
+    }
+
+    static Index sortIndex(final MovieField field) {
+        return new Index()
+                .on(MovieField.CENSURE_LEVEL.getProperty(), Sort.Direction.ASC)
+                .on(field.getProperty(), Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(SORT_INDEX_PREFIX + field.getProperty());
+    }
+
+    static Index releaseIndex() {
+        return new Index()
+                .on(MovieField.LAUNCH_DATE.getProperty(), Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(RELEASE_INDEX);
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureFilmographyIndexes() {
+        final IndexOperations indexOperations = this.mongoTemplate.indexOps(Movie.class);
+        FILMOGRAPHY_FIELDS.forEach(field -> {
+            final String indexName = indexOperations.ensureIndex(filmographyIndex(field));
+            log.info("Filmography index on movie {} ensured: {}", field.getProperty(), indexName);
+        });
+    }
+
+    // Already in the order a filmography is served, on cast it is multikey with one entry per actor
+    static Index filmographyIndex(final MovieField field) {
+        return new Index()
+                .on(field.getProperty(), Sort.Direction.ASC)
+                .on(MovieField.LAUNCH_DATE.getProperty(), Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named(FILMOGRAPHY_INDEX_PREFIX + field.getProperty());
+    }
+}
@@ -4,12 +4,24 @@ import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MovieRepository extends MongoRepository<Movie, String> {
 
-    boolean existsByName(String name);
+public interface MovieRepository extends MongoRepository<Movie, String>, MovieRepositoryCustom {
 
     Page<Movie> findAllByCensureLevel(CensureLevel censureLevel, Pageable pageable);
+
+    Slice<Movie> findSliceByCensureLevel(CensureLevel censureLevel, Pageable pageable);
+
+    Slice<Movie> findSliceByCensureLevelAndIdGreaterThan(CensureLevel censureLevel, String id, Pageable pageable);
+
+    Stream<Movie> streamAllByCensureLevel(CensureLevel censureLevel);
+
+    Optional<Movie> findFirstByOrderByIdAsc();
+
+    Optional<Movie> findFirstByOrderByIdDesc();
 }
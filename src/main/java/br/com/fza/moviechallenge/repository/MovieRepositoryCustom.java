@@ -0,0 +1,41 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface MovieRepositoryCustom {
+
+    Page<Movie> findAllByCensureLevel(CensureLevel censureLevel, Set<MovieField> fields, Pageable pageable);
+
+    Page<Movie> findFilmography(MovieField field, String value, Pageable pageable);
+
+    Slice<Movie> findSliceByLaunchDateBetween(LocalDate from, LocalDate to, CensureLevel censureLevel, Movie after,
+                                              int size);
+
+    MovieStats aggregateStats();
+
+    List<String> findExistingIds(Collection<String> ids);
+
+    List<String> findExistingNames(Collection<String> names);
+
+    List<BulkWriteError> insertAll(List<Movie> movies);
+
+    List<BulkWriteError> insertAll(List<Movie> movies, WriteConcern writeConcern);
+
+    CloseableIterator<Movie> streamByIdRange(String fromId, String toId, int batchSize);
+
+    CloseableIterator<Movie> streamNames(int batchSize);
+}
@@ -0,0 +1,235 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    private static final String CENSURE_LEVEL = "censureLevel";
+    private static final String STATS_KEY = "key";
+    private static final String STATS_COUNT = "count";
+    static final Sort FILMOGRAPHY_SORT = Sort.by(Sort.Direction.DESC, MovieField.LAUNCH_DATE.getProperty(),
+            MovieField.ID.getProperty());
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<Movie> findAllByCensureLevel(final CensureLevel censureLevel, final Set<MovieField> fields,
+                                             final Pageable pageable) {
+        final Query query = new Query(Criteria.where(CENSURE_LEVEL).is(censureLevel)).with(pageable);
+        fields.forEach(field -> query.fields().include(field.getProperty()));
+        if (!fields.contains(MovieField.ID)) {
+            query.fields().exclude(MovieField.ID.getProperty());
+        }
+        final List<Movie> movies = this.mongoTemplate.find(query, Movie.class);
+        return PageableExecutionUtils.getPage(movies, pageable, () -> this.mongoTemplate.count(
+                new Query(Criteria.where(CENSURE_LEVEL).is(censureLevel)), Movie.class));
+    }
+
+    @Override
+    public Page<Movie> findFilmography(final MovieField field, final String value, final Pageable pageable) {
+        // The hint makes a missing index fail the query instead of silently scanning the collection
+        final String hint = MovieIndexInitializer.filmographyIndex(field).getIndexKeys().toJson();
+        final Query query = new Query(Criteria.where(field.getProperty()).is(value))
+                .with(pageable)
+                .with(FILMOGRAPHY_SORT)
+                .withHint(hint);
+        final List<Movie> movies = this.mongoTemplate.find(query, Movie.class);
+        return PageableExecutionUtils.getPage(movies, pageable, () -> this.mongoTemplate.count(
+                new Query(Criteria.where(field.getProperty()).is(value)).withHint(hint), Movie.class));
+    }
+
+    @Override
+    public Slice<Movie> findSliceByLaunchDateBetween(final LocalDate from, final LocalDate to,
+                                                     final CensureLevel censureLevel, final Movie after,
+                                                     final int size) {
+        return releaseSlice(this.mongoTemplate.find(releaseQuery(from, to, censureLevel, after, size), Movie.class),
+                size);
+    }
+
+    @Override
+    public MovieStats aggregateStats() {
+        final List<Document> censureLevels = this.countBy(Aggregation.project().and(CENSURE_LEVEL).as(STATS_KEY));
+        return MovieStats.builder()
+                .total(censureLevels.stream().mapToLong(MovieRepositoryImpl::countOf).sum())
+                .byCensureLevel(countsBy(censureLevels, key -> CensureLevel.valueOf((String) key)))
+                // Launch dates are stored at midnight in the JVM zone, east of UTC a 1 January launch is still December
+                .byLaunchYear(countsBy(this.countBy(Aggregation.project()
+                        .and(DateOperators.Year.yearOf(MovieField.LAUNCH_DATE.getProperty())
+                                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId())))
+                        .as(STATS_KEY)), key -> ((Number) key).intValue()))
+                .byDirector(countsBy(this.countBy(Aggregation.project()
+                        .and(MovieField.DIRECTOR.getProperty()).as(STATS_KEY)), String.class::cast))
+                .build();
+    }
+
+    @Override
+    public List<String> findExistingIds(final Collection<String> ids) {
+        final Query query = new Query(Criteria.where(MovieField.ID.getProperty())
+                .in(ids.stream().map(ObjectId::new).collect(Collectors.toList())));
+        query.fields().include(MovieField.ID.getProperty());
+        return this.mongoTemplate.find(query, Movie.class).stream()
+                .map(Movie::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findExistingNames(final Collection<String> names) {
+        return this.mongoTemplate.findDistinct(new Query(Criteria.where(MovieField.NAME.getProperty()).in(names)),
+                MovieField.NAME.getProperty(), Movie.class, String.class);
+    }
+
+    @Override
+    public List<BulkWriteError> insertAll(final List<Movie> movies) {
+        try {
+            this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class)
+                    .insert(movies)
+                    .execute();
+            return Collections.emptyList();
+        } catch(final DataAccessException e) {
+            return writeErrorsOf(e);
+        }
+    }
+
+    @Override
+    public List<BulkWriteError> insertAll(final List<Movie> movies, final WriteConcern writeConcern) {
+        final List<InsertOneModel<Document>> inserts = insertsOf(this.mongoTemplate.getConverter(), movies);
+        try {
+            this.mongoTemplate.execute(Movie.class, collection -> collection.withWriteConcern(writeConcern)
+                    .bulkWrite(inserts, new BulkWriteOptions().ordered(false)));
+            return Collections.emptyList();
+        } catch(final DataAccessException e) {
+            return writeErrorsOf(e);
+        }
+    }
+
+    @Override
+    public CloseableIterator<Movie> streamByIdRange(final String fromId, final String toId, final int batchSize) {
+        final Criteria criteria = Criteria.where(MovieField.ID.getProperty());
+        if (fromId != null) {
+            criteria.gte(new ObjectId(fromId));
+        }
+        if (toId != null) {
+            criteria.lt(new ObjectId(toId));
+        }
+        final Query query = new Query(fromId == null && toId == null ? new Criteria() : criteria)
+                .with(Sort.by(MovieField.ID.getProperty()))
+                .cursorBatchSize(batchSize);
+        return this.mongoTemplate.stream(query, Movie.class);
+    }
+
+    @Override
+    public CloseableIterator<Movie> streamNames(final int batchSize) {
+        final Query query = new Query().cursorBatchSize(batchSize);
+        query.fields().include(MovieField.NAME.getProperty()).exclude(MovieField.ID.getProperty());
+        return this.mongoTemplate.stream(query, Movie.class);
+    }
+
+    // Keyset on (launchDate, id): the next slice starts right after the last movie seen, never skipping documents
+    static Query releaseQuery(final LocalDate from, final LocalDate to, final CensureLevel censureLevel,
+                              final Movie after, final int size) {
+        final String launchDate = MovieField.LAUNCH_DATE.getProperty();
+        final Criteria criteria = censureLevel == null
+                ? Criteria.where(launchDate).gte(from).lte(to)
+                : Criteria.where(CENSURE_LEVEL).is(censureLevel).and(launchDate).gte(from).lte(to);
+        if (after != null) {
+            criteria.orOperator(Criteria.where(launchDate).gt(after.getLaunchDate()),
+                    Criteria.where(launchDate).is(after.getLaunchDate())
+                            .and(MovieField.ID.getProperty()).gt(new ObjectId(after.getId())));
+        }
+        final Index index = censureLevel == null
+                ? MovieIndexInitializer.releaseIndex()
+                : MovieIndexInitializer.sortIndex(MovieField.LAUNCH_DATE);
+        return new Query(criteria)
+                .with(Sort.by(launchDate, MovieField.ID.getProperty()))
+                .limit(size + 1)
+                .withHint(index.getIndexKeys().toJson());
+    }
+
+    static Slice<Movie> releaseSlice(final List<Movie> movies, final int size) {
+        return movies.size() > size
+                ? new SliceImpl<>(movies.subList(0, size), PageRequest.of(0, size), true)
+                : new SliceImpl<>(movies, PageRequest.of(0, size), false);
+    }
+
+    private List<Document> countBy(final ProjectionOperation key) {
+        final Aggregation aggregation = Aggregation.newAggregation(
+                key,
+                Aggregation.group(STATS_KEY).count().as(STATS_COUNT))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+        return this.mongoTemplate.aggregate(aggregation, Movie.class, Document.class).getMappedResults();
+    }
+
+    // Movies missing the grouped field land in a null group, they only count towards the total
+    private static <K> Map<K, Long> countsBy(final List<Document> groups, final Function<Object, K> key) {
+        final Map<K, Long> counts = new HashMap<>();
+        groups.stream()
+                .filter(group -> group.get(Fields.UNDERSCORE_ID) != null)
+                .forEach(group -> counts.put(key.apply(group.get(Fields.UNDERSCORE_ID)), countOf(group)));
+        return counts;
+    }
+
+    private static long countOf(final Document group) {
+        return ((Number) group.get(STATS_COUNT)).longValue();
+    }
+
+    static List<InsertOneModel<Document>> insertsOf(final MongoConverter converter, final List<Movie> movies) {
+        return movies.stream()
+                .map(movie -> {
+                    final Document document = new Document();
+                    converter.write(movie, document);
+                    return new InsertOneModel<>(document);
+                })
+                .collect(Collectors.toList());
+    }
+
+    static List<BulkWriteError> writeErrorsOf(final DataAccessException e) {
+        // Without the requested write concern the inserted movies may still be rolled back, so none is reported
+        if (e.getMostSpecificCause() instanceof MongoBulkWriteException
+                && ((MongoBulkWriteException) e.getMostSpecificCause()).getWriteConcernError() == null) {
+            return ((MongoBulkWriteException) e.getMostSpecificCause()).getWriteErrors();
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.Movie;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieWriteCoalescer implements DisposableBean {
+
+    private final MovieRepository movieRepository;
+    private final MovieCausalSessions movieCausalSessions;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSizes;
+    private final ExecutorService flusher;
+    private boolean closed;
+
+    public MovieWriteCoalescer(final MovieRepository movieRepository,
+                               final MovieCausalSessions movieCausalSessions,
+                               final @Value("${movies.writes.coalescing.enabled}") boolean enabled,
+                               final @Value("${movies.writes.coalescing.window-millis}") long windowMillis,
+                               final @Value("${movies.writes.coalescing.max-batch-size}") int maxBatchSize,
+                               final @Value("${movies.writes.coalescing.timeout-millis}") long timeoutMillis,
+                               final MeterRegistry meterRegistry) {
+        this.movieRepository = movieRepository;
+        this.movieCausalSessions = movieCausalSessions;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        this.batchSizes = DistributionSummary.builder("movies.writes.batch.size").register(meterRegistry);
+        this.flusher = enabled
+                ? Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "movies-write-coalescer"))
+                : null;
+        if (enabled) {
+            log.info("Coalescing movie inserts every {} ms or {} movies", windowMillis, maxBatchSize);
+            this.flusher.execute(this::run);
+        }
+    }
+
+    public Movie insert(final Movie movie) {
+        final PendingInsert pendingInsert = this.enqueue(movie);
+        if (pendingInsert == null) {
+            return this.movieRepository.insert(movie);
+        }
+        try {
+            // Only a copy times out, the flusher still completes the insert itself
+            pendingInsert.getResult().copy().orTimeout(this.timeoutMillis, TimeUnit.MILLISECONDS).join();
+        } catch(final CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // Still queued means never written, a caller that gave up must not get its movie created later
+                if (this.queue.remove(pendingInsert)) {
+                    throw new DataAccessResourceFailureException(
+                            "Timed out after " + this.timeoutMillis + " ms waiting for the movie insert", e.getCause());
+                }
+                // Already taken by the flusher, the movie may be written so its outcome is the one reported
+                log.warn("Movie {} is already being written, waiting for it past the timeout", movie.getName());
+            }
+        }
+        return this.written(pendingInsert);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (this.flusher == null) {
+            return;
+        }
+        synchronized (this) {
+            this.closed = true;
+        }
+        this.flusher.shutdownNow();
+        this.flusher.awaitTermination(1, TimeUnit.SECONDS);
+        final List<PendingInsert> remaining = new ArrayList<>();
+        this.queue.drainTo(remaining);
+        final DataAccessResourceFailureException shutdown =
+                new DataAccessResourceFailureException("Movie inserts are no longer coalesced, the node is shutting down");
+        remaining.forEach(pendingInsert -> pendingInsert.fail(shutdown));
+    }
+
+    private Movie written(final PendingInsert pendingInsert) {
+        try {
+            final Movie persistedMovie = pendingInsert.getResult().join();
+            this.movieCausalSessions.observe(pendingInsert.getWrittenAt());
+            return persistedMovie;
+        } catch(final CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    // Under the lock destroy() takes, so no insert is queued once the queue is drained
+    private synchronized PendingInsert enqueue(final Movie movie) {
+        if (this.flusher == null || this.closed) {
+            return null;
+        }
+        final PendingInsert pendingInsert = new PendingInsert(movie);
+        this.queue.add(pendingInsert);
+        return pendingInsert;
+    }
+
+    private void run() {
+        final List<PendingInsert> batch = new ArrayList<>(this.maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(this.queue.take());
+                final long deadline = System.nanoTime() + this.windowNanos;
+                while (batch.size() < this.maxBatchSize) {
+                    final PendingInsert next = this.queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                this.flush(batch);
+                batch.clear();
+            }
+        } catch(final InterruptedException e) {
+            this.queue.addAll(batch);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(final List<PendingInsert> batch) {
+        this.batchSizes.record(batch.size());
+        batch.forEach(pendingInsert -> pendingInsert.getMovie().setId(new ObjectId().toHexString()));
+        try {
+            // The batch runs in the flusher's own session, each caller's session then observes the time it answered
+            final AtomicReference<BsonDocument> writtenAt = new AtomicReference<>();
+            final Map<Integer, BulkWriteError> errors = this.movieCausalSessions.execute(null, () -> {
+                final List<BulkWriteError> writeErrors = this.movieRepository.insertAll(batch.stream()
+                        .map(PendingInsert::getMovie)
+                        .collect(Collectors.toList()));
+                this.movieCausalSessions.observed().ifPresent(writtenAt::set);
+                return writeErrors;
+            })
+                    .stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+            for (int index = 0; index < batch.size(); index++) {
+                final PendingInsert pendingInsert = batch.get(index);
+                final BulkWriteError error = errors.get(index);
+                if (error == null) {
+                    pendingInsert.setWrittenAt(writtenAt.get());
+                    pendingInsert.getResult().complete(pendingInsert.getMovie());
+                } else if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                    pendingInsert.fail(new DuplicateKeyException(error.getMessage()));
+                } else {
+                    pendingInsert.fail(new DataIntegrityViolationException(error.getMessage()));
+                }
+            }
+        } catch(final RuntimeException e) {
+            log.error("Could not insert a batch of " + batch.size() + " movies", e);
+            batch.forEach(pendingInsert -> pendingInsert.fail(e));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingInsert {
+
+        private final Movie movie;
+        private final CompletableFuture<Movie> result = new CompletableFuture<>();
+        @Setter
+        private volatile BsonDocument writtenAt;
+
+        private void fail(final RuntimeException e) {
+            this.movie.setId(null);
+            this.result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveMovieRepository extends ReactiveMongoRepository<Movie, String>, ReactiveMovieRepositoryCustom {
+
+    Flux<Movie> findAllByCensureLevel(CensureLevel censureLevel, Pageable pageable);
+
+    Mono<Long> countByCensureLevel(CensureLevel censureLevel);
+
+    Flux<Movie> streamAllByCensureLevel(CensureLevel censureLevel);
+}
@@ -0,0 +1,32 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ReactiveMovieRepositoryCustom {
+
+    Flux<Movie> findAllByCensureLevel(CensureLevel censureLevel, Set<MovieField> fields, Pageable pageable);
+
+    Mono<Page<Movie>> findFilmography(MovieField field, String value, Pageable pageable);
+
+    Mono<Slice<Movie>> findSliceByLaunchDateBetween(LocalDate from, LocalDate to, CensureLevel censureLevel,
+                                                    Movie after, int size);
+
+    Mono<Slice<Movie>> findSliceByCensureLevelAfter(CensureLevel censureLevel, String lastId, Pageable pageable);
+
+    Flux<String> findExistingNames(Collection<String> names);
+
+    Flux<BulkWriteError> insertAll(List<Movie> movies);
+}
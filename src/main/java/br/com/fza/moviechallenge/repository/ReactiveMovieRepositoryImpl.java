@@ -0,0 +1,103 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ReactiveMovieRepositoryImpl implements ReactiveMovieRepositoryCustom {
+
+    private static final String CENSURE_LEVEL = "censureLevel";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Movie> findAllByCensureLevel(final CensureLevel censureLevel, final Set<MovieField> fields,
+                                             final Pageable pageable) {
+        final Query query = new Query(Criteria.where(CENSURE_LEVEL).is(censureLevel)).with(pageable);
+        fields.forEach(field -> query.fields().include(field.getProperty()));
+        if (!fields.contains(MovieField.ID)) {
+            query.fields().exclude(MovieField.ID.getProperty());
+        }
+        return this.reactiveMongoTemplate.find(query, Movie.class);
+    }
+
+    @Override
+    public Mono<Page<Movie>> findFilmography(final MovieField field, final String value, final Pageable pageable) {
+        final String hint = MovieIndexInitializer.filmographyIndex(field).getIndexKeys().toJson();
+        final Query query = new Query(Criteria.where(field.getProperty()).is(value))
+                .with(pageable)
+                .with(MovieRepositoryImpl.FILMOGRAPHY_SORT)
+                .withHint(hint);
+        return Mono.zip(this.reactiveMongoTemplate.find(query, Movie.class).collectList(),
+                this.reactiveMongoTemplate.count(new Query(Criteria.where(field.getProperty()).is(value))
+                        .withHint(hint), Movie.class))
+                .map(moviesAndTotal -> new PageImpl<>(moviesAndTotal.getT1(), pageable, moviesAndTotal.getT2()));
+    }
+
+    @Override
+    public Mono<Slice<Movie>> findSliceByLaunchDateBetween(final LocalDate from, final LocalDate to,
+                                                           final CensureLevel censureLevel, final Movie after,
+                                                           final int size) {
+        return this.reactiveMongoTemplate.find(MovieRepositoryImpl.releaseQuery(from, to, censureLevel, after, size),
+                Movie.class)
+                .collectList()
+                .map(movies -> MovieRepositoryImpl.releaseSlice(movies, size));
+    }
+
+    @Override
+    public Mono<Slice<Movie>> findSliceByCensureLevelAfter(final CensureLevel censureLevel, final String lastId,
+                                                           final Pageable pageable) {
+        final Criteria criteria = Criteria.where(CENSURE_LEVEL).is(censureLevel);
+        if (lastId != null) {
+            criteria.and(MovieField.ID.getProperty()).gt(lastId);
+        }
+        final Query query = new Query(criteria)
+                .with(pageable.getSort())
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1);
+        return this.reactiveMongoTemplate.find(query, Movie.class)
+                .collectList()
+                .map(movies -> movies.size() > pageable.getPageSize()
+                        ? new SliceImpl<>(movies.subList(0, pageable.getPageSize()), pageable, true)
+                        : new SliceImpl<>(movies, pageable, false));
+    }
+
+    @Override
+    public Flux<String> findExistingNames(final Collection<String> names) {
+        return this.reactiveMongoTemplate.findDistinct(new Query(Criteria.where(MovieField.NAME.getProperty()).in(names)),
+                MovieField.NAME.getProperty(), Movie.class, String.class);
+    }
+
+    @Override
+    public Flux<BulkWriteError> insertAll(final List<Movie> movies) {
+        final List<InsertOneModel<Document>> inserts = MovieRepositoryImpl.insertsOf(
+                this.reactiveMongoTemplate.getConverter(), movies);
+        return this.reactiveMongoTemplate.execute(Movie.class, collection -> collection.bulkWrite(inserts,
+                new BulkWriteOptions().ordered(false)))
+                .thenMany(Flux.<BulkWriteError>empty())
+                .onErrorResume(DataAccessException.class,
+                        e -> Flux.defer(() -> Flux.fromIterable(MovieRepositoryImpl.writeErrorsOf(e))));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.model.Movie;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+class InvertedMovieIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DIRECTOR_WEIGHT = 2f;
+    private static final float CAST_WEIGHT = 1f;
+
+    private final ConcurrentMap<String, Movie> movies = new ConcurrentHashMap<>();
+    // term -> movie id -> sum of the field weights of every occurrence of the term in the movie
+    private final ConcurrentMap<String, ConcurrentMap<String, Float>> postings = new ConcurrentHashMap<>();
+
+    void add(final Movie movie) {
+        if (this.movies.putIfAbsent(movie.getId(), movie) != null) {
+            return;
+        }
+        final Map<String, Float> weights = new HashMap<>();
+        this.addTerms(weights, movie.getName(), NAME_WEIGHT);
+        this.addTerms(weights, movie.getDirector(), DIRECTOR_WEIGHT);
+        if (movie.getCast() != null) {
+            movie.getCast().forEach(actor -> this.addTerms(weights, actor, CAST_WEIGHT));
+        }
+        weights.forEach((term, weight) -> this.postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>())
+                .put(movie.getId(), weight));
+    }
+
+    List<Movie> search(final Collection<String> terms) {
+        final List<Map<String, Float>> termPostings = new ArrayList<>();
+        for (final String term : new LinkedHashSet<>(terms)) {
+            final Map<String, Float> movieWeights = this.postings.get(term);
+            if (movieWeights == null) {
+                return List.of();
+            }
+            termPostings.add(movieWeights);
+        }
+        if (termPostings.isEmpty()) {
+            return List.of();
+        }
+        // Every term must match, so only the movies of the rarest term can be hits
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        final double total = this.movies.size();
+        final Map<String, Double> scores = new HashMap<>();
+        for (final String movieId : termPostings.get(0).keySet()) {
+            double score = 0;
+            for (final Map<String, Float> movieWeights : termPostings) {
+                final Float weight = movieWeights.get(movieId);
+                if (weight == null) {
+                    score = -1;
+                    break;
+                }
+                score += weight * Math.log(1 + total / movieWeights.size());
+            }
+            if (score >= 0) {
+                scores.put(movieId, score);
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> this.movies.get(entry.getKey()).getName())
+                        .thenComparing(Map.Entry::getKey))
+                .map(entry -> this.movies.get(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    int size() {
+        return this.movies.size();
+    }
+
+    private void addTerms(final Map<String, Float> weights, final String text, final float weight) {
+        MovieSearchTokenizer.tokenize(text).forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class MovieSearchIndex {
+
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final Timer searchTimer;
+
+    // Null until the first scan finishes, searches are refused meanwhile
+    private volatile InvertedMovieIndex index;
+    private volatile InvertedMovieIndex rebuilding;
+
+    public MovieSearchIndex(final MovieRepository movieRepository, final MeterRegistry meterRegistry) {
+        this.movieRepository = movieRepository;
+        this.searchTimer = meterRegistry.timer("movies.search.duration");
+        meterRegistry.gauge("movies.search.indexed", this, MovieSearchIndex::size);
+    }
+
+    public Page<Movie> search(final String query, final Pageable pageable) {
+        final InvertedMovieIndex current = this.index;
+        if (current == null) {
+            throw new MovieSearchUnavailableException("The search index is still being built, try again later");
+        }
+        return this.searchTimer.record(() -> {
+            final List<Movie> hits = current.search(MovieSearchTokenizer.tokenize(query));
+            final int from = (int) Math.min(pageable.getOffset(), hits.size());
+            final int to = Math.min(from + pageable.getPageSize(), hits.size());
+            return new PageImpl<>(hits.subList(from, to), pageable, hits.size());
+        });
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        final InvertedMovieIndex current = this.index;
+        if (current != null) {
+            event.getMovies().forEach(current::add);
+        }
+        final InvertedMovieIndex next = this.rebuilding;
+        if (next != null) {
+            event.getMovies().forEach(next::add);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movies.search.rebuild-interval-millis}")
+    public void rebuild() {
+        final InvertedMovieIndex next = new InvertedMovieIndex();
+        // Movies created during the scan go to both indexes, so the swap cannot lose them
+        this.rebuilding = next;
+        try (CloseableIterator<Movie> movies = this.movieRepository.streamByIdRange(null, null, SCAN_BATCH_SIZE)) {
+            movies.forEachRemaining(next::add);
+            this.index = next;
+            log.info("Movie search index rebuilt with {} movies", next.size());
+        } catch(final RuntimeException e) {
+            log.error("Could not rebuild the movie search index, keeping the previous one", e);
+        } finally {
+            this.rebuilding = null;
+        }
+    }
+
+    private double size() {
+        final InvertedMovieIndex current = this.index;
+        return current == null ? 0 : current.size();
+    }
+}
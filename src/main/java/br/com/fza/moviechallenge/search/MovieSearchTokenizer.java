@@ -0,0 +1,42 @@
+package br.com.fza.moviechallenge.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+final class MovieSearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+            "em", "no", "na", "nos", "nas", "um", "uma", "the", "of", "and");
+
+    private MovieSearchTokenizer() {
+    }
+
+    // Decomposes accented letters and drops the marks, so "Ação" and "acao" share the same term
+    static List<String> tokenize(final String text) {
+        final String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(normalized.split(" "))
+                .filter(term -> !STOP_WORDS.contains(term))
+                .collect(Collectors.toList());
+    }
+
+    // Folded text with every run of separators collapsed into a single space
+    static String normalize(final String text) {
+        if (text == null) {
+            return "";
+        }
+        final String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class MovieSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final Timer suggestTimer;
+
+    // One trie per censure level, so filtering never discards suggestions; null until the first scan finishes
+    private volatile Map<CensureLevel, MovieSuggestTrie> tries;
+    private volatile Map<CensureLevel, MovieSuggestTrie> rebuilding;
+
+    public MovieSuggestIndex(final MovieRepository movieRepository, final MeterRegistry meterRegistry) {
+        this.movieRepository = movieRepository;
+        this.suggestTimer = meterRegistry.timer("movies.suggest.duration");
+        meterRegistry.gauge("movies.suggest.indexed", this, MovieSuggestIndex::size);
+        meterRegistry.gauge("movies.suggest.memory.bytes", this, MovieSuggestIndex::sizeInBytes);
+    }
+
+    public List<Movie> suggest(final String prefix, final CensureLevel censureLevel, final int limit) {
+        final Map<CensureLevel, MovieSuggestTrie> current = this.tries;
+        if (current == null) {
+            throw new MovieSearchUnavailableException("The suggestion index is still being built, try again later");
+        }
+        return this.suggestTimer.record(() -> {
+            final String key = MovieSearchTokenizer.normalize(prefix);
+            if (censureLevel != null) {
+                return current.get(censureLevel).suggest(key, limit).stream()
+                        .map(MovieSuggestion::getMovie)
+                        .collect(Collectors.toList());
+            }
+            return current.values().stream()
+                    .flatMap(trie -> trie.suggest(key, limit).stream())
+                    .sorted(MovieSuggestion.RANKING)
+                    .limit(limit)
+                    .map(MovieSuggestion::getMovie)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @EventListener
+    public void onMovieCreated(final MovieCreatedEvent event) {
+        final Map<CensureLevel, MovieSuggestTrie> current = this.tries;
+        if (current != null) {
+            event.getMovies().forEach(movie -> add(current, movie));
+        }
+        final Map<CensureLevel, MovieSuggestTrie> next = this.rebuilding;
+        if (next != null) {
+            event.getMovies().forEach(movie -> add(next, movie));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movies.suggest.rebuild-interval-millis}")
+    public void rebuild() {
+        final Map<CensureLevel, MovieSuggestTrie> next = new EnumMap<>(CensureLevel.class);
+        for (final CensureLevel censureLevel : CensureLevel.values()) {
+            next.put(censureLevel, new MovieSuggestTrie(MAX_SUGGESTIONS));
+        }
+        // Movies created during the scan go to both tries, so the swap cannot lose them
+        this.rebuilding = next;
+        try (CloseableIterator<Movie> movies = this.movieRepository.streamByIdRange(null, null, SCAN_BATCH_SIZE)) {
+            movies.forEachRemaining(movie -> add(next, movie));
+            this.tries = next;
+            log.info("Movie suggestion index rebuilt with {} movies in {} bytes", count(next), sizeInBytes(next));
+        } catch(final RuntimeException e) {
+            log.error("Could not rebuild the movie suggestion index, keeping the previous one", e);
+        } finally {
+            this.rebuilding = null;
+        }
+    }
+
+    private double size() {
+        final Map<CensureLevel, MovieSuggestTrie> current = this.tries;
+        return current == null ? 0 : count(current);
+    }
+
+    private double sizeInBytes() {
+        final Map<CensureLevel, MovieSuggestTrie> current = this.tries;
+        return current == null ? 0 : sizeInBytes(current);
+    }
+
+    // Only what a suggestion shows is kept, the rest of the movie is left to the collection
+    private static void add(final Map<CensureLevel, MovieSuggestTrie> tries, final Movie movie) {
+        // Legacy documents may lack the censure level, no trie can hold them
+        if (movie.getCensureLevel() == null) {
+            log.warn("Movie {} has no censure level, leaving it out of the suggestion index", movie.getId());
+            return;
+        }
+        final Movie suggestion = Movie.builder()
+                .id(movie.getId())
+                .name(movie.getName())
+                .censureLevel(movie.getCensureLevel())
+                .launchDate(movie.getLaunchDate())
+                .build();
+        tries.get(movie.getCensureLevel()).add(suggestion, popularity(movie));
+    }
+
+    // The catalog keeps no audience data, so the most recent releases are ranked first
+    private static long popularity(final Movie movie) {
+        return movie.getLaunchDate() == null ? Long.MIN_VALUE : movie.getLaunchDate().toEpochDay();
+    }
+
+    private static int count(final Map<CensureLevel, MovieSuggestTrie> tries) {
+        return tries.values().stream().mapToInt(MovieSuggestTrie::size).sum();
+    }
+
+    private static long sizeInBytes(final Map<CensureLevel, MovieSuggestTrie> tries) {
+        return tries.values().stream().mapToLong(MovieSuggestTrie::sizeInBytes).sum();
+    }
+}
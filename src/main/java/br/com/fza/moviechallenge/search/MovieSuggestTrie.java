@@ -0,0 +1,199 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.model.Movie;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Radix trie: chains of single child nodes collapse into one edge, so only branches and title ends hold a node
+class MovieSuggestTrie {
+
+    private final int maxSuggestions;
+    private final Node root = new Node("", Node.NO_CHILDREN, Node.NO_SUGGESTIONS);
+    private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    // Estimated by the writer as nodes change, the suggestions themselves are shared and left out
+    private volatile long sizeInBytes = this.root.sizeInBytes();
+
+    MovieSuggestTrie(final int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    // Writers are serialized, readers walk the copy-on-write nodes without locking
+    synchronized void add(final Movie movie, final long popularity) {
+        if (!this.ids.add(movie.getId())) {
+            return;
+        }
+        final MovieSuggestion suggestion = new MovieSuggestion(MovieSearchTokenizer.normalize(movie.getName()),
+                popularity, movie);
+        final String key = suggestion.getKey();
+        Node node = this.root;
+        int offset = 0;
+        while (offset < key.length()) {
+            final Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                final long before = node.sizeInBytes();
+                final Node leaf = new Node(key.substring(offset), Node.NO_CHILDREN, new MovieSuggestion[]{suggestion});
+                node.put(leaf);
+                this.sizeInBytes += node.sizeInBytes() - before + leaf.sizeInBytes();
+                return;
+            }
+            final int common = child.common(key, offset);
+            if (common < child.label.length()) {
+                this.split(node, child, common, suggestion, key.substring(offset + common));
+                return;
+            }
+            final long childBefore = child.sizeInBytes();
+            child.offer(suggestion, this.maxSuggestions);
+            this.sizeInBytes += child.sizeInBytes() - childBefore;
+            node = child;
+            offset += common;
+        }
+    }
+
+    List<MovieSuggestion> suggest(final String prefix, final int limit) {
+        Node node = this.root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            node = node.child(prefix.charAt(offset));
+            if (node == null) {
+                return List.of();
+            }
+            final int common = node.common(prefix, offset);
+            offset += common;
+            // The prefix may end halfway through an edge, but must not leave it
+            if (offset < prefix.length() && common < node.label.length()) {
+                return List.of();
+            }
+        }
+        final MovieSuggestion[] top = node.top;
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    int size() {
+        return this.ids.size();
+    }
+
+    long sizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    // The edge to child is cut where the key leaves it, readers keep seeing the old child until the branch replaces it
+    private void split(final Node parent, final Node child, final int common, final MovieSuggestion suggestion,
+                       final String rest) {
+        final Node tail = new Node(child.label.substring(common), child.children, child.top);
+        final Node branch = new Node(child.label.substring(0, common), new Node[]{tail}, child.top);
+        branch.offer(suggestion, this.maxSuggestions);
+        long added = tail.sizeInBytes() - child.sizeInBytes();
+        if (!rest.isEmpty()) {
+            final Node leaf = new Node(rest, Node.NO_CHILDREN, new MovieSuggestion[]{suggestion});
+            branch.put(leaf);
+            added += leaf.sizeInBytes();
+        }
+        parent.put(branch);
+        this.sizeInBytes += added + branch.sizeInBytes();
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final MovieSuggestion[] NO_SUGGESTIONS = new MovieSuggestion[0];
+
+        // Header and fields of a node, of a String and of an array, on a 64 bit JVM with compressed references
+        private static final int NODE_BYTES = 24;
+        private static final int STRING_BYTES = 24;
+        private static final int ARRAY_BYTES = 16;
+        private static final int REFERENCE_BYTES = 4;
+
+        private final String label;
+        // Sorted by the first character of their label, replaced as a whole on every new child
+        private volatile Node[] children;
+        // Best suggestions of every title below this node, precomputed so a lookup never walks the subtree
+        private volatile MovieSuggestion[] top;
+
+        private Node(final String label, final Node[] children, final MovieSuggestion[] top) {
+            this.label = label;
+            this.children = children;
+            this.top = top;
+        }
+
+        private Node child(final char key) {
+            final Node[] current = this.children;
+            final int position = position(current, key);
+            return position >= 0 ? current[position] : null;
+        }
+
+        // Adds the child, or replaces the one its label starts like
+        private void put(final Node child) {
+            final Node[] current = this.children;
+            final int position = position(current, child.label.charAt(0));
+            if (position >= 0) {
+                final Node[] next = current.clone();
+                next[position] = child;
+                this.children = next;
+                return;
+            }
+            final int insertion = -position - 1;
+            final Node[] next = new Node[current.length + 1];
+            System.arraycopy(current, 0, next, 0, insertion);
+            next[insertion] = child;
+            System.arraycopy(current, insertion, next, insertion + 1, current.length - insertion);
+            this.children = next;
+        }
+
+        private int common(final String key, final int offset) {
+            final int length = Math.min(this.label.length(), key.length() - offset);
+            int common = 0;
+            while (common < length && this.label.charAt(common) == key.charAt(offset + common)) {
+                common++;
+            }
+            return common;
+        }
+
+        private void offer(final MovieSuggestion suggestion, final int maxSuggestions) {
+            final MovieSuggestion[] current = this.top;
+            final int insertion = -Arrays.binarySearch(current, suggestion, MovieSuggestion.RANKING) - 1;
+            if (insertion >= maxSuggestions) {
+                return;
+            }
+            final MovieSuggestion[] next = new MovieSuggestion[Math.min(current.length + 1, maxSuggestions)];
+            System.arraycopy(current, 0, next, 0, insertion);
+            next[insertion] = suggestion;
+            System.arraycopy(current, insertion, next, insertion + 1, next.length - insertion - 1);
+            this.top = next;
+        }
+
+        private long sizeInBytes() {
+            return NODE_BYTES + STRING_BYTES + align(ARRAY_BYTES + this.label.length())
+                    + arraySizeInBytes(this.children.length) + arraySizeInBytes(this.top.length);
+        }
+
+        // Empty arrays are shared by every node
+        private static long arraySizeInBytes(final int length) {
+            return length == 0 ? 0 : align(ARRAY_BYTES + (long) length * REFERENCE_BYTES);
+        }
+
+        private static long align(final long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+
+        private static int position(final Node[] nodes, final char key) {
+            int low = 0;
+            int high = nodes.length - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final char middleKey = nodes[middle].label.charAt(0);
+                if (middleKey < key) {
+                    low = middle + 1;
+                } else if (middleKey > key) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
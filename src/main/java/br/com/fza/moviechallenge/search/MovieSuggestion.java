@@ -0,0 +1,23 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.model.Movie;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+
+@Getter
+@RequiredArgsConstructor
+class MovieSuggestion {
+
+    static final Comparator<MovieSuggestion> RANKING = Comparator.comparingLong(MovieSuggestion::getPopularity)
+            .reversed()
+            .thenComparing(MovieSuggestion::getKey)
+            .thenComparing(suggestion -> suggestion.getMovie().getId());
+
+    private final String key;
+
+    private final long popularity;
+
+    private final Movie movie;
+}
@@ -2,12 +2,44 @@ package br.com.fza.moviechallenge.service;
 
 import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface MovieService {
 
     Movie createMovie(final Movie movie);
 
+    List<MovieBatchResult> createMovies(List<Movie> movies);
+
     Page<Movie> findAllByCensureLevel(CensureLevel censureLevel, Pageable pageRequest);
+
+    Page<Movie> findAllByCensureLevel(CensureLevel censureLevel, Set<MovieField> fields, Pageable pageRequest);
+
+    Page<Movie> findAllByActor(String actor, Pageable pageRequest);
+
+    Page<Movie> findAllByDirector(String director, Pageable pageRequest);
+
+    Slice<Movie> findSliceByCensureLevel(CensureLevel censureLevel, Pageable pageRequest);
+
+    Slice<Movie> findAllByCensureLevelAfter(CensureLevel censureLevel, String lastId, int size);
+
+    Slice<Movie> findAllByLaunchDateBetween(LocalDate from, LocalDate to, CensureLevel censureLevel, Movie after,
+                                            int size);
+
+    Stream<Movie> streamAllByCensureLevel(CensureLevel censureLevel);
+
+    Page<Movie> searchMovies(String query, Pageable pageRequest);
+
+    List<Movie> suggestMovies(String prefix, CensureLevel censureLevel, int limit);
+
+    MovieStats getStats();
 }
@@ -0,0 +1,46 @@
+package br.com.fza.moviechallenge.service;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.model.MovieField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public interface ReactiveMovieService {
+
+    Mono<Movie> createMovie(final Movie movie);
+
+    Mono<List<MovieBatchResult>> createMovies(List<Movie> movies);
+
+    Mono<Page<Movie>> findAllByCensureLevel(CensureLevel censureLevel, Pageable pageRequest);
+
+    Mono<Page<Movie>> findAllByCensureLevel(CensureLevel censureLevel, Set<MovieField> fields, Pageable pageRequest);
+
+    Mono<Page<Movie>> findAllByActor(String actor, Pageable pageRequest);
+
+    Mono<Page<Movie>> findAllByDirector(String director, Pageable pageRequest);
+
+    Mono<Slice<Movie>> findSliceByCensureLevel(CensureLevel censureLevel, Pageable pageRequest);
+
+    Mono<Slice<Movie>> findAllByCensureLevelAfter(CensureLevel censureLevel, String lastId, int size);
+
+    Mono<Slice<Movie>> findAllByLaunchDateBetween(LocalDate from, LocalDate to, CensureLevel censureLevel,
+                                                  Movie after, int size);
+
+    Flux<Movie> streamAllByCensureLevel(CensureLevel censureLevel);
+
+    Mono<Page<Movie>> searchMovies(String query, Pageable pageRequest);
+
+    Flux<Movie> suggestMovies(String prefix, CensureLevel censureLevel, int limit);
+
+    Mono<MovieStats> getStats();
+}
@@ -0,0 +1,89 @@
+package br.com.fza.moviechallenge.service.impl;
+
+import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Per item outcome of a batch creation, shared by the blocking and the reactive services
+@Slf4j
+class MovieBatch {
+
+    @Getter
+    private final List<MovieBatchResult> results;
+    private final List<MovieBatchResult> candidates = new ArrayList<>();
+
+    MovieBatch(final List<Movie> movies, final Set<String> existingNames) {
+        this.results = new ArrayList<>(movies.size());
+        final Set<String> batchNames = new HashSet<>();
+        for (int index = 0; index < movies.size(); index++) {
+            final Movie movie = movies.get(index);
+            final MovieBatchResult result = MovieBatchResult.builder().index(index).movie(movie).build();
+            if (existingNames.contains(movie.getName()) || !batchNames.add(movie.getName())) {
+                this.reject(result, MovieBatchStatus.DUPLICATED, new DuplicatedMovieException(movie.getName()).getMessage());
+            } else {
+                movie.setId(new ObjectId().toHexString());
+                this.candidates.add(result);
+            }
+            this.results.add(result);
+        }
+    }
+
+    static Set<String> namesOf(final List<Movie> movies) {
+        return movies.stream().map(Movie::getName).collect(Collectors.toSet());
+    }
+
+    boolean hasCandidates() {
+        return !this.candidates.isEmpty();
+    }
+
+    List<Movie> candidates() {
+        return this.candidates.stream().map(MovieBatchResult::getMovie).collect(Collectors.toList());
+    }
+
+    // Errors are indexed by the position of the candidate in the unordered bulk insert
+    void apply(final List<BulkWriteError> writeErrors) {
+        final Map<Integer, BulkWriteError> errors = writeErrors.stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        for (int position = 0; position < this.candidates.size(); position++) {
+            final MovieBatchResult candidate = this.candidates.get(position);
+            final BulkWriteError error = errors.get(position);
+            if (error == null) {
+                candidate.setStatus(MovieBatchStatus.CREATED);
+            } else if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                this.reject(candidate, MovieBatchStatus.DUPLICATED,
+                        new DuplicatedMovieException(candidate.getMovie().getName()).getMessage());
+            } else {
+                this.reject(candidate, MovieBatchStatus.FAILED, error.getMessage());
+            }
+        }
+    }
+
+    List<Movie> created() {
+        return this.results.stream()
+                .filter(result -> result.getStatus() == MovieBatchStatus.CREATED)
+                .map(MovieBatchResult::getMovie)
+                .collect(Collectors.toList());
+    }
+
+    private void reject(final MovieBatchResult result, final MovieBatchStatus status, final String message) {
+        log.error("Movie {} at index {} was not created: {}", result.getMovie().getName(), result.getIndex(), message);
+        result.getMovie().setId(null);
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+}
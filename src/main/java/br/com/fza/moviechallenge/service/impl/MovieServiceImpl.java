@@ -1,51 +1,253 @@
 package br.com.fza.moviechallenge.service.impl;
 
+import br.com.fza.moviechallenge.cache.MovieCatalogStats;
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.cache.MovieNameFilter;
+import br.com.fza.moviechallenge.cache.MoviePageCache;
+import br.com.fza.moviechallenge.cache.MoviePageKey;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
 import br.com.fza.moviechallenge.exception.CouldNotCreateMovieException;
 import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
 import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
 import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
 import br.com.fza.moviechallenge.repository.MovieRepository;
+import br.com.fza.moviechallenge.repository.MovieWriteCoalescer;
+import br.com.fza.moviechallenge.search.MovieSearchIndex;
+import br.com.fza.moviechallenge.search.MovieSuggestIndex;
 import br.com.fza.moviechallenge.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MovieServiceImpl implements MovieService {
 
     private final MovieRepository movieRepository;
+    private final MovieWriteCoalescer movieWriteCoalescer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MoviePageCache moviePageCache;
+    private final MovieGenerationCounter movieGenerationCounter;
+    private final MovieNameFilter movieNameFilter;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieCatalogStats movieCatalogStats;
 
     @Override
     public Movie createMovie(final Movie movie) {
         log.info("Trying to create a new movie: {}", movie.getName());
+        final Movie persistedMovie;
         try {
-            if (movieRepository.existsByName(movie.getName())) {
-                throw new DuplicatedMovieException(movie.getName());
-            }
-            return this.movieRepository.save(movie);
-        } catch (final DuplicatedMovieException e) {
-            log.error(e.getMessage(), e);
-            throw e;
+            persistedMovie = this.movieWriteCoalescer.insert(movie);
+        } catch (final DuplicateKeyException e) {
+            final DuplicatedMovieException duplicatedMovieException = new DuplicatedMovieException(movie.getName());
+            log.error(duplicatedMovieException.getMessage(), e);
+            throw duplicatedMovieException;
         } catch (final Exception e) {
             log.error("Unexpected error creating the movie", e);
             throw new CouldNotCreateMovieException(e.getMessage(), e);
         }
+        this.publishCreated(new MovieCreatedEvent(persistedMovie));
+        return persistedMovie;
+    }
 
+    @Override
+    public List<MovieBatchResult> createMovies(final List<Movie> movies) {
+        log.info("Trying to create a batch of {} movies", movies.size());
+        final MovieBatch batch;
+        try {
+            batch = new MovieBatch(movies, this.movieNameFilter.existingNames(MovieBatch.namesOf(movies),
+                    this.movieRepository::findExistingNames));
+            if (batch.hasCandidates()) {
+                batch.apply(this.movieRepository.insertAll(batch.candidates()));
+            }
+        } catch (final Exception e) {
+            log.error("Unexpected error creating the batch of movies", e);
+            throw new CouldNotCreateMovieException(e.getMessage(), e);
+        }
+        final List<Movie> created = batch.created();
+        if (!created.isEmpty()) {
+            this.publishCreated(new MovieCreatedEvent(created));
+        }
+        return batch.getResults();
     }
 
     @Override
     public Page<Movie> findAllByCensureLevel(final CensureLevel censureLevel, final Pageable pageRequest) {
         log.info("Trying to find all movies by censure level: {}", censureLevel);
         try {
-            return this.movieRepository.findAllByCensureLevel(censureLevel, pageRequest);
+            if (pageRequest.isUnpaged()) {
+                return this.movieRepository.findAllByCensureLevel(censureLevel, pageRequest);
+            }
+            return this.moviePageCache.get(this.buildPageKey(censureLevel, EnumSet.noneOf(MovieField.class), pageRequest),
+                    key -> this.movieRepository.findAllByCensureLevel(censureLevel, pageRequest));
         } catch (final Exception e) {
             log.error("Unexpected error finding movies by censure level: " + censureLevel, e);
             throw new CouldNotFindMoviesException(e.getMessage(), e);
         }
     }
+
+    @Override
+    public Page<Movie> findAllByCensureLevel(final CensureLevel censureLevel, final Set<MovieField> fields,
+                                             final Pageable pageRequest) {
+        log.info("Trying to find all movies by censure level: {} with fields: {}", censureLevel, fields);
+        try {
+            if (pageRequest.isUnpaged()) {
+                return this.movieRepository.findAllByCensureLevel(censureLevel, fields, pageRequest);
+            }
+            return this.moviePageCache.get(this.buildPageKey(censureLevel, fields, pageRequest),
+                    key -> this.movieRepository.findAllByCensureLevel(censureLevel, fields, pageRequest));
+        } catch (final Exception e) {
+            log.error("Unexpected error finding movies by censure level: " + censureLevel + " with fields: " + fields, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Page<Movie> findAllByActor(final String actor, final Pageable pageRequest) {
+        log.info("Trying to find all movies with actor: {}", actor);
+        try {
+            return this.movieRepository.findFilmography(MovieField.CAST, actor, pageRequest);
+        } catch (final Exception e) {
+            log.error("Unexpected error finding movies with actor: " + actor, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Page<Movie> findAllByDirector(final String director, final Pageable pageRequest) {
+        log.info("Trying to find all movies by director: {}", director);
+        try {
+            return this.movieRepository.findFilmography(MovieField.DIRECTOR, director, pageRequest);
+        } catch (final Exception e) {
+            log.error("Unexpected error finding movies by director: " + director, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Slice<Movie> findSliceByCensureLevel(final CensureLevel censureLevel, final Pageable pageRequest) {
+        log.info("Trying to find a slice of movies by censure level: {}", censureLevel);
+        try {
+            return this.movieRepository.findSliceByCensureLevel(censureLevel, pageRequest);
+        } catch (final Exception e) {
+            log.error("Unexpected error finding a slice of movies by censure level: " + censureLevel, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Slice<Movie> findAllByCensureLevelAfter(final CensureLevel censureLevel, final String lastId, final int size) {
+        log.info("Trying to find movies by censure level: {} after id: {}", censureLevel, lastId);
+        try {
+            final Pageable pageRequest = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+            return lastId == null
+                    ? this.movieRepository.findSliceByCensureLevel(censureLevel, pageRequest)
+                    : this.movieRepository.findSliceByCensureLevelAndIdGreaterThan(censureLevel, lastId, pageRequest);
+        } catch (final Exception e) {
+            log.error("Unexpected error finding movies by censure level: " + censureLevel + " after id: " + lastId, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Slice<Movie> findAllByLaunchDateBetween(final LocalDate from, final LocalDate to,
+                                                   final CensureLevel censureLevel, final Movie after,
+                                                   final int size) {
+        log.info("Trying to find movies launched between {} and {} with censure level: {}", from, to, censureLevel);
+        try {
+            return this.movieRepository.findSliceByLaunchDateBetween(from, to, censureLevel, after, size);
+        } catch (final Exception e) {
+            log.error("Unexpected error finding movies launched between " + from + " and " + to, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Stream<Movie> streamAllByCensureLevel(final CensureLevel censureLevel) {
+        log.info("Trying to stream all movies by censure level: {}", censureLevel);
+        try {
+            return this.movieRepository.streamAllByCensureLevel(censureLevel);
+        } catch (final Exception e) {
+            log.error("Unexpected error streaming movies by censure level: " + censureLevel, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Page<Movie> searchMovies(final String query, final Pageable pageRequest) {
+        log.info("Trying to search movies matching: {}", query);
+        try {
+            return this.movieSearchIndex.search(query, pageRequest);
+        } catch (final MovieSearchUnavailableException e) {
+            log.error(e.getMessage(), e);
+            throw e;
+        } catch (final Exception e) {
+            log.error("Unexpected error searching movies matching: " + query, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Movie> suggestMovies(final String prefix, final CensureLevel censureLevel, final int limit) {
+        log.debug("Trying to suggest movies starting with: {}", prefix);
+        try {
+            return this.movieSuggestIndex.suggest(prefix, censureLevel, limit);
+        } catch (final MovieSearchUnavailableException e) {
+            log.error(e.getMessage(), e);
+            throw e;
+        } catch (final Exception e) {
+            log.error("Unexpected error suggesting movies starting with: " + prefix, e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public MovieStats getStats() {
+        log.debug("Trying to get the movie catalog statistics");
+        try {
+            return this.movieCatalogStats.stats();
+        } catch (final MovieStatsUnavailableException e) {
+            log.error(e.getMessage(), e);
+            throw e;
+        } catch (final Exception e) {
+            log.error("Unexpected error getting the movie catalog statistics", e);
+            throw new CouldNotFindMoviesException(e.getMessage(), e);
+        }
+    }
+
+    // The movie is already persisted, a failing listener must not turn it into an error the client would retry
+    private void publishCreated(final MovieCreatedEvent event) {
+        try {
+            this.applicationEventPublisher.publishEvent(event);
+        } catch (final RuntimeException e) {
+            log.error("Could not publish the creation of " + event.getMovies().size() + " movies", e);
+        }
+    }
+
+    private MoviePageKey buildPageKey(final CensureLevel censureLevel, final Set<MovieField> fields,
+                                      final Pageable pageRequest) {
+        return new MoviePageKey(censureLevel, this.movieGenerationCounter.generation(censureLevel),
+                pageRequest, EnumSet.copyOf(fields));
+    }
 }
@@ -0,0 +1,248 @@
+package br.com.fza.moviechallenge.service.impl;
+
+import br.com.fza.moviechallenge.cache.MovieCatalogStats;
+import br.com.fza.moviechallenge.cache.MovieNameFilter;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.CouldNotCreateMovieException;
+import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
+import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.repository.ReactiveMovieRepository;
+import br.com.fza.moviechallenge.search.MovieSearchIndex;
+import br.com.fza.moviechallenge.search.MovieSuggestIndex;
+import br.com.fza.moviechallenge.service.ReactiveMovieService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMovieServiceImpl implements ReactiveMovieService {
+
+    private final ReactiveMovieRepository reactiveMovieRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MovieNameFilter movieNameFilter;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieCatalogStats movieCatalogStats;
+
+    @Override
+    public Mono<Movie> createMovie(final Movie movie) {
+        log.info("Trying to create a new movie: {}", movie.getName());
+        return this.reactiveMovieRepository.insert(movie)
+                .onErrorMap(DuplicateKeyException.class, e -> new DuplicatedMovieException(movie.getName()))
+                .doOnError(DuplicatedMovieException.class, e -> log.error(e.getMessage(), e))
+                .onErrorMap(e -> !(e instanceof DuplicatedMovieException), e -> {
+                    log.error("Unexpected error creating the movie", e);
+                    return new CouldNotCreateMovieException(e.getMessage(), e);
+                })
+                .doOnNext(persistedMovie -> this.publishCreated(new MovieCreatedEvent(persistedMovie)));
+    }
+
+    @Override
+    public Mono<List<MovieBatchResult>> createMovies(final List<Movie> movies) {
+        log.info("Trying to create a batch of {} movies", movies.size());
+        return this.existingNames(MovieBatch.namesOf(movies))
+                .map(existingNames -> new MovieBatch(movies, existingNames))
+                .flatMap(this::insertCandidates)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error creating the batch of movies", e);
+                    return new CouldNotCreateMovieException(e.getMessage(), e);
+                })
+                .doOnNext(batch -> {
+                    final List<Movie> created = batch.created();
+                    if (!created.isEmpty()) {
+                        this.publishCreated(new MovieCreatedEvent(created));
+                    }
+                })
+                .map(MovieBatch::getResults);
+    }
+
+    @Override
+    public Mono<Page<Movie>> findAllByCensureLevel(final CensureLevel censureLevel, final Pageable pageRequest) {
+        log.info("Trying to find all movies by censure level: {}", censureLevel);
+        return this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageRequest)
+                .collectList()
+                .flatMap(movies -> this.toPage(censureLevel, movies, pageRequest))
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies by censure level: " + censureLevel, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Page<Movie>> findAllByCensureLevel(final CensureLevel censureLevel, final Set<MovieField> fields,
+                                                   final Pageable pageRequest) {
+        log.info("Trying to find all movies by censure level: {} with fields: {}", censureLevel, fields);
+        return this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, fields, pageRequest)
+                .collectList()
+                .flatMap(movies -> this.toPage(censureLevel, movies, pageRequest))
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies by censure level: " + censureLevel + " with fields: " + fields, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Page<Movie>> findAllByActor(final String actor, final Pageable pageRequest) {
+        log.info("Trying to find all movies with actor: {}", actor);
+        return this.reactiveMovieRepository.findFilmography(MovieField.CAST, actor, pageRequest)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies with actor: " + actor, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Page<Movie>> findAllByDirector(final String director, final Pageable pageRequest) {
+        log.info("Trying to find all movies by director: {}", director);
+        return this.reactiveMovieRepository.findFilmography(MovieField.DIRECTOR, director, pageRequest)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies by director: " + director, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Slice<Movie>> findSliceByCensureLevel(final CensureLevel censureLevel, final Pageable pageRequest) {
+        log.info("Trying to find a slice of movies by censure level: {}", censureLevel);
+        return this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, null, pageRequest)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding a slice of movies by censure level: " + censureLevel, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Slice<Movie>> findAllByCensureLevelAfter(final CensureLevel censureLevel, final String lastId,
+                                                         final int size) {
+        log.info("Trying to find movies by censure level: {} after id: {}", censureLevel, lastId);
+        return this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, lastId,
+                PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id")))
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies by censure level: " + censureLevel + " after id: " + lastId, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Slice<Movie>> findAllByLaunchDateBetween(final LocalDate from, final LocalDate to,
+                                                         final CensureLevel censureLevel, final Movie after,
+                                                         final int size) {
+        log.info("Trying to find movies launched between {} and {} with censure level: {}", from, to, censureLevel);
+        return this.reactiveMovieRepository.findSliceByLaunchDateBetween(from, to, censureLevel, after, size)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error finding movies launched between " + from + " and " + to, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Flux<Movie> streamAllByCensureLevel(final CensureLevel censureLevel) {
+        log.info("Trying to stream all movies by censure level: {}", censureLevel);
+        return this.reactiveMovieRepository.streamAllByCensureLevel(censureLevel)
+                .onErrorMap(e -> {
+                    log.error("Unexpected error streaming movies by censure level: " + censureLevel, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<Page<Movie>> searchMovies(final String query, final Pageable pageRequest) {
+        log.info("Trying to search movies matching: {}", query);
+        return Mono.fromCallable(() -> this.movieSearchIndex.search(query, pageRequest))
+                .doOnError(MovieSearchUnavailableException.class, e -> log.error(e.getMessage(), e))
+                .onErrorMap(e -> !(e instanceof MovieSearchUnavailableException), e -> {
+                    log.error("Unexpected error searching movies matching: " + query, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Flux<Movie> suggestMovies(final String prefix, final CensureLevel censureLevel, final int limit) {
+        log.debug("Trying to suggest movies starting with: {}", prefix);
+        return Flux.defer(() -> Flux.fromIterable(this.movieSuggestIndex.suggest(prefix, censureLevel, limit)))
+                .doOnError(MovieSearchUnavailableException.class, e -> log.error(e.getMessage(), e))
+                .onErrorMap(e -> !(e instanceof MovieSearchUnavailableException), e -> {
+                    log.error("Unexpected error suggesting movies starting with: " + prefix, e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    @Override
+    public Mono<MovieStats> getStats() {
+        log.debug("Trying to get the movie catalog statistics");
+        return Mono.fromCallable(this.movieCatalogStats::stats)
+                .doOnError(MovieStatsUnavailableException.class, e -> log.error(e.getMessage(), e))
+                .onErrorMap(e -> !(e instanceof MovieStatsUnavailableException), e -> {
+                    log.error("Unexpected error getting the movie catalog statistics", e);
+                    return new CouldNotFindMoviesException(e.getMessage(), e);
+                });
+    }
+
+    private Mono<Page<Movie>> toPage(final CensureLevel censureLevel, final List<Movie> movies,
+                                     final Pageable pageRequest) {
+        if (pageRequest.isUnpaged() || pageRequest.getOffset() == 0 && movies.size() < pageRequest.getPageSize()) {
+            return Mono.just(new PageImpl<>(movies, pageRequest, movies.size()));
+        }
+        if (!movies.isEmpty() && movies.size() < pageRequest.getPageSize()) {
+            return Mono.just(new PageImpl<>(movies, pageRequest, pageRequest.getOffset() + movies.size()));
+        }
+        return this.reactiveMovieRepository.countByCensureLevel(censureLevel)
+                .map(total -> new PageImpl<>(movies, pageRequest, total));
+    }
+
+    // Only the names the filter cannot rule out are looked up, with a single $in query
+    private Mono<Set<String>> existingNames(final Set<String> names) {
+        return Mono.defer(() -> {
+            final Set<String> possibleNames = this.movieNameFilter.possibleNames(names);
+            if (possibleNames.isEmpty()) {
+                return Mono.just(Set.of());
+            }
+            return this.reactiveMovieRepository.findExistingNames(possibleNames).collectList()
+                    .map(foundNames -> this.movieNameFilter.confirm(possibleNames, foundNames));
+        });
+    }
+
+    private Mono<MovieBatch> insertCandidates(final MovieBatch batch) {
+        if (!batch.hasCandidates()) {
+            return Mono.just(batch);
+        }
+        return this.reactiveMovieRepository.insertAll(batch.candidates())
+                .collectList()
+                .doOnNext(batch::apply)
+                .thenReturn(batch);
+    }
+
+    // The movie is already persisted, a failing listener must not turn it into an error the client would retry
+    private void publishCreated(final MovieCreatedEvent event) {
+        try {
+            this.applicationEventPublisher.publishEvent(event);
+        } catch (final RuntimeException e) {
+            log.error("Could not publish the creation of " + event.getMovies().size() + " movies", e);
+        }
+    }
+}
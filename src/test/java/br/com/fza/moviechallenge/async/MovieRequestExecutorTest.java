@@ -0,0 +1,234 @@
+package br.com.fza.moviechallenge.async;
+
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieRequestExecutorTest {
+
+    private static final String OPERATION = "findAllByCensureLevel";
+    private static final String TOKEN = "eyJvcGVyYXRpb25UaW1lIjoxfQ";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieCausalSessions movieCausalSessions;
+
+    private MovieRequestExecutor target;
+
+    @Before
+    public void setUp() throws Exception {
+        this.target = new MovieRequestExecutor(new TaskExecutorAdapter(Runnable::run), 500, 1, meterRegistry,
+                movieCausalSessions);
+        lenient().when(movieCausalSessions.execute(any(), any()))
+                .thenAnswer(invocation -> invocation.<MovieCausalSessions.Operation<?, ?>>getArgument(1).run());
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void submitMustRunTheCallableOnTheMovieExecutorAndRecordTimings() throws Exception {
+        final WebAsyncTask<String> task = target.submit(OPERATION, () -> "movies");
+
+        assertThat(task.getTimeout()).isEqualTo(500);
+        assertThat(task.getExecutor()).isNotNull();
+        assertThat(inFlight()).isEqualTo(1);
+
+        assertThat(task.getCallable().call()).isEqualTo("movies");
+        assertThat(inFlight()).isEqualTo(1);
+
+        complete(task);
+
+        assertThat(inFlight()).isEqualTo(0);
+        assertThat(meterRegistry.get("movies.requests.queue").tag("operation", OPERATION).timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("movies.requests.execution").tag("operation", OPERATION).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void submitMustReleaseThePermitWhenTheCallableFails() throws Exception {
+        final WebAsyncTask<String> task = target.submit(OPERATION, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        final IllegalStateException exception = catchThrowableOfType(() -> task.getCallable().call(),
+                IllegalStateException.class);
+
+        assertThat(exception).hasMessage("boom");
+        complete(task);
+        assertThat(inFlight()).isEqualTo(0);
+        assertThat(target.submit(OPERATION, () -> "movies")).isNotNull();
+    }
+
+    @Test
+    public void submitMustRejectWithServiceUnavailableWhenTooManyRequestsAreInFlight() {
+        target.submit(OPERATION, () -> "movies");
+
+        final ResponseStatusException exception = catchThrowableOfType(
+                () -> target.submit(OPERATION, () -> "movies"), ResponseStatusException.class);
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("movies.requests.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void submitMustAnswerServiceUnavailableWhenTheTaskTimesOut() {
+        final WebAsyncTask<String> task = target.submit(OPERATION, () -> "movies");
+        final CallableProcessingInterceptor interceptor =
+                Objects.requireNonNull(ReflectionTestUtils.invokeMethod(task, "getInterceptor"));
+
+        final ResponseStatusException exception = catchThrowableOfType(
+                () -> interceptor.handleTimeout(null, null), ResponseStatusException.class);
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("movies.requests.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void submitMustReleaseThePermitOnceWhenAQueuedTaskTimesOut() throws Exception {
+        final List<Runnable> queue = new ArrayList<>();
+        final MovieRequestExecutor queueing = new MovieRequestExecutor(new TaskExecutorAdapter(queue::add), 500, 1,
+                new SimpleMeterRegistry(), movieCausalSessions);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        final WebAsyncManager webAsyncManager = WebAsyncUtils.getAsyncManager(request);
+        webAsyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+
+        webAsyncManager.startCallableProcessing(queueing.submit(OPERATION, () -> "movies"));
+        final MockAsyncContext asyncContext = (MockAsyncContext) Objects.requireNonNull(request.getAsyncContext());
+        for (final AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        assertThat(queue).hasSize(1);
+        assertThat(((Future<?>) queue.get(0)).isCancelled()).isTrue();
+        assertThat(webAsyncManager.getConcurrentResult()).isInstanceOf(ResponseStatusException.class);
+        assertThat(queueing.submit(OPERATION, () -> "movies")).isNotNull();
+        assertThat(catchThrowableOfType(() -> queueing.submit(OPERATION, () -> "movies"), ResponseStatusException.class))
+                .isNotNull();
+    }
+
+    @Test
+    public void submitMustReleaseThePermitOnlyOnceWhenTheTaskCompletesTwice() throws Exception {
+        final WebAsyncTask<String> task = target.submit(OPERATION, () -> "movies");
+
+        complete(task);
+        complete(task);
+
+        assertThat(inFlight()).isEqualTo(0);
+        assertThat(target.submit(OPERATION, () -> "movies")).isNotNull();
+        assertThat(catchThrowableOfType(() -> target.submit(OPERATION, () -> "movies"), ResponseStatusException.class))
+                .isNotNull();
+    }
+
+    @Test
+    public void submitMustRunAfterTheCausalTokenOfTheRequestAndAnswerTheLatestOne() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final BsonDocument after = new BsonDocument("operationTime", new BsonTimestamp(1, 1));
+        request.addHeader(MovieRequestExecutor.CAUSAL_TOKEN_HEADER, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        when(movieCausalSessions.parse(TOKEN)).thenReturn(after);
+        when(movieCausalSessions.token()).thenReturn(Optional.of("latest"));
+
+        assertThat(target.submit(OPERATION, () -> "movies").getCallable().call()).isEqualTo("movies");
+
+        verify(movieCausalSessions).execute(eq(after), any());
+        assertThat(response.getHeader(MovieRequestExecutor.CAUSAL_TOKEN_HEADER)).isEqualTo("latest");
+    }
+
+    @Test
+    public void submitMustNotAnswerACausalTokenWhenThereIsNone() throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        when(movieCausalSessions.token()).thenReturn(Optional.empty());
+
+        assertThat(target.submit(OPERATION, () -> "movies").getCallable().call()).isEqualTo("movies");
+
+        verify(movieCausalSessions).execute(isNull(), any());
+        assertThat(response.getHeader(MovieRequestExecutor.CAUSAL_TOKEN_HEADER)).isNull();
+    }
+
+    @Test
+    public void submitMustNotAnswerACausalTokenWithoutAResponse() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertThat(target.submit(OPERATION, () -> "movies").getCallable().call()).isEqualTo("movies");
+
+        verify(movieCausalSessions, never()).token();
+    }
+
+    @Test
+    public void submitMustRejectWithBadRequestWhenTheCausalTokenIsInvalid() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(MovieRequestExecutor.CAUSAL_TOKEN_HEADER, "invalid");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        when(movieCausalSessions.parse("invalid")).thenThrow(new IllegalArgumentException("Invalid causal token: invalid"));
+
+        final ResponseStatusException exception = catchThrowableOfType(
+                () -> target.submit(OPERATION, () -> "movies"), ResponseStatusException.class);
+
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(inFlight()).isEqualTo(0);
+    }
+
+    private void complete(final WebAsyncTask<?> task) throws Exception {
+        final CallableProcessingInterceptor interceptor =
+                Objects.requireNonNull(ReflectionTestUtils.invokeMethod(task, "getInterceptor"));
+        interceptor.afterCompletion(null, null);
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("movies.requests.in.flight").gauge().value();
+    }
+
+}
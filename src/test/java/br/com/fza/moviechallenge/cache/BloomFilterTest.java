@@ -0,0 +1,44 @@
+package br.com.fza.moviechallenge.cache;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+
+    @Test
+    public void bloomFilterMustNeverReturnFalseNegatives() {
+        final BloomFilter target = new BloomFilter(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(index -> target.put("Movie " + index));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(index -> target.mightContain("Movie " + index))).isTrue();
+        assertThat(target.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    public void bloomFilterMustKeepTheFalsePositiveRateNearTheConfiguredProbability() {
+        final BloomFilter target = new BloomFilter(10_000, 0.01);
+
+        IntStream.range(0, 10_000).forEach(index -> target.put("Movie " + index));
+        final long falsePositives = IntStream.range(0, 100_000)
+                .filter(index -> target.mightContain("Unknown " + index))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(target.hashFunctions()).isEqualTo(7);
+        assertThat(target.sizeInBytes()).isBetween(11_000L, 12_100L);
+    }
+
+    @Test
+    public void bloomFilterMustSupportEmptyExpectations() {
+        final BloomFilter target = new BloomFilter(0, 0.01);
+
+        target.put("Titanic");
+
+        assertThat(target.mightContain("Titanic")).isTrue();
+        assertThat(target.hashFunctions()).isPositive();
+    }
+}
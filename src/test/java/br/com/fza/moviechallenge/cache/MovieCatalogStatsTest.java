@@ -0,0 +1,217 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonTimestamp;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieCatalogStatsTest {
+
+    private static final BsonTimestamp SNAPSHOT_TIME = new BsonTimestamp(10, 1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+    @Mock
+    private MovieCausalSessions movieCausalSessions;
+
+    private MovieCatalogStats target;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieCatalogStats(this.movieRepository, this.movieCausalSessions, this.meterRegistry, 60_000);
+        lenient().when(this.movieCausalSessions.snapshot(any()))
+                .thenAnswer(invocation -> invocation.<MovieCausalSessions.Operation<?, ?>>getArgument(0).run());
+        lenient().when(this.movieCausalSessions.snapshotTime()).thenReturn(Optional.of(SNAPSHOT_TIME));
+    }
+
+    @Test(expected = MovieStatsUnavailableException.class)
+    public void statsMustBeRefusedUntilTheFirstReconciliation() {
+        target.onMovieCreated(new MovieCreatedEvent(movie(CensureLevel.CENSURADO)));
+
+        target.stats();
+    }
+
+    @Test
+    public void statsMustStartFromTheAggregationAndCountEachCreatedMovie() {
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO));
+
+        target.reconcile();
+        target.onMovieCreated(new MovieCreatedEvent(movie(CensureLevel.CENSURADO)));
+
+        final MovieStats stats = target.stats();
+
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getByCensureLevel()).contains(entry(CensureLevel.CENSURADO, 3L));
+        assertThat(stats.getByLaunchYear()).containsExactly(entry(2019, 3L));
+        verify(this.movieRepository, never()).findExistingIds(anyList());
+    }
+
+    @Test
+    public void reconcileMustReplayOnlyTheCreationsMissingFromTheAggregatedSnapshot() {
+        final MovieCatalogStats catalogStats = this.target;
+        final Movie aggregated = movie(CensureLevel.CENSURADO);
+        final Movie missing = movie(CensureLevel.SEM_CENSURA);
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(1, CensureLevel.CENSURADO))
+                .thenAnswer(invocation -> {
+                    catalogStats.onMovieCreated(new MovieCreatedEvent(List.of(aggregated, missing)));
+                    return stats(4, CensureLevel.CENSURADO);
+                });
+        when(this.movieRepository.findExistingIds(List.of(aggregated.getId(), missing.getId())))
+                .thenAnswer(invocation -> {
+                    // Handed straight to the next counters, unless the snapshot already holds their commit
+                    catalogStats.onMovieCreated(new MovieCreatedEvent(movie(CensureLevel.SEM_CENSURA)));
+                    catalogStats.onMovieCreated(new MovieCreatedEvent(List.of(movie(CensureLevel.SEM_CENSURA)),
+                            new BsonTimestamp(9, 1)));
+                    catalogStats.onMovieCreated(new MovieCreatedEvent(List.of(movie(CensureLevel.SEM_CENSURA)),
+                            new BsonTimestamp(11, 1)));
+                    return List.of(aggregated.getId());
+                });
+
+        target.reconcile();
+        target.reconcile();
+
+        final MovieStats stats = target.stats();
+
+        assertThat(stats.getTotal()).isEqualTo(7);
+        assertThat(stats.getByCensureLevel())
+                .containsExactly(entry(CensureLevel.CENSURADO, 4L), entry(CensureLevel.SEM_CENSURA, 3L));
+        assertThat(this.meterRegistry.get("movies.stats.drift").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void reconcileMustLookUpTheCreationsInBatches() {
+        final MovieCatalogStats catalogStats = this.target;
+        when(this.movieRepository.aggregateStats())
+                .thenAnswer(invocation -> {
+                    for (int index = 0; index < 1001; index++) {
+                        catalogStats.onMovieCreated(new MovieCreatedEvent(movie(CensureLevel.CENSURADO)));
+                    }
+                    return stats(0, CensureLevel.CENSURADO);
+                });
+        when(this.movieRepository.findExistingIds(anyList()))
+                .thenReturn(List.of());
+
+        target.reconcile();
+
+        assertThat(target.stats().getTotal()).isEqualTo(1001);
+        verify(this.movieRepository).findExistingIds(argThat(ids -> ids.size() == 1000));
+        verify(this.movieRepository).findExistingIds(argThat(ids -> ids.size() == 1));
+    }
+
+    @Test
+    public void onMovieCreatedMustSkipChangesAlreadyCoveredByTheAggregation() {
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO));
+
+        target.reconcile();
+        target.onMovieCreated(new MovieCreatedEvent(List.of(movie(CensureLevel.CENSURADO)), SNAPSHOT_TIME));
+        target.onMovieCreated(new MovieCreatedEvent(List.of(movie(CensureLevel.CENSURADO)), new BsonTimestamp(11, 1)));
+
+        assertThat(target.stats().getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    public void onMovieCreatedMustCountEachMovieOnceWhenItIsDeliveredAgain() {
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO));
+
+        target.reconcile();
+        final Movie movie = movie(CensureLevel.CENSURADO);
+        target.onMovieCreated(new MovieCreatedEvent(movie));
+        target.onMovieCreated(new MovieCreatedEvent(List.of(movie), new BsonTimestamp(11, 1)));
+
+        assertThat(target.stats().getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    public void reconcileMustKeepTheCurrentCountersWhenTheAggregationFails() {
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        target.reconcile();
+        target.reconcile();
+
+        assertThat(target.stats().getTotal()).isEqualTo(2);
+        assertThat(this.meterRegistry.get("movies.stats.drift").gauge().value()).isZero();
+    }
+
+    @Test
+    public void reconcileMustReadTheLatestDataWhenTheSnapshotFails() {
+        doThrow(new DataAccessResourceFailureException("Transaction aborted"))
+                .when(this.movieCausalSessions).snapshot(any());
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO));
+
+        target.reconcile();
+        target.reconcile();
+
+        assertThat(target.stats().getTotal()).isEqualTo(2);
+        verify(this.movieCausalSessions, times(2)).snapshot(any());
+    }
+
+    @Test
+    public void reconcileMustStopReadingSnapshotsOnceOneTakesLongerThanTheLimit() {
+        this.target = new MovieCatalogStats(this.movieRepository, this.movieCausalSessions, this.meterRegistry, 0);
+        when(this.movieRepository.aggregateStats())
+                .thenReturn(stats(2, CensureLevel.CENSURADO), stats(3, CensureLevel.CENSURADO));
+
+        target.reconcile();
+        target.reconcile();
+
+        assertThat(target.stats().getTotal()).isEqualTo(3);
+        verify(this.movieCausalSessions).snapshot(any());
+    }
+
+    private static MovieStats stats(final long total, final CensureLevel censureLevel) {
+        return MovieStats.builder()
+                .total(total)
+                .byCensureLevel(Map.of(censureLevel, total))
+                .byLaunchYear(Map.of(2019, total))
+                .byDirector(Map.of())
+                .build();
+    }
+
+    private static Movie movie(final CensureLevel censureLevel) {
+        return Movie.builder()
+                .id(new ObjectId().toHexString())
+                .censureLevel(censureLevel)
+                .launchDate(LocalDate.of(2019, 8, 29))
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Test;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieGenerationCounterTest extends BaseTest {
+
+    private final MovieGenerationCounter target = new MovieGenerationCounter();
+
+    @Test
+    public void onMovieCreatedMustBumpOnlyTheCensureLevelOfTheMovie() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+        final String censuradoVersion = target.version(CensureLevel.CENSURADO);
+        final String semCensuraVersion = target.version(CensureLevel.SEM_CENSURA);
+
+        target.onMovieCreated(new MovieCreatedEvent(movie));
+
+        assertThat(target.generation(CensureLevel.CENSURADO)).isEqualTo(1);
+        assertThat(target.generation(CensureLevel.SEM_CENSURA)).isEqualTo(0);
+        assertThat(target.version(CensureLevel.CENSURADO)).isNotEqualTo(censuradoVersion);
+        assertThat(target.version(CensureLevel.SEM_CENSURA)).isEqualTo(semCensuraVersion);
+    }
+
+    @Test
+    public void versionMustBeStableWhileNothingIsWritten() {
+        assertThat(target.version(CensureLevel.CENSURADO)).isEqualTo(target.version(CensureLevel.CENSURADO));
+        assertThat(target.version(CensureLevel.CENSURADO)).endsWith(".0");
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieNameFilterTest extends BaseTest {
+
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+    @Mock
+    private Function<Set<String>, java.util.Collection<String>> lookup;
+
+    private MovieNameFilter target;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieNameFilter(this.movieRepository, this.meterRegistry, 1000, 0.01);
+    }
+
+    @Test
+    public void mightContainMustAnswerTrueUntilTheFirstRebuild() {
+        assertThat(target.mightContain("Titanic")).isTrue();
+        assertThat(this.gauge("movies.names.filter.memory.bytes")).isZero();
+    }
+
+    @Test
+    public void rebuildMustLoadEveryExistingNameFromTheProjectedScan() {
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of(this.movieNamed("Titanic"), this.movieNamed("Avatar"))));
+
+        target.rebuild();
+
+        assertThat(target.mightContain("Titanic")).isTrue();
+        assertThat(target.mightContain("Avatar")).isTrue();
+        assertThat(target.mightContain("Alien")).isFalse();
+        assertThat(this.gauge("movies.names.filter.memory.bytes")).isPositive();
+    }
+
+    @Test
+    public void onMovieCreatedMustAddTheNameToTheFilter() {
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of()));
+
+        target.onMovieCreated(new MovieCreatedEvent(this.movieNamed("Lost")));
+        target.rebuild();
+        target.onMovieCreated(new MovieCreatedEvent(this.movieNamed("Titanic")));
+
+        assertThat(target.mightContain("Titanic")).isTrue();
+        assertThat(target.mightContain("Lost")).isFalse();
+    }
+
+    @Test
+    public void rebuildMustKeepTheNamesCreatedDuringTheScan() {
+        final MovieNameFilter filter = this.target;
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of(this.movieNamed("Titanic"))))
+                .thenAnswer(invocation -> {
+                    filter.onMovieCreated(new MovieCreatedEvent(this.movieNamed("Avatar")));
+                    return closeableIterator(List.of(this.movieNamed("Titanic")));
+                });
+
+        target.rebuild();
+        target.rebuild();
+
+        assertThat(target.mightContain("Avatar")).isTrue();
+    }
+
+    @Test
+    public void rebuildMustKeepThePreviousFilterWhenTheScanFails() {
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of(this.movieNamed("Titanic"))))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        target.rebuild();
+        target.rebuild();
+
+        assertThat(target.mightContain("Titanic")).isTrue();
+        assertThat(target.mightContain("Alien")).isFalse();
+    }
+
+    @Test
+    public void existingNamesMustLookUpOnlyTheNamesThatMightExist() {
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of(this.movieNamed("Titanic"), this.movieNamed("Avatar"))));
+        when(this.lookup.apply(Set.of("Titanic", "Avatar")))
+                .thenReturn(List.of("Titanic"));
+
+        target.rebuild();
+        final Set<String> result = target.existingNames(Set.of("Titanic", "Avatar", "Alien", "Lost"), this.lookup);
+
+        assertThat(result).containsExactly("Titanic");
+        assertThat(this.lookups("skipped")).isEqualTo(2);
+        assertThat(this.lookups("confirmed")).isEqualTo(1);
+        assertThat(this.lookups("false_positive")).isEqualTo(1);
+        assertThat(this.gauge("movies.names.filter.false.positive.rate")).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    public void existingNamesMustSkipTheLookupWhenNoNameMightExist() {
+        when(this.movieRepository.streamNames(1000))
+                .thenReturn(closeableIterator(List.of()));
+
+        target.rebuild();
+        final Set<String> result = target.existingNames(Set.of("Alien"), this.lookup);
+
+        assertThat(result).isEmpty();
+        assertThat(this.gauge("movies.names.filter.false.positive.rate")).isZero();
+        verify(this.lookup, never()).apply(any());
+    }
+
+    @Test
+    public void falsePositiveRateMustBeZeroBeforeAnyLookup() {
+        assertThat(this.gauge("movies.names.filter.false.positive.rate")).isZero();
+    }
+
+    private double lookups(final String result) {
+        return this.meterRegistry.get("movies.names.filter.lookups").tag("result", result).counter().count();
+    }
+
+    private double gauge(final String name) {
+        return this.meterRegistry.get(name).gauge().value();
+    }
+
+    private Movie movieNamed(final String name) {
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+        movie.setName(name);
+        return movie;
+    }
+
+    private static CloseableIterator<Movie> closeableIterator(final List<Movie> movies) {
+        final Iterator<Movie> iterator = movies.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Movie next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
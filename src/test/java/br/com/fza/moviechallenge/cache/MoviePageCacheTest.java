@@ -0,0 +1,106 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MoviePageCacheTest extends BaseTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MovieCausalSessions movieCausalSessions = mock(MovieCausalSessions.class);
+
+    private final MoviePageCache target = new MoviePageCache(1000, 60, meterRegistry, movieCausalSessions);
+
+    @Test
+    public void getMustLoadOnlyOnceForTheSameKey() {
+        final MoviePageKey key = buildKey(CensureLevel.CENSURADO);
+        final Page<Movie> page = new PageImpl<>(from(Movie.class).gimme(1, "persistedCensurado"));
+        final AtomicInteger loads = new AtomicInteger();
+
+        target.get(key, k -> {
+            loads.incrementAndGet();
+            return page;
+        });
+        final Page<Movie> result = target.get(key, k -> {
+            loads.incrementAndGet();
+            return page;
+        });
+
+        assertThat(result).isSameAs(page);
+        assertThat(loads.get()).isEqualTo(1);
+        verify(movieCausalSessions).catchUp();
+        assertThat(meterRegistry.find("cache.size").tag("cache", MoviePageCache.CACHE_NAME).gauge()).isNotNull();
+    }
+
+    @Test
+    public void onMovieCreatedMustInvalidateOnlyPagesOfTheMovieCensureLevel() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+        final MoviePageKey censuradoKey = buildKey(CensureLevel.CENSURADO);
+        final MoviePageKey semCensuraKey = buildKey(CensureLevel.SEM_CENSURA);
+        final AtomicInteger loads = new AtomicInteger();
+
+        target.get(censuradoKey, k -> new PageImpl<>(List.of(movie)));
+        target.get(semCensuraKey, k -> new PageImpl<>(List.of()));
+
+        target.onMovieCreated(new MovieCreatedEvent(movie));
+
+        target.get(censuradoKey, k -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(movie));
+        });
+        target.get(semCensuraKey, k -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void onMovieCreatedMustInvalidateEveryCensureLevelOfABatch() {
+        final Movie censurado = from(Movie.class).gimme("persistedCensurado");
+        final Movie semCensura = from(Movie.class).gimme("persistedSemCensura");
+        final MoviePageKey censuradoKey = buildKey(CensureLevel.CENSURADO);
+        final MoviePageKey semCensuraKey = buildKey(CensureLevel.SEM_CENSURA);
+        final AtomicInteger loads = new AtomicInteger();
+
+        target.get(censuradoKey, k -> new PageImpl<>(List.of(censurado)));
+        target.get(semCensuraKey, k -> new PageImpl<>(List.of(semCensura)));
+
+        target.onMovieCreated(new MovieCreatedEvent(List.of(censurado, semCensura, censurado)));
+
+        target.get(censuradoKey, k -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(censurado));
+        });
+        target.get(semCensuraKey, k -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(semCensura));
+        });
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private MoviePageKey buildKey(final CensureLevel censureLevel) {
+        return new MoviePageKey(censureLevel, 0, PageRequest.of(0, 10), EnumSet.noneOf(MovieField.class));
+    }
+}
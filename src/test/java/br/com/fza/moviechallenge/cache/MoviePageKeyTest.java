@@ -0,0 +1,39 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.MovieField;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MoviePageKeyTest {
+
+    private final MoviePageKey target = new MoviePageKey(CensureLevel.CENSURADO, 7L, PageRequest.of(0, 10),
+            EnumSet.of(MovieField.NAME));
+
+    @Test
+    public void equalsMustMatchKeysOfTheSamePage() {
+        final MoviePageKey samePage = new MoviePageKey(CensureLevel.CENSURADO, 7L, PageRequest.of(0, 10),
+                EnumSet.of(MovieField.NAME));
+
+        assertThat(target).isEqualTo(samePage);
+        assertThat(target).hasSameHashCodeAs(samePage);
+    }
+
+    @Test
+    public void equalsMustTellApartKeysOfAnotherPage() {
+        assertThat(target).isNotEqualTo("movies");
+        assertThat(target).isNotEqualTo(new MoviePageKey(CensureLevel.SEM_CENSURA, 7L, PageRequest.of(0, 10),
+                EnumSet.of(MovieField.NAME)));
+        assertThat(target).isNotEqualTo(new MoviePageKey(CensureLevel.CENSURADO, 8L, PageRequest.of(0, 10),
+                EnumSet.of(MovieField.NAME)));
+        assertThat(target).isNotEqualTo(new MoviePageKey(CensureLevel.CENSURADO, 7L, PageRequest.of(1, 10),
+                EnumSet.of(MovieField.NAME)));
+        assertThat(target).isNotEqualTo(new MoviePageKey(CensureLevel.CENSURADO, 7L, PageRequest.of(0, 10),
+                EnumSet.noneOf(MovieField.class)));
+    }
+
+}
@@ -0,0 +1,98 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MovieResponseCacheTest extends BaseTest {
+
+    private static final byte[] JSON = "{\"content\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private final MovieCausalSessions movieCausalSessions = mock(MovieCausalSessions.class);
+
+    private final MovieResponseCache target = new MovieResponseCache(1024 * 1024, 60, new SimpleMeterRegistry(), movieCausalSessions);
+
+    @Test
+    public void ofMustKeepJsonAndItsGzipCopy() throws IOException {
+        final MovieResponseBody body = MovieResponseBody.of(outputStream -> outputStream.write(JSON));
+
+        assertThat(body.getJson()).isEqualTo(JSON);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body.getGzip()))) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(JSON);
+        }
+        assertThat(body.weight()).isEqualTo(body.getJson().length + body.getGzip().length);
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void ofMustThrowExceptionWhenSerializationFails() {
+        MovieResponseBody.of(outputStream -> {
+            throw new IOException("Some IO Exception");
+        });
+    }
+
+    @Test
+    public void getMustSerializeOnlyOnceForTheSameKey() {
+        final MoviePageKey key = buildKey(CensureLevel.CENSURADO);
+        final AtomicInteger loads = new AtomicInteger();
+
+        target.get(key, k -> {
+            loads.incrementAndGet();
+            return MovieResponseBody.of(outputStream -> outputStream.write(JSON));
+        });
+        final MovieResponseBody result = target.get(key, k -> {
+            loads.incrementAndGet();
+            return MovieResponseBody.of(outputStream -> outputStream.write(JSON));
+        });
+
+        assertThat(result.getJson()).isEqualTo(JSON);
+        assertThat(loads.get()).isEqualTo(1);
+        verify(movieCausalSessions).catchUp();
+    }
+
+    @Test
+    public void onMovieCreatedMustInvalidateOnlyResponsesOfTheMovieCensureLevel() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+        final MoviePageKey censuradoKey = buildKey(CensureLevel.CENSURADO);
+        final MoviePageKey semCensuraKey = buildKey(CensureLevel.SEM_CENSURA);
+        final AtomicInteger loads = new AtomicInteger();
+
+        target.get(censuradoKey, k -> MovieResponseBody.of(outputStream -> outputStream.write(JSON)));
+        target.get(semCensuraKey, k -> MovieResponseBody.of(outputStream -> outputStream.write(JSON)));
+
+        target.onMovieCreated(new MovieCreatedEvent(movie));
+
+        target.get(censuradoKey, k -> {
+            loads.incrementAndGet();
+            return MovieResponseBody.of(outputStream -> outputStream.write(JSON));
+        });
+        target.get(semCensuraKey, k -> {
+            loads.incrementAndGet();
+            return MovieResponseBody.of(outputStream -> outputStream.write(JSON));
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private MoviePageKey buildKey(final CensureLevel censureLevel) {
+        return new MoviePageKey(censureLevel, 0, PageRequest.of(0, 10), EnumSet.noneOf(MovieField.class));
+    }
+}
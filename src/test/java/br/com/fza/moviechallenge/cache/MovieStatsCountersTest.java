@@ -0,0 +1,94 @@
+package br.com.fza.moviechallenge.cache;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieStats;
+import org.bson.BsonTimestamp;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class MovieStatsCountersTest {
+
+    private final BsonTimestamp boundary = new BsonTimestamp(10, 1);
+
+    private final MovieStatsCounters target = new MovieStatsCounters(boundary);
+
+    @Test
+    public void coversMustIncludeEveryClusterTimeUpToTheBoundary() {
+        assertThat(target.covers(new BsonTimestamp(9, 1))).isTrue();
+        assertThat(target.covers(boundary)).isTrue();
+        assertThat(target.covers(new BsonTimestamp(10, 2))).isFalse();
+        assertThat(target.covers(null)).isFalse();
+        assertThat(new MovieStatsCounters(null).covers(boundary)).isFalse();
+    }
+
+    @Test
+    public void snapshotMustCountEveryMovieByCensureLevelLaunchYearAndDirector() {
+        target.add(movie(CensureLevel.CENSURADO, 1997, "James Cameron"));
+        target.add(movie(CensureLevel.CENSURADO, 2009, "James Cameron"));
+        target.add(movie(CensureLevel.SEM_CENSURA, 1997, "Kleber Mendonça Filho"));
+        target.add(Movie.builder().build());
+
+        final MovieStats stats = target.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(target.total()).isEqualTo(4);
+        assertThat(stats.getByCensureLevel())
+                .containsExactly(entry(CensureLevel.CENSURADO, 2L), entry(CensureLevel.SEM_CENSURA, 1L));
+        assertThat(stats.getByLaunchYear()).containsExactly(entry(1997, 2L), entry(2009, 1L));
+        assertThat(stats.getByDirector())
+                .containsExactly(entry("James Cameron", 2L), entry("Kleber Mendonça Filho", 1L));
+    }
+
+    @Test
+    public void addMustSumAnAggregatedSnapshot() {
+        target.add(movie(CensureLevel.CENSURADO, 1997, "James Cameron"));
+        target.add(MovieStats.builder()
+                .total(3)
+                .byCensureLevel(Map.of(CensureLevel.CENSURADO, 1L, CensureLevel.SEM_CENSURA, 2L))
+                .byLaunchYear(Map.of(1997, 1L, 2019, 2L))
+                .byDirector(Map.of("James Cameron", 1L, "Kleber Mendonça Filho", 2L))
+                .build());
+
+        final MovieStats stats = target.snapshot();
+
+        assertThat(stats.getTotal()).isEqualTo(4);
+        assertThat(stats.getByCensureLevel())
+                .containsExactly(entry(CensureLevel.CENSURADO, 2L), entry(CensureLevel.SEM_CENSURA, 2L));
+        assertThat(stats.getByLaunchYear()).containsExactly(entry(1997, 2L), entry(2019, 2L));
+        assertThat(stats.getByDirector())
+                .containsExactly(entry("James Cameron", 2L), entry("Kleber Mendonça Filho", 2L));
+    }
+
+    @Test
+    public void snapshotMustFollowTheCountersWithoutBeingRebuilt() {
+        target.add(movie(CensureLevel.CENSURADO, 1997, "James Cameron"));
+
+        final MovieStats first = target.snapshot();
+
+        target.add(movie(CensureLevel.CENSURADO, 2009, "James Cameron"));
+
+        assertThat(first.getTotal()).isEqualTo(1);
+        assertThat(first.getByDirector()).containsExactly(entry("James Cameron", 2L));
+        assertThat(first.getByLaunchYear()).containsExactly(entry(1997, 1L), entry(2009, 1L));
+        assertThat(target.snapshot().getTotal()).isEqualTo(2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotMustNotLetTheCountsBeChanged() {
+        target.snapshot().getByDirector().put("James Cameron", 1L);
+    }
+
+    private static Movie movie(final CensureLevel censureLevel, final int year, final String director) {
+        return Movie.builder()
+                .censureLevel(censureLevel)
+                .launchDate(LocalDate.of(year, 1, 1))
+                .director(director)
+                .build();
+    }
+}
@@ -1,44 +1,96 @@
 package br.com.fza.moviechallenge.controller;
 
 import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.async.MovieRequestExecutor;
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.cache.MoviePageKey;
+import br.com.fza.moviechallenge.cache.MovieResponseBody;
+import br.com.fza.moviechallenge.cache.MovieResponseCache;
+import br.com.fza.moviechallenge.controller.request.MovieBatchRequest;
 import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.response.MovieBatchItemResponse;
 import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieBatchResultTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieCursorTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieReleaseCursorTransformer;
 import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieSortTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieStatsTransformer;
 import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
 import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
 import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.metrics.MovieStageMetrics;
 import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
 import br.com.fza.moviechallenge.service.MovieService;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultHandler;
+import org.springframework.test.web.servlet.ResultMatcher;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
 import static br.com.six2six.fixturefactory.Fixture.from;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(MovieController.class)
+@Import(MovieControllerSupport.class)
 @AutoConfigureMockMvc
 public class MovieControllerTest extends BaseTest {
 
@@ -55,10 +107,23 @@ public class MovieControllerTest extends BaseTest {
     public static final String NUMBER_OF_ELEMENTS = "$.numberOfElements";
     public static final String TOTAL_PAGES = "$.totalPages";
     public static final String CENSURE_LEVEL = "censureLevel";
+    public static final String CURSOR = "cursor";
+    public static final String NEXT = "$.next";
+    public static final String SLICE = "slice";
+    public static final String PAGE = "$.page";
+    public static final String HAS_NEXT = "$.hasNext";
+    public static final String BATCH = "batch";
+    public static final String SEARCH = "search";
+    public static final String RELEASES = "releases";
+    public static final String SUGGEST = "suggest";
+    public static final String STATS = "stats";
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
+    private MovieControllerSupport movieControllerSupport;
+
+    @SpyBean
     private ObjectMapper objectMapper;
 
     @MockBean
@@ -67,6 +132,38 @@ public class MovieControllerTest extends BaseTest {
     private MovieRequestTransformer movieRequestTransformer;
     @MockBean
     private MovieTransformer movieTransformer;
+    @MockBean
+    private MovieCursorTransformer movieCursorTransformer;
+    @MockBean
+    private MovieReleaseCursorTransformer movieReleaseCursorTransformer;
+    @SpyBean
+    private MovieSortTransformer movieSortTransformer;
+    @SpyBean
+    private MovieStatsTransformer movieStatsTransformer;
+    @MockBean
+    private MovieBatchResultTransformer movieBatchResultTransformer;
+    @MockBean
+    private MovieGenerationCounter movieGenerationCounter;
+    @MockBean
+    private MovieResponseCache movieResponseCache;
+    @MockBean
+    private MovieRequestExecutor movieRequestExecutor;
+    @MockBean
+    private MovieStageMetrics movieStageMetrics;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Throwable {
+        when(this.movieResponseCache.get(any(MoviePageKey.class), any(Function.class)))
+                .thenAnswer(invocation -> invocation.<Function<MoviePageKey, MovieResponseBody>>getArgument(1)
+                        .apply(invocation.getArgument(0)));
+        // The task runs inline so the request thread never races a task thread over the mocks
+        when(this.movieRequestExecutor.submit(anyString(), anyCallable()))
+                .thenAnswer(invocation -> new WebAsyncTask<>(null, new TaskExecutorAdapter(Runnable::run),
+                        invocation.<Callable<Object>>getArgument(1)));
+        when(this.movieStageMetrics.time(anyString(), anyString(), any(MovieStageMetrics.Operation.class)))
+                .thenAnswer(invocation -> invocation.<MovieStageMetrics.Operation<?, ?>>getArgument(2).run());
+    }
 
     @Test
     public void findAllByCensureLevelMustReturnMoviesUnPaged() throws Exception {
@@ -84,222 +181,1277 @@ public class MovieControllerTest extends BaseTest {
                 .thenReturn(movieResponse)
                 .thenReturn(movieResponse);
 
-        this.mockMvc.perform(
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(true))
+                .andExpect(jsonPath(LAST).value(true))
+                .andExpect(jsonPath(NUMBER).value(0))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
+                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesUnPagedWithPageZero() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse)
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param("page", "0")
+                        .param("size", "10")
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(true))
+                .andExpect(jsonPath(LAST).value(true))
+                .andExpect(jsonPath(NUMBER).value(0))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
+                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesUnPagedWithSizeZero() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse)
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param("page", "10")
+                        .param("size", "0")
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(true))
+                .andExpect(jsonPath(LAST).value(true))
+                .andExpect(jsonPath(NUMBER).value(0))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
+                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesFirstPageOfOnePage() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2);
+
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse)
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(true))
+                .andExpect(jsonPath(LAST).value(true))
+                .andExpect(jsonPath(NUMBER).value(0))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
+                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesFirstPageOfTwoPages() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(true))
+                .andExpect(jsonPath(LAST).value(false))
+                .andExpect(jsonPath(NUMBER).value(0))
+                .andExpect(jsonPath(SIZE).value(1))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(1))
+                .andExpect(jsonPath(TOTAL_PAGES).value(2));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesSecondPageOfTwoPages() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 1);
+
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "2")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
+                .andExpect(jsonPath(FIRST).value(false))
+                .andExpect(jsonPath(LAST).value(true))
+                .andExpect(jsonPath(NUMBER).value(1))
+                .andExpect(jsonPath(SIZE).value(1))
+                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(1))
+                .andExpect(jsonPath(TOTAL_PAGES).value(2));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 10);
+
+        final Throwable throwable = new CouldNotFindMoviesException("Could not find movies for some reason", null);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenThrow(throwable);
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        final String errorMessage = mvcResult.getResponse().getErrorMessage();
+
+        assertThat(errorMessage)
+                .startsWith("Error finding all movies");
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustSendETagAndCacheControl() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2);
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.3");
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"k5x2.3-0-1-2\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustSendMaxAgeWhenConfigured() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        ReflectionTestUtils.setField(this.movieControllerSupport, "cacheMaxAgeSeconds", 60L);
+        try {
+            this.perform(
+                    MockMvcRequestBuilders
+                            .get("/" + MOVIES)
+                            .param(CENSURE_LEVEL, censureLevel.toString())
+                            .accept(MediaType.APPLICATION_JSON_UTF8)
+            )
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate"));
+        } finally {
+            ReflectionTestUtils.setField(this.movieControllerSupport, "cacheMaxAgeSeconds", 0L);
+        }
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnNotModifiedWithoutQueryingWhenETagMatches() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.3");
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("fields", "name")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"k5x2.3-1-1-2-1\"")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"k5x2.3-1-1-2-1\""))
+                .andExpect(content().string(""));
+
+        verifyZeroInteractions(this.movieService, this.movieTransformer);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustQueryAgainWhenGenerationChanged() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.4");
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"k5x2.3-0-0-0\"")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"k5x2.4-0-0-0\""));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustProjectRequestedFields() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Movie movie = Movie.builder()
+                .id("5e2cc9e6ec7aef3c7d38a84c")
+                .name("Titanic Censurado")
+                .censureLevel(censureLevel)
+                .build();
+        final MovieResponse movieResponse = MovieResponse.builder()
+                .id(movie.getId())
+                .name(movie.getName())
+                .censureLevel(movie.getCensureLevel())
+                .build();
+
+        when(this.movieService.findAllByCensureLevel(censureLevel,
+                EnumSet.of(MovieField.ID, MovieField.NAME, MovieField.CENSURE_LEVEL), pageable))
+                .thenReturn(new PageImpl<>(List.of(movie), pageable, 1));
+
+        when(this.movieTransformer.transform(movie))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("fields", "id,name,censureLevel")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value(movie.getName()))
+                .andExpect(jsonPath("$.content[0].cast").doesNotExist())
+                .andExpect(jsonPath("$.content[0].director").doesNotExist());
+
+        verify(this.movieService, never()).findAllByCensureLevel(any(CensureLevel.class), any(Pageable.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustRequestTheSortedPage() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "launchDate", "id"));
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "launchDate,desc")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("-launchDate.DESC-id.DESC")));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnBadRequestWithFieldOutsideTheSortAllowList() throws Exception {
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("sort", "cast")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .contains("Allowed Values: name, launchDate, director");
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnBadRequestWhenSortingWithoutPaging() throws Exception {
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("sort", "name")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage()).isEqualTo("Sort requires page and size");
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("page", "1")
+                        .param("sort", "name")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnBadRequestWithUnknownField() throws Exception {
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("fields", "name,budget")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Unknown movie field 'budget'");
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustWritePrecompressedBodyWhenClientAcceptsGzip() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 1));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        for (final String acceptEncoding : List.of("gzip", "deflate, gzip;q=0.8")) {
+            final MvcResult mvcResult = this.perform(
+                    MockMvcRequestBuilders
+                            .get("/" + MOVIES)
+                            .param(CENSURE_LEVEL, censureLevel.toString())
+                            .param("page", "1")
+                            .param("size", "1")
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                            .accept(MediaType.APPLICATION_JSON_UTF8)
+            )
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                    .andReturn();
+
+            try (GZIPInputStream inputStream = new GZIPInputStream(
+                    new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+                assertThat(this.objectMapper.readTree(inputStream).at("/content/0/name").asText())
+                        .isEqualTo(movieResponse.getName());
+            }
+        }
+    }
+
+    @Test
+    public void findAllByCensureLevelMustWritePlainBodyWhenClientRefusesGzip() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        for (final String acceptEncoding : List.of("br", "br, gzip;q=0")) {
+            this.perform(
+                    MockMvcRequestBuilders
+                            .get("/" + MOVIES)
+                            .param(CENSURE_LEVEL, censureLevel.toString())
+                            .param("page", "1")
+                            .param("size", "1")
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                            .accept(MediaType.APPLICATION_JSON_UTF8)
+            )
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                    .andExpect(jsonPath(CONTENT).value(hasSize(0)));
+        }
+    }
+
+    @Test
+    public void findAllByCensureLevelMustServeCachedBodyWithoutQuerying() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+
+        when(this.movieGenerationCounter.generation(censureLevel))
+                .thenReturn(7L);
+
+        when(this.movieResponseCache.get(eq(new MoviePageKey(censureLevel, 7L, PageRequest.of(1, 5),
+                EnumSet.noneOf(MovieField.class))), any()))
+                .thenReturn(MovieResponseBody.of(outputStream -> outputStream.write("{\"content\":[]}".getBytes())));
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "2")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
+                .andExpect(content().string("{\"content\":[]}"));
+
+        verifyZeroInteractions(this.movieService, this.movieTransformer);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnErrorMessageWhenSerializationFails() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2);
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        doThrow(new JsonMappingException(null, "Some Serialization Exception"))
+                .when(this.objectMapper).writeValue(any(OutputStream.class), any());
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "1")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error finding all movies");
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustWriteOneMoviePerLine() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.streamAllByCensureLevel(censureLevel))
+                .thenReturn(movies.stream());
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        final MvcResult mvcResult = this.mockMvc.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MovieController.APPLICATION_NDJSON_VALUE)
+        )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvcResult.getAsyncResult();
+
+        final String line = objectMapper.writeValueAsString(movieResponse);
+        this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().contentType(MovieController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.movieService.streamAllByCensureLevel(censureLevel))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.mockMvc.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MovieController.APPLICATION_NDJSON_VALUE)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error streaming all movies");
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustKeepJsonPageAsDefaultRepresentation() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+
+        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(0)));
+
+        verify(this.movieService, never()).streamAllByCensureLevel(any(CensureLevel.class));
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnCompactEnvelope() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findSliceByCensureLevel(censureLevel, pageable))
+                .thenReturn(new SliceImpl<>(movies, pageable, true));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SLICE)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("page", "2")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(PAGE).value(2))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(HAS_NEXT).value(true))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).doesNotExist())
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnBadRequestWithInvalidPageOrSize() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SLICE)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("page", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SLICE)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verify(this.movieService, never()).findSliceByCensureLevel(any(CensureLevel.class), any(Pageable.class));
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.movieService.findSliceByCensureLevel(censureLevel, PageRequest.of(0, 20)))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SLICE)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error finding a slice of movies");
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnFirstPageAndNextCursor() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByCensureLevelAfter(censureLevel, null, 2))
+                .thenReturn(new SliceImpl<>(movies, PageRequest.of(0, 2), true));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        when(this.movieCursorTransformer.transform(movies.get(1)))
+                .thenReturn("next-cursor");
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NEXT).value("next-cursor"));
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnLastPageWithoutNextCursor() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieCursorTransformer.decode("some-cursor"))
+                .thenReturn(lastId);
+
+        when(this.movieService.findAllByCensureLevelAfter(censureLevel, lastId, 20))
+                .thenReturn(new SliceImpl<>(movies, PageRequest.of(0, 20), false));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param(CURSOR, "some-cursor")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
+                .andExpect(jsonPath(SIZE).value(1))
+                .andExpect(jsonPath(NEXT).doesNotExist());
+
+        verify(this.movieCursorTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnBadRequestWithInvalidCursor() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.movieCursorTransformer.decode("invalid"))
+                .thenThrow(new CouldNotTransformException("Could not Convert Cursor to Movie id", null));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .param(CURSOR, "invalid")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Invalid cursor: invalid");
+        verify(this.movieService, never()).findAllByCensureLevelAfter(any(CensureLevel.class), any(), anyInt());
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnBadRequestWithSizeOutOfRange() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("size", "1001")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verify(this.movieService, never()).findAllByCensureLevelAfter(any(CensureLevel.class), any(), anyInt());
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.movieService.findAllByCensureLevelAfter(censureLevel, null, 20))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + CURSOR)
+                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error finding movies with cursor");
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void findAllByActorMustReturnTheFilmographyPage() throws Exception {
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByActor("Wagner Moura", pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 5));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/actors/{actor}", "Wagner Moura")
+                        .param("page", "2")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(5))
+                .andExpect(jsonPath(NUMBER).value(1));
+    }
+
+    @Test
+    public void findAllByActorMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        when(this.movieService.findAllByActor("Wagner Moura", PageRequest.of(0, 20)))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/actors/{actor}", "Wagner Moura")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Error finding movies with actor: Wagner Moura");
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnTheFilmographyPage() throws Exception {
+        final Pageable pageable = PageRequest.of(0, 20);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByDirector("Walter Salles", pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 2));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/directors/{director}", "Walter Salles")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2));
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnBadRequestWithInvalidPageOrSize() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/directors/{director}", "Walter Salles")
+                        .param("page", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/actors/{actor}", "Wagner Moura")
+                        .param("size", "1001")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        when(this.movieService.findAllByDirector("Walter Salles", PageRequest.of(0, 20)))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/directors/{director}", "Walter Salles")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Error finding movies by director: Walter Salles");
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnFirstSliceAndNextCursor() throws Exception {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 12, 31);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieService.findAllByLaunchDateBetween(from, to, CensureLevel.CENSURADO, null, 2))
+                .thenReturn(new SliceImpl<>(movies, PageRequest.of(0, 2), true));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        when(this.movieReleaseCursorTransformer.transform(movies.get(1)))
+                .thenReturn("next-cursor");
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-12-31")
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
+                .andExpect(jsonPath(SIZE).value(2))
+                .andExpect(jsonPath(NEXT).value("next-cursor"));
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnLastSliceWithoutNextCursor() throws Exception {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final Movie after = Movie.builder().launchDate(from).id("5e2cc9e6ec7aef3c7d38a84b").build();
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieReleaseCursorTransformer.decode("some-cursor"))
+                .thenReturn(after);
+
+        when(this.movieService.findAllByLaunchDateBetween(from, from, null, after, 20))
+                .thenReturn(new SliceImpl<>(movies, PageRequest.of(0, 20), false));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-01-01")
+                        .param(CURSOR, "some-cursor")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
+                .andExpect(jsonPath(NEXT).doesNotExist());
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnBadRequestWithInvalidRangeOrCursor() throws Exception {
+        when(this.movieReleaseCursorTransformer.decode("bad-cursor"))
+                .thenThrow(new CouldNotTransformException("Could not Convert Release Cursor to Movie", null));
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-12-31")
+                        .param("to", "2020-01-01")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-12-31")
+                        .param(CURSOR, "bad-cursor")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-12-31")
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+
+        when(this.movieService.findAllByLaunchDateBetween(from, from, null, null, 20))
+                .thenThrow(new CouldNotFindMoviesException("Could not find movies for some reason", null));
+
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .get("/" + MOVIES + "/" + RELEASES)
+                        .param("from", "2020-01-01")
+                        .param("to", "2020-01-01")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
-                .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(true))
-                .andExpect(jsonPath(LAST).value(true))
-                .andExpect(jsonPath(NUMBER).value(0))
-                .andExpect(jsonPath(SIZE).value(2))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
-                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Error finding movies launched between 2020-01-01 and 2020-01-01");
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnMoviesUnPagedWithPageZero() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = Pageable.unpaged();
-
+    public void searchMoviesMustReturnRankedPageOfMovies() throws Exception {
+        final Pageable pageable = PageRequest.of(1, 2);
         final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
-
         final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        when(this.movieService.searchMovies("meirelles", pageable))
+                .thenReturn(new PageImpl<>(movies, pageable, 5));
 
         when(this.movieTransformer.transform(any(Movie.class)))
-                .thenReturn(movieResponse)
                 .thenReturn(movieResponse);
 
-        this.mockMvc.perform(
+        this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param("page", "0")
-                        .param("size", "10")
-                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "meirelles")
+                        .param("page", "2")
+                        .param("size", "2")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(jsonPath(CONTENT).value(hasSize(2)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(true))
-                .andExpect(jsonPath(LAST).value(true))
-                .andExpect(jsonPath(NUMBER).value(0))
-                .andExpect(jsonPath(SIZE).value(2))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
-                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+                .andExpect(jsonPath(TOTAL_ELEMENTS).value(5))
+                .andExpect(jsonPath(NUMBER).value(1));
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnMoviesUnPagedWithSizeZero() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = Pageable.unpaged();
+    public void searchMoviesMustReturnBadRequestWithBlankQueryOrInvalidPage() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "  ")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "meirelles")
+                        .param("page", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "meirelles")
+                        .param("size", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        verify(this.movieService, never()).searchMovies(anyString(), any(Pageable.class));
+    }
 
-        when(this.movieTransformer.transform(any(Movie.class)))
-                .thenReturn(movieResponse)
-                .thenReturn(movieResponse);
+    @Test
+    public void searchMoviesMustReturnServiceUnavailableWhileTheIndexIsBuilding() throws Exception {
+        when(this.movieService.searchMovies("meirelles", PageRequest.of(0, 20)))
+                .thenThrow(new MovieSearchUnavailableException("Movie search index is not built yet"));
 
-        this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param("page", "10")
-                        .param("size", "0")
-                        .param(CENSURE_LEVEL, censureLevel.toString())
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "meirelles")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
-                .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(true))
-                .andExpect(jsonPath(LAST).value(true))
-                .andExpect(jsonPath(NUMBER).value(0))
-                .andExpect(jsonPath(SIZE).value(2))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
-                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Movie search index is not built yet");
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnMoviesFirstPageOfOnePage() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = PageRequest.of(0, 2);
+    public void searchMoviesMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        when(this.movieService.searchMovies("meirelles", PageRequest.of(0, 20)))
+                .thenThrow(new CouldNotFindMoviesException("Could not search movies for some reason", null));
 
-        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SEARCH)
+                        .param("q", "meirelles")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
 
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error searching movies");
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void suggestMoviesMustReturnTheSuggestedTitles() throws Exception {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
         final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        when(this.movieService.suggestMovies("tit", CensureLevel.CENSURADO, 5))
+                .thenReturn(movies);
 
         when(this.movieTransformer.transform(any(Movie.class)))
-                .thenReturn(movieResponse)
                 .thenReturn(movieResponse);
 
-        this.mockMvc.perform(
+        this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param(CENSURE_LEVEL, censureLevel.toString())
-                        .param("page", "1")
-                        .param("size", "2")
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", "tit")
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .param("limit", "5")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(jsonPath(CONTENT).value(hasSize(2)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(true))
-                .andExpect(jsonPath(LAST).value(true))
-                .andExpect(jsonPath(NUMBER).value(0))
-                .andExpect(jsonPath(SIZE).value(2))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(2))
-                .andExpect(jsonPath(TOTAL_PAGES).value(1));
+                .andExpect(jsonPath("$").value(hasSize(2)));
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnMoviesFirstPageOfTwoPages() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = PageRequest.of(0, 1);
+    public void suggestMoviesMustReturnBadRequestWithBlankPrefixOrInvalidLimit() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", " ")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", "tit")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", "tit")
+                        .param("limit", "11")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        verify(this.movieService, never()).suggestMovies(anyString(), any(), anyInt());
+    }
 
-        when(this.movieTransformer.transform(any(Movie.class)))
-                .thenReturn(movieResponse);
+    @Test
+    public void suggestMoviesMustReturnServiceUnavailableWhileTheIndexIsBuilding() throws Exception {
+        when(this.movieService.suggestMovies("tit", null, 10))
+                .thenThrow(new MovieSearchUnavailableException("The suggestion index is still being built"));
 
-        this.mockMvc.perform(
+        this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param(CENSURE_LEVEL, censureLevel.toString())
-                        .param("page", "1")
-                        .param("size", "1")
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", "tit")
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
-                .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(true))
-                .andExpect(jsonPath(LAST).value(false))
-                .andExpect(jsonPath(NUMBER).value(0))
-                .andExpect(jsonPath(SIZE).value(1))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(1))
-                .andExpect(jsonPath(TOTAL_PAGES).value(2));
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnMoviesSecondPageOfTwoPages() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = PageRequest.of(1, 1);
-
-        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
-
-        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+    public void suggestMoviesMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        when(this.movieService.suggestMovies("tit", null, 10))
+                .thenThrow(new CouldNotFindMoviesException("Could not suggest movies for some reason", null));
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenReturn(new PageImpl<>(movies, pageable, 2));
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + SUGGEST)
+                        .param("prefix", "tit")
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
 
-        when(this.movieTransformer.transform(any(Movie.class)))
-                .thenReturn(movieResponse);
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .startsWith("Error suggesting movies");
+    }
 
-        this.mockMvc.perform(
+    @Test
+    public void getStatsMustReturnTheCatalogCounters() throws Exception {
+        when(this.movieService.getStats())
+                .thenReturn(MovieStats.builder()
+                        .total(3)
+                        .byCensureLevel(Map.of(CensureLevel.CENSURADO, 2L, CensureLevel.SEM_CENSURA, 1L))
+                        .byLaunchYear(Map.of(2019, 3L))
+                        .byDirector(Map.of("Kleber Mendonça Filho", 3L))
+                        .build());
+
+        this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param(CENSURE_LEVEL, censureLevel.toString())
-                        .param("page", "2")
-                        .param("size", "1")
+                        .get("/" + MOVIES + "/" + STATS)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(jsonPath(CONTENT).value(hasSize(1)))
-                .andExpect(jsonPath(TOTAL_ELEMENTS).value(2))
-                .andExpect(jsonPath(FIRST).value(false))
-                .andExpect(jsonPath(LAST).value(true))
-                .andExpect(jsonPath(NUMBER).value(1))
-                .andExpect(jsonPath(SIZE).value(1))
-                .andExpect(jsonPath(NUMBER_OF_ELEMENTS).value(1))
-                .andExpect(jsonPath(TOTAL_PAGES).value(2));
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byCensureLevel.CENSURADO").value(2))
+                .andExpect(jsonPath("$.byLaunchYear.2019").value(3))
+                .andExpect(jsonPath("$.byDirector['Kleber Mendonça Filho']").value(3));
     }
 
     @Test
-    public void findAllByCensureLevelMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
-        final CensureLevel censureLevel = CensureLevel.CENSURADO;
-        final Pageable pageable = PageRequest.of(0, 10);
+    public void getStatsMustReturnServiceUnavailableWhileTheCountersAreBuilding() throws Exception {
+        when(this.movieService.getStats())
+                .thenThrow(new MovieStatsUnavailableException("The catalog statistics are still being computed"));
 
-        final Throwable throwable = new CouldNotFindMoviesException("Could not find movies for some reason", null);
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES + "/" + STATS)
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
 
-        when(this.movieService.findAllByCensureLevel(censureLevel, pageable))
-                .thenThrow(throwable);
+    @Test
+    public void getStatsMustReturnErrorMessageWhenAnExceptionOccurs() throws Exception {
+        when(this.movieService.getStats())
+                .thenThrow(new CouldNotFindMoviesException("Could not get the stats for some reason", null));
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
-                        .get("/" + MOVIES)
-                        .param(CENSURE_LEVEL, censureLevel.toString())
-                        .param("page", "1")
-                        .param("size", "10")
+                        .get("/" + MOVIES + "/" + STATS)
                         .accept(MediaType.APPLICATION_JSON_UTF8)
         )
                 .andExpect(MockMvcResultMatchers.status().isInternalServerError())
                 .andReturn();
 
-        final String errorMessage = mvcResult.getResponse().getErrorMessage();
-
-        assertThat(errorMessage)
-                .startsWith("Error finding all movies");
-        verify(this.movieTransformer, never()).transform(any(Movie.class));
+        assertThat(mvcResult.getResponse().getErrorMessage())
+                .isEqualTo("Error getting the movie catalog statistics");
     }
 
     @Test
@@ -318,7 +1470,7 @@ public class MovieControllerTest extends BaseTest {
         when(this.movieTransformer.transform(persistedMovie))
                 .thenReturn(movieResponse);
 
-        this.mockMvc.perform(
+        this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -341,7 +1493,7 @@ public class MovieControllerTest extends BaseTest {
         when(this.movieService.createMovie(movieCandidate))
                 .thenThrow(throwable);
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -370,7 +1522,7 @@ public class MovieControllerTest extends BaseTest {
         when(this.movieService.createMovie(movieCandidate))
                 .thenThrow(throwable);
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -390,7 +1542,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithEmptyMovieName() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("emptyName");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -418,7 +1570,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithNullMovieName() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("nullName");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -446,7 +1598,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithNullMovieLaunchDate() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("nullLaunchDate");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -474,7 +1626,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithNullMovieCensureLevel() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("nullCensureLevel");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -502,7 +1654,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithEmptyMovieDirector() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("emptyDirector");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -530,7 +1682,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithNullMovieDirector() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("nullDirector");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -558,7 +1710,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithEmptyMovieCast() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("emptyCast");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -586,7 +1738,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithNullMovieCast() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("nullCast");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -614,7 +1766,7 @@ public class MovieControllerTest extends BaseTest {
     public void createMovieMustReturnBadRequestWithInvalidMovieCast() throws Exception {
         final MovieRequest movieRequest = from(MovieRequest.class).gimme("invalidCast");
 
-        final MvcResult mvcResult = this.mockMvc.perform(
+        final MvcResult mvcResult = this.perform(
                 MockMvcRequestBuilders
                         .post("/" + MOVIES)
                         .content(objectMapper.writeValueAsString(movieRequest))
@@ -637,4 +1789,139 @@ public class MovieControllerTest extends BaseTest {
         verify(this.movieTransformer, never())
                 .transform(any(Movie.class));
     }
+    @Test
+    public void createMoviesMustReturnPerItemResults() throws Exception {
+        final List<MovieRequest> movieRequests = from(MovieRequest.class).gimme(2, VALID_CANDIDATE);
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+        final List<MovieBatchResult> batchResults = List.of(
+                MovieBatchResult.builder().index(0).movie(movieCandidate).status(MovieBatchStatus.CREATED).build(),
+                MovieBatchResult.builder().index(1).movie(movieCandidate).status(MovieBatchStatus.DUPLICATED).build());
+
+        when(this.movieRequestTransformer.transform(any(MovieRequest.class)))
+                .thenReturn(movieCandidate);
+
+        when(this.movieService.createMovies(List.of(movieCandidate, movieCandidate)))
+                .thenReturn(batchResults);
+
+        when(this.movieBatchResultTransformer.transform(batchResults.get(0)))
+                .thenReturn(MovieBatchItemResponse.builder().index(0).status(MovieBatchStatus.CREATED)
+                        .movie(movieResponse).build());
+        when(this.movieBatchResultTransformer.transform(batchResults.get(1)))
+                .thenReturn(MovieBatchItemResponse.builder().index(1).status(MovieBatchStatus.DUPLICATED)
+                        .message("duplicated").build());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .post("/" + MOVIES + "/" + BATCH)
+                        .content(objectMapper.writeValueAsString(new MovieBatchRequest(movieRequests)))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(jsonPath("$.results").value(hasSize(2)))
+                .andExpect(jsonPath("$.results[0].status").value(MovieBatchStatus.CREATED.toString()))
+                .andExpect(jsonPath("$.results[0].movie.id").value(movieResponse.getId()))
+                .andExpect(jsonPath("$.results[1].status").value(MovieBatchStatus.DUPLICATED.toString()))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicated").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+    }
+
+    @Test
+    public void createMoviesMustReturnBadRequestWhenAnyMovieIsInvalid() throws Exception {
+        final List<MovieRequest> movieRequests = List.of(from(MovieRequest.class).gimme(VALID_CANDIDATE),
+                from(MovieRequest.class).gimme("invalidCast"));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .post("/" + MOVIES + "/" + BATCH)
+                        .content(objectMapper.writeValueAsString(new MovieBatchRequest(movieRequests)))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        final String errorMessage = Objects.requireNonNull(mvcResult.getResolvedException()).getMessage();
+
+        assertThat(errorMessage).contains("movies[1].cast");
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void createMoviesMustReturnBadRequestWithEmptyBatch() throws Exception {
+        this.perform(
+                MockMvcRequestBuilders
+                        .post("/" + MOVIES + "/" + BATCH)
+                        .content(objectMapper.writeValueAsString(new MovieBatchRequest(List.of())))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        verifyZeroInteractions(this.movieService);
+    }
+
+    @Test
+    public void createMoviesMustReturnInternalServerErrorWhenUnexpectedExceptionOccurs() throws Exception {
+        final List<MovieRequest> movieRequests = from(MovieRequest.class).gimme(1, VALID_CANDIDATE);
+
+        when(this.movieService.createMovies(any()))
+                .thenThrow(new RuntimeException("Unexpected Exception Creating Movies"));
+
+        final MvcResult mvcResult = this.perform(
+                MockMvcRequestBuilders
+                        .post("/" + MOVIES + "/" + BATCH)
+                        .content(objectMapper.writeValueAsString(new MovieBatchRequest(movieRequests)))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getErrorMessage()).isEqualTo("Error creating the batch of movies");
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnServiceUnavailableWhenTooManyRequestsAreInFlight() throws Exception {
+        doThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many movie requests in flight"))
+                .when(this.movieRequestExecutor).submit(anyString(), anyCallable());
+
+        this.perform(
+                MockMvcRequestBuilders
+                        .get("/" + MOVIES)
+                        .param(CENSURE_LEVEL, CensureLevel.CENSURADO.toString())
+                        .accept(MediaType.APPLICATION_JSON_UTF8)
+        )
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+
+        verifyZeroInteractions(this.movieService);
+    }
+
+    private ResultActions perform(final RequestBuilder requestBuilder) throws Exception {
+        final MvcResult mvcResult = this.mockMvc.perform(requestBuilder).andReturn();
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
+        }
+        return new ResultActions() {
+            @Override
+            public ResultActions andExpect(final ResultMatcher matcher) throws Exception {
+                matcher.match(mvcResult);
+                return this;
+            }
+
+            @Override
+            public ResultActions andDo(final ResultHandler handler) throws Exception {
+                handler.handle(mvcResult);
+                return this;
+            }
+
+            @Override
+            public MvcResult andReturn() {
+                return mvcResult;
+            }
+        };
+    }
+
+    private static Callable<Object> anyCallable() {
+        return ArgumentMatchers.any();
+    }
+
 }
@@ -0,0 +1,991 @@
+package br.com.fza.moviechallenge.controller;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.controller.request.MovieBatchRequest;
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.response.MovieBatchItemResponse;
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieBatchResultTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieCursorTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieReleaseCursorTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieSortTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieStatsTransformer;
+import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
+import br.com.fza.moviechallenge.exception.CouldNotCreateMovieException;
+import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.service.ReactiveMovieService;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("reactive")
+@WebFluxTest(ReactiveMovieController.class)
+@Import(MovieControllerSupport.class)
+public class ReactiveMovieControllerTest extends BaseTest {
+
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+    public static final String VALID_CANDIDATE = "validCandidate";
+    public static final String CONTENT = "$.content";
+    public static final String TOTAL_ELEMENTS = "$.totalElements";
+    public static final String SIZE = "$.size";
+    public static final String NEXT = "$.next";
+    public static final String PAGE = "$.page";
+    public static final String HAS_NEXT = "$.hasNext";
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MovieControllerSupport movieControllerSupport;
+
+    @SpyBean
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveMovieService reactiveMovieService;
+    @MockBean
+    private MovieRequestTransformer movieRequestTransformer;
+    @MockBean
+    private MovieTransformer movieTransformer;
+    @MockBean
+    private MovieCursorTransformer movieCursorTransformer;
+    @MockBean
+    private MovieReleaseCursorTransformer movieReleaseCursorTransformer;
+    @SpyBean
+    private MovieSortTransformer movieSortTransformer;
+    @SpyBean
+    private MovieStatsTransformer movieStatsTransformer;
+    @MockBean
+    private MovieBatchResultTransformer movieBatchResultTransformer;
+    @MockBean
+    private MovieGenerationCounter movieGenerationCounter;
+
+    @Test
+    public void findAllByCensureLevelMustReturnMoviesUnPaged() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.3");
+
+        when(this.reactiveMovieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Mono.just(new PageImpl<>(movies, pageable, 2)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&page=1", censureLevel)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"k5x2.3-0-1-0\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2))
+                .jsonPath(TOTAL_ELEMENTS).isEqualTo(2);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustProjectRequestedFieldsOfAPage() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final MovieResponse movieResponse = MovieResponse.builder().name("Titanic Sem Censura").build();
+
+        when(this.reactiveMovieService.findAllByCensureLevel(censureLevel, EnumSet.of(MovieField.NAME), pageable))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(Movie.builder().name("Titanic Sem Censura").build()),
+                        pageable, 3)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        ReflectionTestUtils.setField(this.movieControllerSupport, "cacheMaxAgeSeconds", 60L);
+        try {
+            this.webTestClient.get()
+                    .uri("/movies?censureLevel={censureLevel}&page=2&size=2&fields=name", censureLevel)
+                    .accept(MediaType.APPLICATION_JSON_UTF8)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate")
+                    .expectBody()
+                    .jsonPath("$.content[0].name").isEqualTo("Titanic Sem Censura")
+                    .jsonPath("$.content[0].cast").doesNotExist()
+                    .jsonPath(TOTAL_ELEMENTS).isEqualTo(3);
+        } finally {
+            ReflectionTestUtils.setField(this.movieControllerSupport, "cacheMaxAgeSeconds", 0L);
+        }
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnNotModifiedWithoutQueryingWhenETagMatches() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.3");
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}", censureLevel)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"k5x2.3-1-0-0\"")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"k5x2.3-1-0-0\"")
+                .expectBody().isEmpty();
+
+        verifyZeroInteractions(this.reactiveMovieService, this.movieTransformer);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustRequestTheSortedPage() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name", "id"));
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieGenerationCounter.version(censureLevel))
+                .thenReturn("k5x2.3");
+        when(this.reactiveMovieService.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Mono.just(new PageImpl<>(movies, pageable, 2)));
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&page=1&size=2&sort=name", censureLevel)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"k5x2.3-0-1-2-name.ASC-id.ASC\"")
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnBadRequestWithInvalidSort() {
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&page=1&size=2&sort=cast", CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&sort=name", CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&page=1&sort=name", CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnBadRequestWithUnknownField() {
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}&fields=name,budget", CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReturnErrorWhenAnExceptionOccurs() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.reactiveMovieService.findAllByCensureLevel(censureLevel, Pageable.unpaged()))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}", censureLevel)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding all movies");
+
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustWriteOneMoviePerLine() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.streamAllByCensureLevel(censureLevel))
+                .thenReturn(Flux.fromIterable(movies));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        final String body = this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}", censureLevel)
+                .accept(MediaType.parseMediaType(MovieController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType(MovieController.APPLICATION_NDJSON_VALUE))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(body.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(line).contains("\"name\":\"" + movieResponse.getName() + "\""));
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustReturnErrorWhenAnExceptionOccurs() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.reactiveMovieService.streamAllByCensureLevel(censureLevel))
+                .thenReturn(Flux.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}", censureLevel)
+                .accept(MediaType.parseMediaType(MovieController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustReturnErrorWhenSerializationFails() throws Exception {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final ObjectWriter writer = mock(ObjectWriter.class);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.streamAllByCensureLevel(censureLevel))
+                .thenReturn(Flux.fromIterable(from(Movie.class).gimme(1, PERSISTED_CENSURADO)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        doReturn(writer).when(this.objectMapper).writerFor(MovieResponse.class);
+
+        when(writer.writeValueAsString(movieResponse))
+                .thenThrow(new JsonMappingException(null, "Some Serialization Exception"));
+
+        this.webTestClient.get()
+                .uri("/movies?censureLevel={censureLevel}", censureLevel)
+                .accept(MediaType.parseMediaType(MovieController.APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnCompactEnvelope() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.findSliceByCensureLevel(censureLevel, pageable))
+                .thenReturn(Mono.just(new SliceImpl<>(movies, pageable, true)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/slice?censureLevel={censureLevel}&page=2&size=2", censureLevel)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2))
+                .jsonPath(PAGE).isEqualTo(2)
+                .jsonPath(SIZE).isEqualTo(2)
+                .jsonPath(HAS_NEXT).isEqualTo(true)
+                .jsonPath(TOTAL_ELEMENTS).doesNotExist();
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnBadRequestWithInvalidPageOrSize() {
+        this.webTestClient.get()
+                .uri("/movies/slice?censureLevel={censureLevel}&page=0", CensureLevel.CENSURADO)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/slice?censureLevel={censureLevel}&size=1001", CensureLevel.CENSURADO)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnErrorWhenAnExceptionOccurs() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.reactiveMovieService.findSliceByCensureLevel(censureLevel, PageRequest.of(0, 20)))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/slice?censureLevel={censureLevel}", censureLevel)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding a slice of movies");
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnFirstPageAndNextCursor() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.findAllByCensureLevelAfter(censureLevel, null, 2))
+                .thenReturn(Mono.just(new SliceImpl<>(movies, PageRequest.of(0, 2), true)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        when(this.movieCursorTransformer.transform(movies.get(1)))
+                .thenReturn("next-cursor");
+
+        this.webTestClient.get()
+                .uri("/movies/cursor?censureLevel={censureLevel}&size=2", censureLevel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(SIZE).isEqualTo(2)
+                .jsonPath(NEXT).isEqualTo("next-cursor");
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnLastPageWithoutNextCursor() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieCursorTransformer.decode("some-cursor"))
+                .thenReturn(lastId);
+
+        when(this.reactiveMovieService.findAllByCensureLevelAfter(censureLevel, lastId, 20))
+                .thenReturn(Mono.just(new SliceImpl<>(movies, PageRequest.of(0, 20), false)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/cursor?censureLevel={censureLevel}&cursor=some-cursor", censureLevel)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(SIZE).isEqualTo(1)
+                .jsonPath(NEXT).doesNotExist();
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnBadRequestWithInvalidCursor() {
+        when(this.movieCursorTransformer.decode("invalid"))
+                .thenThrow(new CouldNotTransformException("Could not Convert Cursor to Movie id", null));
+
+        this.webTestClient.get()
+                .uri("/movies/cursor?censureLevel={censureLevel}&cursor=invalid", CensureLevel.CENSURADO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid cursor: invalid");
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnBadRequestWithSizeOutOfRange() {
+        this.webTestClient.get()
+                .uri("/movies/cursor?censureLevel={censureLevel}&size=0", CensureLevel.CENSURADO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Size must be between 1 and 1000");
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByCensureLevelWithCursorMustReturnErrorWhenAnExceptionOccurs() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+
+        when(this.reactiveMovieService.findAllByCensureLevelAfter(censureLevel, null, 20))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/cursor?censureLevel={censureLevel}", censureLevel)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding movies with cursor");
+    }
+
+    @Test
+    public void findAllByActorMustReturnTheFilmographyPage() {
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.findAllByActor("Wagner Moura", pageable))
+                .thenReturn(Mono.just(new PageImpl<>(movies, pageable, 5)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/actors/{actor}?page=2&size=2", "Wagner Moura")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2))
+                .jsonPath(TOTAL_ELEMENTS).isEqualTo(5);
+    }
+
+    @Test
+    public void findAllByActorMustReturnErrorWhenAnExceptionOccurs() {
+        when(this.reactiveMovieService.findAllByActor("Wagner Moura", PageRequest.of(0, 20)))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/actors/{actor}", "Wagner Moura")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding movies with actor: Wagner Moura");
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnTheFilmographyPage() {
+        final Pageable pageable = PageRequest.of(0, 20);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.findAllByDirector("Walter Salles", pageable))
+                .thenReturn(Mono.just(new PageImpl<>(movies, pageable, 2)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/directors/{director}", "Walter Salles")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(TOTAL_ELEMENTS).isEqualTo(2);
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnBadRequestWithInvalidPageOrSize() {
+        this.webTestClient.get()
+                .uri("/movies/directors/{director}?page=0", "Walter Salles")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/actors/{actor}?size=1001", "Wagner Moura")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnErrorWhenAnExceptionOccurs() {
+        when(this.reactiveMovieService.findAllByDirector("Walter Salles", PageRequest.of(0, 20)))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/directors/{director}", "Walter Salles")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding movies by director: Walter Salles");
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnFirstSliceAndNextCursor() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 12, 31);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.findAllByLaunchDateBetween(from, to, CensureLevel.CENSURADO, null, 2))
+                .thenReturn(Mono.just(new SliceImpl<>(movies, PageRequest.of(0, 2), true)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        when(this.movieReleaseCursorTransformer.transform(movies.get(1)))
+                .thenReturn("next-cursor");
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-01-01&to=2020-12-31&censureLevel={censureLevel}&size=2",
+                        CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2))
+                .jsonPath(SIZE).isEqualTo(2)
+                .jsonPath(NEXT).isEqualTo("next-cursor");
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnLastSliceWithoutNextCursor() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final Movie after = Movie.builder().launchDate(from).id("5e2cc9e6ec7aef3c7d38a84b").build();
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieReleaseCursorTransformer.decode("some-cursor"))
+                .thenReturn(after);
+
+        when(this.reactiveMovieService.findAllByLaunchDateBetween(from, from, null, after, 20))
+                .thenReturn(Mono.just(new SliceImpl<>(movies, PageRequest.of(0, 20), false)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-01-01&to=2020-01-01&cursor=some-cursor")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(1))
+                .jsonPath(NEXT).doesNotExist();
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnBadRequestWithInvalidRangeOrCursor() {
+        when(this.movieReleaseCursorTransformer.decode("bad-cursor"))
+                .thenThrow(new CouldNotTransformException("Could not Convert Release Cursor to Movie", null));
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-12-31&to=2020-01-01")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-01-01&to=2020-12-31&cursor=bad-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-01-01&to=2020-12-31&size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnErrorWhenAnExceptionOccurs() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+
+        when(this.reactiveMovieService.findAllByLaunchDateBetween(from, from, null, null, 20))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not find movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/releases?from=2020-01-01&to=2020-01-01")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error finding movies launched between 2020-01-01 and 2020-01-01");
+    }
+
+    @Test
+    public void searchMoviesMustReturnRankedPageOfMovies() {
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.searchMovies("meirelles", pageable))
+                .thenReturn(Mono.just(new PageImpl<>(movies, pageable, 5)));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/search?q=meirelles&page=2&size=2")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath(CONTENT).value(content -> assertThat((List<?>) content).hasSize(2))
+                .jsonPath(TOTAL_ELEMENTS).isEqualTo(5);
+    }
+
+    @Test
+    public void searchMoviesMustReturnBadRequestWithBlankQueryOrInvalidPage() {
+        this.webTestClient.get()
+                .uri("/movies/search?q=  ")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/search?q=meirelles&page=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/search?q=meirelles&size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void searchMoviesMustReturnServiceUnavailableWhileTheIndexIsBuilding() {
+        when(this.reactiveMovieService.searchMovies("meirelles", PageRequest.of(0, 20)))
+                .thenReturn(Mono.error(new MovieSearchUnavailableException("Movie search index is not built yet")));
+
+        this.webTestClient.get()
+                .uri("/movies/search?q=meirelles")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Movie search index is not built yet");
+    }
+
+    @Test
+    public void searchMoviesMustReturnErrorWhenAnExceptionOccurs() {
+        when(this.reactiveMovieService.searchMovies("meirelles", PageRequest.of(0, 20)))
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not search movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/search?q=meirelles")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error searching movies");
+
+        verify(this.movieTransformer, never()).transform(any(Movie.class));
+    }
+
+    @Test
+    public void suggestMoviesMustReturnTheSuggestedTitles() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieService.suggestMovies("tit", CensureLevel.CENSURADO, 5))
+                .thenReturn(Flux.fromIterable(movies));
+
+        when(this.movieTransformer.transform(any(Movie.class)))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix=tit&censureLevel={censureLevel}&limit=5", CensureLevel.CENSURADO)
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MovieResponse.class).hasSize(2);
+    }
+
+    @Test
+    public void suggestMoviesMustReturnBadRequestWithBlankPrefixOrInvalidLimit() {
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix= ")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix=tit&limit=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix=tit&limit=11")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void suggestMoviesMustReturnServiceUnavailableWhileTheIndexIsBuilding() {
+        when(this.reactiveMovieService.suggestMovies("tit", null, 10))
+                .thenReturn(Flux.error(new MovieSearchUnavailableException("The suggestion index is still being built")));
+
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix=tit")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    public void suggestMoviesMustReturnErrorWhenAnExceptionOccurs() {
+        when(this.reactiveMovieService.suggestMovies("tit", null, 10))
+                .thenReturn(Flux.error(new CouldNotFindMoviesException("Could not suggest movies for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/suggest?prefix=tit")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error suggesting movies");
+    }
+
+    @Test
+    public void getStatsMustReturnTheCatalogCounters() {
+        when(this.reactiveMovieService.getStats())
+                .thenReturn(Mono.just(MovieStats.builder()
+                        .total(3)
+                        .byCensureLevel(Map.of(CensureLevel.CENSURADO, 2L, CensureLevel.SEM_CENSURA, 1L))
+                        .byLaunchYear(Map.of(2019, 3L))
+                        .byDirector(Map.of("Kleber Mendonça Filho", 3L))
+                        .build()));
+
+        this.webTestClient.get()
+                .uri("/movies/stats")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.byCensureLevel.CENSURADO").isEqualTo(2)
+                .jsonPath("$.byLaunchYear.2019").isEqualTo(3)
+                .jsonPath("$.byDirector['Kleber Mendonça Filho']").isEqualTo(3);
+    }
+
+    @Test
+    public void getStatsMustReturnServiceUnavailableWhileTheCountersAreBuilding() {
+        when(this.reactiveMovieService.getStats())
+                .thenReturn(Mono.error(new MovieStatsUnavailableException("The catalog statistics are still being computed")));
+
+        this.webTestClient.get()
+                .uri("/movies/stats")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    public void getStatsMustReturnErrorWhenAnExceptionOccurs() {
+        when(this.reactiveMovieService.getStats())
+                .thenReturn(Mono.error(new CouldNotFindMoviesException("Could not get the stats for some reason", null)));
+
+        this.webTestClient.get()
+                .uri("/movies/stats")
+                .accept(MediaType.APPLICATION_JSON_UTF8)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error getting the movie catalog statistics");
+    }
+
+    @Test
+    public void createMovieMustWorksWithValidMovieCandidate() {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme(VALID_CANDIDATE);
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final Movie persistedMovie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieRequestTransformer.transform(any(MovieRequest.class)))
+                .thenReturn(movieCandidate);
+
+        when(this.reactiveMovieService.createMovie(movieCandidate))
+                .thenReturn(Mono.just(persistedMovie));
+
+        when(this.movieTransformer.transform(persistedMovie))
+                .thenReturn(movieResponse);
+
+        this.webTestClient.post()
+                .uri("/movies")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(movieRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(movieResponse.getId());
+    }
+
+    @Test
+    public void createMovieMustReturnBadRequestWithDuplicatedMovieName() {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme(VALID_CANDIDATE);
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.movieRequestTransformer.transform(any(MovieRequest.class)))
+                .thenReturn(movieCandidate);
+
+        when(this.reactiveMovieService.createMovie(movieCandidate))
+                .thenReturn(Mono.error(new DuplicatedMovieException(movieCandidate.getName())));
+
+        this.webTestClient.post()
+                .uri("/movies")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(movieRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void createMovieMustReturnErrorWhenUnexpectedExceptionOccurs() {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme(VALID_CANDIDATE);
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.movieRequestTransformer.transform(any(MovieRequest.class)))
+                .thenReturn(movieCandidate);
+
+        when(this.reactiveMovieService.createMovie(movieCandidate))
+                .thenReturn(Mono.error(new CouldNotCreateMovieException("Some Runtime Exception Saving Movie", null)));
+
+        this.webTestClient.post()
+                .uri("/movies")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(movieRequest)
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    @Test
+    public void createMovieMustReturnBadRequestWithInvalidMovieCast() {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme("invalidCast");
+
+        this.webTestClient.post()
+                .uri("/movies")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(movieRequest)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void createMoviesMustReturnPerItemResults() {
+        final List<MovieRequest> movieRequests = from(MovieRequest.class).gimme(2, VALID_CANDIDATE);
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme(PERSISTED_CENSURADO);
+        final List<MovieBatchResult> batchResults = List.of(
+                MovieBatchResult.builder().index(0).movie(movieCandidate).status(MovieBatchStatus.CREATED).build(),
+                MovieBatchResult.builder().index(1).movie(movieCandidate).status(MovieBatchStatus.DUPLICATED).build());
+
+        when(this.movieRequestTransformer.transform(any(MovieRequest.class)))
+                .thenReturn(movieCandidate);
+
+        when(this.reactiveMovieService.createMovies(List.of(movieCandidate, movieCandidate)))
+                .thenReturn(Mono.just(batchResults));
+
+        when(this.movieBatchResultTransformer.transform(batchResults.get(0)))
+                .thenReturn(MovieBatchItemResponse.builder().index(0).status(MovieBatchStatus.CREATED)
+                        .movie(movieResponse).build());
+        when(this.movieBatchResultTransformer.transform(batchResults.get(1)))
+                .thenReturn(MovieBatchItemResponse.builder().index(1).status(MovieBatchStatus.DUPLICATED)
+                        .message("duplicated").build());
+
+        this.webTestClient.post()
+                .uri("/movies/batch")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(new MovieBatchRequest(movieRequests))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(2)
+                .jsonPath("$.results[0].status").isEqualTo(MovieBatchStatus.CREATED.toString())
+                .jsonPath("$.results[0].movie.id").isEqualTo(movieResponse.getId())
+                .jsonPath("$.results[1].status").isEqualTo(MovieBatchStatus.DUPLICATED.toString())
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.duplicated").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(0);
+    }
+
+    @Test
+    public void createMoviesMustReturnBadRequestWhenAnyMovieIsInvalid() {
+        final List<MovieRequest> movieRequests = List.of(from(MovieRequest.class).gimme(VALID_CANDIDATE),
+                from(MovieRequest.class).gimme("invalidCast"));
+
+        this.webTestClient.post()
+                .uri("/movies/batch")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(new MovieBatchRequest(movieRequests))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void createMoviesMustReturnBadRequestWithEmptyBatch() {
+        this.webTestClient.post()
+                .uri("/movies/batch")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(new MovieBatchRequest(List.of()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyZeroInteractions(this.reactiveMovieService);
+    }
+
+    @Test
+    public void createMoviesMustReturnErrorWhenUnexpectedExceptionOccurs() {
+        final List<MovieRequest> movieRequests = from(MovieRequest.class).gimme(1, VALID_CANDIDATE);
+
+        when(this.reactiveMovieService.createMovies(any()))
+                .thenReturn(Mono.error(new CouldNotCreateMovieException("Unexpected Exception Creating Movies", null)));
+
+        this.webTestClient.post()
+                .uri("/movies/batch")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(new MovieBatchRequest(movieRequests))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+}
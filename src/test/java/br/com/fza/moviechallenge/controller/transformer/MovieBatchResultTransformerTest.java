@@ -0,0 +1,53 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.controller.response.MovieBatchItemResponse;
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieBatchResultTransformerTest extends BaseTest {
+
+    @Mock
+    private MovieTransformer movieTransformer;
+
+    @InjectMocks
+    private MovieBatchResultTransformer target;
+
+    @Test
+    public void transformMustWorksProperly() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+        final MovieResponse movieResponse = from(MovieResponse.class).gimme("persistedCensurado");
+
+        when(this.movieTransformer.transform(movie)).thenReturn(movieResponse);
+
+        final MovieBatchItemResponse result = target.transform(MovieBatchResult.builder()
+                .index(3)
+                .movie(movie)
+                .status(MovieBatchStatus.DUPLICATED)
+                .message("duplicated")
+                .build());
+
+        assertThat(result.getIndex()).isEqualTo(3);
+        assertThat(result.getMovie()).isSameAs(movieResponse);
+        assertThat(result.getStatus()).isEqualTo(MovieBatchStatus.DUPLICATED);
+        assertThat(result.getMessage()).isEqualTo("duplicated");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustThrowExceptionWithNullParameter() {
+        target.transform(null);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieCursorTransformerTest extends BaseTest {
+
+    @InjectMocks
+    private MovieCursorTransformer target;
+
+    @Test
+    public void transformMustProduceAnOpaqueCursorThatDecodesToTheMovieId() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+
+        final String cursor = target.transform(movie);
+
+        assertThat(cursor).doesNotContain(movie.getId());
+        assertThat(target.decode(cursor)).isEqualTo(movie.getId());
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustThrowExceptionWithNullParameter() {
+        target.transform(null);
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void decodeMustThrowExceptionWithMalformedCursor() {
+        target.decode("not a cursor!");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void decodeMustThrowExceptionWhenCursorDoesNotReferenceAnObjectId() {
+        target.decode("c29tZS1pZA");
+    }
+}
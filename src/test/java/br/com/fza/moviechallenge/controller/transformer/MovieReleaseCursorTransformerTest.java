@@ -0,0 +1,59 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieReleaseCursorTransformerTest extends BaseTest {
+
+    @InjectMocks
+    private MovieReleaseCursorTransformer target;
+
+    @Test
+    public void transformMustProduceAnOpaqueCursorThatDecodesToTheLaunchDateAndId() {
+        final Movie movie = from(Movie.class).gimme("persistedCensurado");
+
+        final String cursor = target.transform(movie);
+        final Movie position = target.decode(cursor);
+
+        assertThat(cursor).doesNotContain(movie.getId());
+        assertThat(position.getLaunchDate()).isEqualTo(movie.getLaunchDate());
+        assertThat(position.getId()).isEqualTo(movie.getId());
+        assertThat(position.getName()).isNull();
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustThrowExceptionWithoutLaunchDate() {
+        target.transform(Movie.builder().id("5e2cc9e6ec7aef3c7d38a84b").build());
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void decodeMustThrowExceptionWithMalformedCursor() {
+        target.decode("not a cursor!");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void decodeMustThrowExceptionWhenCursorDoesNotReferenceAnObjectId() {
+        target.decode(encode("2020-01-01_some-id"));
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void decodeMustThrowExceptionWhenCursorHasNoLaunchDate() {
+        target.decode(encode("5e2cc9e6ec7aef3c7d38a84b"));
+    }
+
+    private static String encode(final String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
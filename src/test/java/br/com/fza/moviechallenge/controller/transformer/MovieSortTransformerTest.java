@@ -0,0 +1,55 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieSortTransformerTest {
+
+    @InjectMocks
+    private MovieSortTransformer target;
+
+    @Test
+    public void transformMustSortAscendingByDefaultWithTheIdAsTieBreaker() {
+        final Sort result = target.transform("name");
+
+        assertThat(result).isEqualTo(Sort.by(Sort.Direction.ASC, "name", "id"));
+    }
+
+    @Test
+    public void transformMustApplyTheRequestedDirection() {
+        final Sort result = target.transform(" launchDate , DESC ");
+
+        assertThat(result).isEqualTo(Sort.by(Sort.Direction.DESC, "launchDate", "id"));
+    }
+
+    @Test
+    public void transformMustRejectFieldsOutsideTheAllowList() {
+        final CouldNotTransformException exception = catchThrowableOfType(() -> target.transform("cast"),
+                CouldNotTransformException.class);
+
+        assertThat(exception).hasMessageContaining("Allowed Values: name, launchDate, director");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustRejectUnknownFields() {
+        target.transform("budget");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustRejectUnknownDirections() {
+        target.transform("name,up");
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustRejectMoreThanOneField() {
+        target.transform("name,asc,director");
+    }
+}
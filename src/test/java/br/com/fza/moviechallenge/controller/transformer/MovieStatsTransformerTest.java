@@ -0,0 +1,40 @@
+package br.com.fza.moviechallenge.controller.transformer;
+
+import br.com.fza.moviechallenge.controller.response.MovieStatsResponse;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.MovieStats;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieStatsTransformerTest {
+
+    @InjectMocks
+    private MovieStatsTransformer target;
+
+    @Test
+    public void transformMustWorksProperly() {
+        final MovieStats movieStats = MovieStats.builder()
+                .total(2)
+                .byCensureLevel(Map.of(CensureLevel.CENSURADO, 2L))
+                .byLaunchYear(Map.of(2019, 2L))
+                .byDirector(Map.of("Kleber Mendonça Filho", 2L))
+                .build();
+
+        final MovieStatsResponse result = target.transform(movieStats);
+
+        assertThat(result).isEqualToComparingFieldByField(movieStats);
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void transformMustThrowExceptionWithNullParameter() {
+        target.transform(null);
+    }
+}
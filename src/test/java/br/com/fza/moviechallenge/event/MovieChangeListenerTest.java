@@ -0,0 +1,264 @@
+package br.com.fza.moviechallenge.event;
+
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.mongodb.MongoException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.util.CloseableIterator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieChangeListenerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MongoConverter mongoConverter;
+    @Mock
+    private MongoCollection<Document> collection;
+    @Mock
+    private ChangeStreamIterable<Document> changeStream;
+    @Mock
+    private MongoCursor<ChangeStreamDocument<Document>> cursor;
+    @Mock
+    private MovieRepository movieRepository;
+    @Mock
+    private MovieCausalSessions movieCausalSessions;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private Path tokenFile;
+
+    @Before
+    public void setUp() {
+        this.tokenFile = temporaryFolder.getRoot().toPath().resolve("movies.token");
+        lenient().when(this.mongoTemplate.getCollectionName(Movie.class)).thenReturn("movies");
+        lenient().when(this.mongoTemplate.getCollection("movies")).thenReturn(this.collection);
+        lenient().when(this.mongoTemplate.getConverter()).thenReturn(this.mongoConverter);
+        lenient().when(this.collection.watch(anyList())).thenReturn(this.changeStream);
+        lenient().when(this.changeStream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(this.changeStream);
+        lenient().when(this.changeStream.resumeAfter(any(BsonDocument.class))).thenReturn(this.changeStream);
+        lenient().when(this.changeStream.iterator()).thenReturn(this.cursor);
+    }
+
+    @After
+    public void tearDown() {
+        // run() leaves the test thread interrupted, just like the listener thread when it is stopped
+        Thread.interrupted();
+    }
+
+    @Test
+    public void runMustPublishTheInsertsOfOtherNodesAndPersistTheResumeToken() throws Exception {
+        final MovieChangeListener target = listener(0);
+        final Movie remote = movie();
+        final Movie local = movie();
+        target.onMovieCreated(new MovieCreatedEvent(local));
+        final ChangeStreamDocument<Document> remoteChange = change(remote, "1");
+        final ChangeStreamDocument<Document> localChange = change(local, "2");
+
+        when(this.cursor.tryNext())
+                .thenReturn(remoteChange, localChange, null)
+                .thenAnswer(invocation -> interrupt(null));
+
+        target.run();
+
+        verify(this.applicationEventPublisher)
+                .publishEvent(argThat((MovieCreatedEvent event) -> event.getMovies().equals(List.of(remote))));
+        verify(this.applicationEventPublisher, times(1)).publishEvent(any(MovieCreatedEvent.class));
+        verify(this.movieCausalSessions).advance(clusterTime("1"));
+        verify(this.movieCausalSessions).advance(clusterTime("2"));
+        verify(this.changeStream, never()).resumeAfter(any(BsonDocument.class));
+        verify(this.cursor).close();
+        assertThat(new MovieResumeToken(this.tokenFile).read()).isEqualTo(token("2"));
+        assertThat(this.meterRegistry.get("movies.changes.published").tag("source", "change-stream").counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    public void runMustFlushTheResumeTokenOnlyOnceInAWhile() throws Exception {
+        final MovieChangeListener target = listener(60_000);
+        final MovieResumeToken resumeToken = new MovieResumeToken(this.tokenFile);
+        final ChangeStreamDocument<Document> first = change(movie(), "1");
+        final ChangeStreamDocument<Document> second = change(movie(), "2");
+
+        when(this.cursor.tryNext())
+                .thenReturn(first)
+                .thenAnswer(invocation -> {
+                    assertThat(resumeToken.read()).isEqualTo(token("1"));
+                    return second;
+                })
+                .thenAnswer(invocation -> {
+                    assertThat(resumeToken.read()).isEqualTo(token("1"));
+                    return interrupt(null);
+                });
+
+        target.run();
+
+        assertThat(resumeToken.read()).isEqualTo(token("2"));
+    }
+
+    @Test
+    public void runMustResumeAfterTheLastTokenAndListenFromNowWhenItIsLost() throws Exception {
+        final MovieChangeListener target = listener(0);
+        final ChangeStreamDocument<Document> change = change(movie(), "1");
+
+        when(this.cursor.tryNext())
+                .thenReturn(change)
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenThrow(new MongoException(MovieChangeListener.CHANGE_STREAM_HISTORY_LOST, "History lost"))
+                .thenThrow(new MongoException(MovieChangeListener.RESUME_TOKEN_NOT_FOUND, "Token not found"))
+                .thenAnswer(invocation -> interrupt(null));
+
+        target.run();
+
+        verify(this.changeStream, times(1)).resumeAfter(token("1"));
+        verify(this.collection, times(4)).watch(anyList());
+        verify(this.applicationEventPublisher, times(1)).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void runMustPollNewMoviesOnStandaloneServers() throws Exception {
+        final MovieChangeListener target = listener(0);
+        final Movie movie = movie();
+
+        when(this.collection.watch(anyList()))
+                .thenThrow(new MongoException(MovieChangeListener.CHANGE_STREAM_NOT_SUPPORTED, "Not a replica set"));
+        when(this.movieRepository.streamByIdRange(anyString(), isNull(), eq(1000)))
+                .thenAnswer(invocation -> closeableIterator(List.of(movie)))
+                .thenAnswer(invocation -> interrupt(closeableIterator(List.of(movie))));
+
+        target.run();
+
+        verify(this.collection, times(1)).watch(anyList());
+        verify(this.movieRepository, times(2)).streamByIdRange(anyString(), isNull(), eq(1000));
+        verify(this.applicationEventPublisher, times(1)).publishEvent(any(MovieCreatedEvent.class));
+        assertThat(this.meterRegistry.get("movies.changes.published").tag("source", "polling").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void startMustResumeAfterThePersistedTokenOnTheListenerThread() throws Exception {
+        new MovieResumeToken(this.tokenFile).write(token("1"));
+        final MovieChangeListener target = listener(0);
+
+        target.start();
+
+        verify(this.changeStream, timeout(1000)).resumeAfter(token("1"));
+        target.destroy();
+        verify(this.cursor, timeout(1000)).close();
+    }
+
+    @Test
+    public void startMustListenFromNowWhenThePersistedTokenIsCorrupted() throws Exception {
+        Files.writeString(this.tokenFile, "not a token");
+        final MovieChangeListener target = listener(0);
+
+        target.start();
+
+        verify(this.changeStream, timeout(1000).atLeastOnce()).iterator();
+        target.destroy();
+        verify(this.changeStream, never()).resumeAfter(any(BsonDocument.class));
+    }
+
+    private MovieChangeListener listener(final long resumeTokenFlushMillis) {
+        return new MovieChangeListener(this.mongoTemplate, this.movieRepository, this.movieCausalSessions,
+                this.applicationEventPublisher, this.meterRegistry, this.tokenFile.toString(), resumeTokenFlushMillis, 1, 10_000);
+    }
+
+    private ChangeStreamDocument<Document> change(final Movie movie, final String token) {
+        final Document document = new Document("_id", new ObjectId(movie.getId()));
+        when(this.mongoConverter.read(Movie.class, document)).thenReturn(movie);
+        return new ChangeStreamDocument<>(token(token), new MongoNamespace("moviechallenge.movies"), document,
+                new BsonDocument(), clusterTime(token), OperationType.INSERT, null);
+    }
+
+    private static <T> T interrupt(final T result) {
+        Thread.currentThread().interrupt();
+        return result;
+    }
+
+    private static BsonTimestamp clusterTime(final String token) {
+        return new BsonTimestamp(Integer.parseInt(token), 1);
+    }
+
+    private static BsonDocument token(final String data) {
+        return new BsonDocument("_data", new BsonString(data));
+    }
+
+    private static Movie movie() {
+        return Movie.builder()
+                .id(new ObjectId().toHexString())
+                .name("Bacurau")
+                .censureLevel(CensureLevel.CENSURADO)
+                .build();
+    }
+
+    private static CloseableIterator<Movie> closeableIterator(final List<Movie> movies) {
+        final Iterator<Movie> iterator = movies.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Movie next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
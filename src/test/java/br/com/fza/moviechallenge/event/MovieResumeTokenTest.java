@@ -0,0 +1,50 @@
+package br.com.fza.moviechallenge.event;
+
+import br.com.fza.moviechallenge.exception.CouldNotListenToMovieChangesException;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieResumeTokenTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void resumeTokenMustBeReadBackAfterEachWrite() {
+        final MovieResumeToken target = new MovieResumeToken(temporaryFolder.getRoot().toPath().resolve("movies.token"));
+
+        assertThat(target.read()).isNull();
+
+        target.write(new BsonDocument("_data", new BsonString("825E2CC9E6")));
+        assertThat(target.read()).isEqualTo(new BsonDocument("_data", new BsonString("825E2CC9E6")));
+        target.write(new BsonDocument("_data", new BsonString("825E2CC9E7")));
+        assertThat(target.read()).isEqualTo(new BsonDocument("_data", new BsonString("825E2CC9E7")));
+    }
+
+    @Test(expected = CouldNotListenToMovieChangesException.class)
+    public void readMustThrowExceptionWithCorruptedResumeToken() throws Exception {
+        final Path path = temporaryFolder.newFile("movies.token").toPath();
+        Files.writeString(path, "not a token");
+
+        new MovieResumeToken(path).read();
+    }
+
+    @Test(expected = CouldNotListenToMovieChangesException.class)
+    public void readMustThrowExceptionWhenResumeTokenCannotBeRead() throws Exception {
+        new MovieResumeToken(temporaryFolder.newFolder("movies.token").toPath()).read();
+    }
+
+    @Test(expected = CouldNotListenToMovieChangesException.class)
+    public void writeMustThrowExceptionWhenResumeTokenCannotBeWritten() {
+        new MovieResumeToken(temporaryFolder.getRoot().toPath().resolve("missing").resolve("movies.token"))
+                .write(new BsonDocument("_data", new BsonString("825E2CC9E6")));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.fza.moviechallenge.exporter;
+
+import br.com.fza.moviechallenge.model.MovieExportReport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieExportJobTest {
+
+    @Mock
+    private MovieExporter movieExporter;
+
+    @InjectMocks
+    private MovieExportJob target;
+
+    @Test
+    public void exportSnapshotMustExportToATimestampedDirectory() {
+        final ArgumentCaptor<Path> directoryCaptor = ArgumentCaptor.forClass(Path.class);
+        ReflectionTestUtils.setField(target, "directory", "/data/exports");
+
+        when(this.movieExporter.export(directoryCaptor.capture()))
+                .thenReturn(MovieExportReport.builder().build());
+
+        target.exportSnapshot();
+
+        assertThat(directoryCaptor.getValue().getParent()).isEqualTo(Paths.get("/data/exports"));
+        assertThat(directoryCaptor.getValue().getFileName().toString()).matches("\\d{8}-\\d{6}");
+    }
+}
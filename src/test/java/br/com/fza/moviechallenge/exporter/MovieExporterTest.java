@@ -0,0 +1,203 @@
+package br.com.fza.moviechallenge.exporter;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.config.JacksonConfig;
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import br.com.fza.moviechallenge.controller.transformer.MovieTransformer;
+import br.com.fza.moviechallenge.exception.CouldNotExportMoviesException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieExportRange;
+import br.com.fza.moviechallenge.model.MovieExportReport;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.util.CloseableIterator;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieExporterTest extends BaseTest {
+
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(new JacksonConfig().javaTimeModule());
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private MovieExporter target;
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieExporter(this.movieRepository, new MovieTransformer(), this.objectMapper,
+                this.meterRegistry, 4, 2, 100);
+        this.directory = this.temporaryFolder.getRoot().toPath().resolve("snapshot");
+    }
+
+    @Test
+    public void exportMustWriteEveryMovieToCompressedNdjsonShards() throws Exception {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(movies.get(0)));
+        when(this.movieRepository.findFirstByOrderByIdDesc())
+                .thenReturn(Optional.of(movies.get(1)));
+        when(this.movieRepository.streamByIdRange(null, null, 100))
+                .thenReturn(closeableIterator(movies));
+
+        final MovieExportReport result = this.target.export(this.directory);
+
+        final Path file = this.directory.resolve("movies-000.ndjson.gz");
+        assertThat(result.getFiles()).containsExactly(file.toString());
+        assertThat(result.getMovies()).isEqualTo(2);
+        assertThat(result.getBytes()).isEqualTo(Files.size(file));
+        assertThat(result.getMoviesPerSecond()).isPositive();
+        assertThat(this.readLines(file))
+                .extracting(line -> this.objectMapper.readValue(line, MovieResponse.class).getName())
+                .containsExactly(movies.get(0).getName(), movies.get(1).getName());
+        assertThat(this.meterRegistry.get("movies.export.movies").counter().count()).isEqualTo(2);
+        assertThat(this.meterRegistry.get("movies.export.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void exportMustNotWriteShardsWhenThereAreNoMovies() {
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.empty());
+
+        final MovieExportReport result = this.target.export(this.directory);
+
+        assertThat(result.getFiles()).isEmpty();
+        assertThat(result.getMovies()).isZero();
+        assertThat(Files.isDirectory(this.directory)).isTrue();
+    }
+
+    @Test
+    public void splitIdRangesMustSplitTheIdTimestampsIntoContiguousRanges() {
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(this.movieWithId("5e0000000000000000000000")));
+        when(this.movieRepository.findFirstByOrderByIdDesc())
+                .thenReturn(Optional.of(this.movieWithId("5e00000fffffffffffffffff")));
+
+        final List<MovieExportRange> result = this.target.splitIdRanges();
+
+        assertThat(result).containsExactly(
+                new MovieExportRange(0, null, "5e0000040000000000000000"),
+                new MovieExportRange(1, "5e0000040000000000000000", "5e0000080000000000000000"),
+                new MovieExportRange(2, "5e0000080000000000000000", "5e00000c0000000000000000"),
+                new MovieExportRange(3, "5e00000c0000000000000000", null));
+    }
+
+    @Test
+    public void exportMustDeleteThePartialShardWhenReadingFails() {
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(movie));
+        when(this.movieRepository.streamByIdRange(isNull(), isNull(), eq(100)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        final CouldNotExportMoviesException exception = catchThrowableOfType(
+                () -> this.target.export(this.directory), CouldNotExportMoviesException.class);
+
+        assertThat(exception.getCause()).isInstanceOf(CouldNotExportMoviesException.class);
+        assertThat(this.directory.resolve("movies-000.ndjson.gz.part")).doesNotExist();
+    }
+
+    @Test(expected = CouldNotExportMoviesException.class)
+    public void exportMustThrowExceptionWhenThePartialShardCannotBeWritten() throws Exception {
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+        Files.createDirectories(this.directory.resolve("movies-000.ndjson.gz.part").resolve("locked"));
+
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(movie));
+        when(this.movieRepository.streamByIdRange(null, null, 100))
+                .thenReturn(closeableIterator(List.of(movie)));
+
+        this.target.export(this.directory);
+    }
+
+    @Test(expected = CouldNotExportMoviesException.class)
+    public void exportMustThrowExceptionWhenTheShardCannotBePublished() throws Exception {
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+        Files.createDirectories(this.directory.resolve("movies-000.ndjson.gz").resolve("locked"));
+
+        when(this.movieRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(movie));
+        when(this.movieRepository.streamByIdRange(null, null, 100))
+                .thenReturn(closeableIterator(List.of(movie)));
+
+        this.target.export(this.directory);
+    }
+
+    @Test(expected = CouldNotExportMoviesException.class)
+    public void exportMustThrowExceptionWhenTheDirectoryCannotBeCreated() throws Exception {
+        Files.createFile(this.directory);
+
+        this.target.export(this.directory);
+    }
+
+    private Movie movieWithId(final String id) {
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+        movie.setId(id);
+        return movie;
+    }
+
+    private List<String> readLines(final Path file) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private static CloseableIterator<Movie> closeableIterator(final List<Movie> movies) {
+        final Iterator<Movie> iterator = movies.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Movie next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
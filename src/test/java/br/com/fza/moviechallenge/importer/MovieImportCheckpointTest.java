@@ -0,0 +1,61 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.exception.CouldNotImportMoviesException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieImportCheckpointTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void checkpointMustBeStoredNextToTheImportedFile() throws Exception {
+        final Path file = temporaryFolder.newFile("movies.ndjson").toPath();
+        final MovieImportCheckpoint target = MovieImportCheckpoint.of(file);
+
+        assertThat(target.getPath()).isEqualTo(file.resolveSibling("movies.ndjson.checkpoint"));
+        assertThat(target.read()).isEqualTo(0);
+
+        target.write(42);
+        assertThat(target.read()).isEqualTo(42);
+        target.write(84);
+        assertThat(target.read()).isEqualTo(84);
+
+        target.delete();
+        assertThat(Files.exists(target.getPath())).isFalse();
+    }
+
+    @Test(expected = CouldNotImportMoviesException.class)
+    public void readMustThrowExceptionWithCorruptedCheckpoint() throws Exception {
+        final Path path = temporaryFolder.newFile("movies.ndjson.checkpoint").toPath();
+        Files.writeString(path, "not a line");
+
+        new MovieImportCheckpoint(path).read();
+    }
+
+    @Test(expected = CouldNotImportMoviesException.class)
+    public void readMustThrowExceptionWhenCheckpointCannotBeRead() throws Exception {
+        new MovieImportCheckpoint(temporaryFolder.newFolder("movies.ndjson.checkpoint").toPath()).read();
+    }
+
+    @Test(expected = CouldNotImportMoviesException.class)
+    public void writeMustThrowExceptionWhenCheckpointCannotBeWritten() {
+        new MovieImportCheckpoint(temporaryFolder.getRoot().toPath().resolve("missing").resolve("checkpoint"))
+                .write(42);
+    }
+
+    @Test(expected = CouldNotImportMoviesException.class)
+    public void deleteMustThrowExceptionWhenCheckpointCannotBeDeleted() throws Exception {
+        final Path path = temporaryFolder.newFolder("movies.ndjson.checkpoint").toPath();
+        Files.createFile(path.resolve("content"));
+
+        new MovieImportCheckpoint(path).delete();
+    }
+}
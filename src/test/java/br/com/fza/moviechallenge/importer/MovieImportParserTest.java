@@ -0,0 +1,79 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.config.JacksonConfig;
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.exception.CouldNotTransformException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieImportParserTest extends BaseTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(new JacksonConfig().javaTimeModule());
+
+    private final MovieImportParser target = new MovieImportParser(objectMapper);
+
+    @Test
+    public void parseMustReadOneJsonMoviePerLine() throws Exception {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme("validCandidate");
+
+        final MovieRequest result = target.parse(objectMapper.writeValueAsString(movieRequest), MovieImportFormat.NDJSON);
+
+        assertThat(result).isEqualTo(movieRequest);
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void parseMustThrowExceptionWithMalformedJson() {
+        target.parse("{\"name\": ", MovieImportFormat.NDJSON);
+    }
+
+    @Test
+    public void parseMustReadCsvWithQuotedValuesAndPipeSeparatedCast() {
+        final MovieRequest result = target.parse(
+                "\"Titanic, the \"\"Movie\"\"\",1997-12-19,CENSURADO,James Cameron,Leonardo di Caprio|Kate Winslet",
+                MovieImportFormat.CSV);
+
+        assertThat(result.getName()).isEqualTo("Titanic, the \"Movie\"");
+        assertThat(result.getLaunchDate()).isEqualTo(LocalDate.of(1997, 12, 19));
+        assertThat(result.getCensureLevel()).isEqualTo(CensureLevel.CENSURADO);
+        assertThat(result.getDirector()).isEqualTo("James Cameron");
+        assertThat(result.getCast()).containsExactly("Leonardo di Caprio", "Kate Winslet");
+    }
+
+    @Test
+    public void parseMustLeaveEmptyCsvValuesForValidation() {
+        final MovieRequest result = target.parse("\"\",,,\"\"\"\",\"\"", MovieImportFormat.CSV);
+
+        assertThat(result.getName()).isEmpty();
+        assertThat(result.getLaunchDate()).isNull();
+        assertThat(result.getCensureLevel()).isNull();
+        assertThat(result.getDirector()).isEqualTo("\"");
+        assertThat(result.getCast()).isEqualTo(List.of());
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void parseMustThrowExceptionWithWrongNumberOfCsvColumns() {
+        target.parse("Titanic,1997-12-19,CENSURADO", MovieImportFormat.CSV);
+    }
+
+    @Test(expected = CouldNotTransformException.class)
+    public void parseMustThrowExceptionWithInvalidCsvValues() {
+        target.parse("Titanic,19/12/1997,CENSURADO,James Cameron,Kate Winslet", MovieImportFormat.CSV);
+    }
+
+    @Test
+    public void formatMustBeInferredFromTheFileName() {
+        assertThat(MovieImportFormat.fromFileName("movies.CSV")).isEqualTo(MovieImportFormat.CSV);
+        assertThat(MovieImportFormat.fromFileName("movies.ndjson")).isEqualTo(MovieImportFormat.NDJSON);
+        assertThat(MovieImportFormat.CSV.hasHeader()).isTrue();
+        assertThat(MovieImportFormat.NDJSON.hasHeader()).isFalse();
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import br.com.fza.moviechallenge.model.MovieImportReport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Paths;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieImportRunnerTest {
+
+    @Mock
+    private MovieImporter movieImporter;
+
+    @InjectMocks
+    private MovieImportRunner target;
+
+    @Test
+    public void runMustInferTheFormatFromTheFileName() {
+        ReflectionTestUtils.setField(target, "file", "/data/movies.csv");
+        ReflectionTestUtils.setField(target, "format", "");
+
+        when(this.movieImporter.importFile(Paths.get("/data/movies.csv"), MovieImportFormat.CSV))
+                .thenReturn(MovieImportReport.builder().build());
+
+        target.run(new DefaultApplicationArguments(new String[0]));
+
+        verify(this.movieImporter).importFile(Paths.get("/data/movies.csv"), MovieImportFormat.CSV);
+    }
+
+    @Test
+    public void runMustUseTheConfiguredFormat() {
+        ReflectionTestUtils.setField(target, "file", "/data/movies.txt");
+        ReflectionTestUtils.setField(target, "format", "ndjson");
+
+        when(this.movieImporter.importFile(Paths.get("/data/movies.txt"), MovieImportFormat.NDJSON))
+                .thenReturn(MovieImportReport.builder().build());
+
+        target.run(new DefaultApplicationArguments(new String[0]));
+
+        verify(this.movieImporter).importFile(Paths.get("/data/movies.txt"), MovieImportFormat.NDJSON);
+    }
+}
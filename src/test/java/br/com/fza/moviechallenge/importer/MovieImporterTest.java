@@ -0,0 +1,205 @@
+package br.com.fza.moviechallenge.importer;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.config.JacksonConfig;
+import br.com.fza.moviechallenge.controller.request.MovieRequest;
+import br.com.fza.moviechallenge.controller.transformer.MovieRequestTransformer;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.CouldNotImportMoviesException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieImportFormat;
+import br.com.fza.moviechallenge.model.MovieImportReport;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.validation.Validation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieImporterTest extends BaseTest {
+
+    public static final String VALID_CANDIDATE = "validCandidate";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper(new JacksonConfig().javaTimeModule());
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private MovieImporter target;
+
+    @Before
+    public void setUp() {
+        this.target = this.buildImporter("MAJORITY");
+    }
+
+    @Test
+    public void importFileMustValidateAndWriteMoviesInBatches() throws Exception {
+        final Path file = this.writeFile("movies.ndjson",
+                this.json("First"),
+                "",
+                this.json(""),
+                "{not json",
+                this.json("Second"),
+                this.json("Third"));
+        final ArgumentCaptor<List<Movie>> batchCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(this.movieRepository.insertAll(batchCaptor.capture(), eq(WriteConcern.MAJORITY)))
+                .thenReturn(List.of());
+
+        final MovieImportReport result = this.target.importFile(file, MovieImportFormat.NDJSON);
+
+        assertThat(batchCaptor.getAllValues()).hasSize(3);
+        assertThat(batchCaptor.getAllValues().get(0)).extracting(Movie::getName).containsExactly("First");
+        assertThat(batchCaptor.getAllValues().get(1)).extracting(Movie::getName).containsExactly("Second");
+        assertThat(batchCaptor.getAllValues().get(2)).extracting(Movie::getName).containsExactly("Third");
+        assertThat(batchCaptor.getValue()).allSatisfy(movie -> assertThat(movie.getId()).isNotNull());
+        assertThat(result.getLines()).isEqualTo(5);
+        assertThat(result.getLastLine()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getInvalid()).isEqualTo(2);
+        assertThat(result.getDuplicated()).isZero();
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getLinesPerSecond()).isPositive();
+        assertThat(Files.exists(MovieImportCheckpoint.of(file).getPath())).isFalse();
+        assertThat(this.meterRegistry.get("movies.import.lines").tag("outcome", "created").counter().count())
+                .isEqualTo(3);
+        verify(this.applicationEventPublisher, times(3)).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void importFileMustSkipCsvHeaderAndCountWriteErrors() throws Exception {
+        final Path file = this.writeFile("movies.csv",
+                "name,launchDate,censureLevel,director,cast",
+                "Duplicated,1997-12-19,CENSURADO,James Cameron,Kate Winslet",
+                "Created,1997-12-19,SEM_CENSURA,James Cameron,Kate Winslet",
+                "Failed,1997-12-19,SEM_CENSURA,James Cameron,Kate Winslet");
+
+        when(this.movieRepository.insertAll(anyList(), eq(WriteConcern.MAJORITY)))
+                .thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0)))
+                .thenReturn(List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)));
+
+        final MovieImportReport result = this.target.importFile(file, MovieImportFormat.CSV);
+
+        assertThat(result.getLines()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getDuplicated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        verify(this.applicationEventPublisher, times(1)).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void importFileMustPublishOneEventPerBatch() throws Exception {
+        final Path file = this.writeFile("movies.ndjson", this.json("First"), this.json("Second"));
+        final ArgumentCaptor<MovieCreatedEvent> eventCaptor = ArgumentCaptor.forClass(MovieCreatedEvent.class);
+
+        when(this.movieRepository.insertAll(anyList(), eq(WriteConcern.MAJORITY)))
+                .thenReturn(List.of());
+
+        this.target.importFile(file, MovieImportFormat.NDJSON);
+
+        verify(this.applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getMovies()).extracting(Movie::getName).containsExactly("First", "Second");
+    }
+
+    @Test
+    public void importFileMustResumeAfterTheCheckpointedLine() throws Exception {
+        final Path file = this.writeFile("movies.ndjson", this.json("First"), this.json("Second"), this.json("Third"));
+        MovieImportCheckpoint.of(file).write(2);
+        final ArgumentCaptor<List<Movie>> batchCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(this.movieRepository.insertAll(batchCaptor.capture(), eq(WriteConcern.MAJORITY)))
+                .thenReturn(List.of());
+
+        final MovieImportReport result = this.target.importFile(file, MovieImportFormat.NDJSON);
+
+        assertThat(result.getResumedFromLine()).isEqualTo(2);
+        assertThat(result.getLines()).isEqualTo(1);
+        assertThat(batchCaptor.getValue()).extracting(Movie::getName).containsExactly("Third");
+    }
+
+    @Test
+    public void importFileMustNotWriteBatchesWithoutValidMovies() throws Exception {
+        final Path file = this.writeFile("movies.ndjson", this.json(""), this.json(""));
+
+        final MovieImportReport result = this.target.importFile(file, MovieImportFormat.NDJSON);
+
+        assertThat(result.getInvalid()).isEqualTo(2);
+        verify(this.movieRepository, never()).insertAll(anyList(), any(WriteConcern.class));
+    }
+
+    @Test
+    public void importFileMustKeepTheCheckpointOfTheLastWrittenBatchWhenWritingFails() throws Exception {
+        final Path file = this.writeFile("movies.ndjson",
+                this.json("First"), this.json("Second"), this.json("Third"), this.json("Fourth"));
+
+        when(this.movieRepository.insertAll(anyList(), eq(WriteConcern.MAJORITY)))
+                .thenReturn(List.of())
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        final CouldNotImportMoviesException exception = catchThrowableOfType(
+                () -> this.target.importFile(file, MovieImportFormat.NDJSON), CouldNotImportMoviesException.class);
+
+        assertThat(exception).hasMessageContaining("stopped after line 2");
+        assertThat(MovieImportCheckpoint.of(file).read()).isEqualTo(2);
+    }
+
+    @Test(expected = CouldNotImportMoviesException.class)
+    public void importFileMustThrowExceptionWhenTheFileCannotBeRead() {
+        this.target.importFile(temporaryFolder.getRoot().toPath().resolve("missing.ndjson"), MovieImportFormat.NDJSON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void importerMustRejectUnknownWriteConcern() {
+        this.buildImporter("EVERYWHERE");
+    }
+
+    private MovieImporter buildImporter(final String writeConcern) {
+        return new MovieImporter(new MovieImportParser(this.objectMapper), new MovieRequestTransformer(),
+                Validation.buildDefaultValidatorFactory().getValidator(), this.movieRepository,
+                this.applicationEventPublisher, this.meterRegistry, 2, 2, 1, writeConcern);
+    }
+
+    private String json(final String name) throws Exception {
+        final MovieRequest movieRequest = from(MovieRequest.class).gimme(VALID_CANDIDATE);
+        movieRequest.setName(name);
+        return this.objectMapper.writeValueAsString(movieRequest);
+    }
+
+    private Path writeFile(final String name, final String... lines) throws Exception {
+        final Path file = temporaryFolder.getRoot().toPath().resolve(name);
+        Files.write(file, List.of(lines));
+        return file;
+    }
+}
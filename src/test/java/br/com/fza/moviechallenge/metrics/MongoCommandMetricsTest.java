@@ -0,0 +1,61 @@
+package br.com.fza.moviechallenge.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MongoCommandMetricsTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress("mongo", 27017)));
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private RepositoryMethodTagger repositoryMethodTagger;
+
+    @Test
+    public void commandListenerMustTimeEachCommandByRepositoryMethodAndStatus() {
+        final MongoCommandMetrics target = new MongoCommandMetrics(meterRegistry, repositoryMethodTagger);
+
+        when(repositoryMethodTagger.currentMethod()).thenReturn("movieRepository.findAllByCensureLevel");
+
+        target.commandStarted(new CommandStartedEvent(1, CONNECTION, "moviechallenge", "find", new BsonDocument()));
+        target.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find", new BsonDocument(),
+                TimeUnit.MILLISECONDS.toNanos(5)));
+        target.commandFailed(new CommandFailedEvent(2, CONNECTION, "count", TimeUnit.MILLISECONDS.toNanos(7),
+                new IllegalStateException("boom")));
+
+        final Timer succeeded = timer("find", "success");
+        assertThat(succeeded.count()).isEqualTo(1);
+        assertThat(succeeded.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(timer("count", "failure").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(7);
+    }
+
+    private Timer timer(final String command, final String status) {
+        return meterRegistry.get("mongodb.driver.commands")
+                .tag("command", command)
+                .tag("method", "movieRepository.findAllByCensureLevel")
+                .tag("status", status)
+                .timer();
+    }
+
+}
@@ -0,0 +1,81 @@
+package br.com.fza.moviechallenge.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionAddedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolOpenedEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueEnteredEvent;
+import com.mongodb.event.ConnectionPoolWaitQueueExitedEvent;
+import com.mongodb.event.ConnectionRemovedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MongoPoolMetricsTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress("mongo", 27017));
+    private static final String SERVER_TAG = "mongo:27017";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private RepositoryMethodTagger repositoryMethodTagger;
+
+    @Test
+    public void connectionPoolListenerMustTrackThePoolSizeAndTheCheckedOutConnections() {
+        final MongoPoolMetrics target = new MongoPoolMetrics(meterRegistry, repositoryMethodTagger);
+        final ConnectionId first = new ConnectionId(SERVER);
+        final ConnectionId second = new ConnectionId(SERVER);
+
+        target.connectionPoolOpened(new ConnectionPoolOpenedEvent(SERVER, ConnectionPoolSettings.builder().build()));
+        target.connectionAdded(new ConnectionAddedEvent(first));
+        target.connectionAdded(new ConnectionAddedEvent(second));
+        target.connectionCheckedOut(new ConnectionCheckedOutEvent(first));
+        target.connectionCheckedOut(new ConnectionCheckedOutEvent(second));
+        target.connectionCheckedIn(new ConnectionCheckedInEvent(second));
+        target.connectionRemoved(new ConnectionRemovedEvent(second));
+
+        assertThat(gauge("mongodb.driver.pool.size")).isEqualTo(1);
+        assertThat(gauge("mongodb.driver.pool.checkedout")).isEqualTo(1);
+
+        target.connectionPoolClosed(new ConnectionPoolClosedEvent(SERVER));
+        target.connectionPoolClosed(new ConnectionPoolClosedEvent(SERVER));
+
+        assertThat(meterRegistry.find("mongodb.driver.pool.size").gauge()).isNull();
+        assertThat(meterRegistry.find("mongodb.driver.pool.checkedout").gauge()).isNull();
+    }
+
+    @Test
+    public void connectionPoolListenerMustTimeTheWaitQueueByRepositoryMethod() {
+        final MongoPoolMetrics target = new MongoPoolMetrics(meterRegistry, repositoryMethodTagger);
+
+        when(repositoryMethodTagger.currentMethod()).thenReturn("movieRepository.findAllByCensureLevel");
+
+        target.waitQueueEntered(new ConnectionPoolWaitQueueEnteredEvent(SERVER));
+        target.waitQueueExited(new ConnectionPoolWaitQueueExitedEvent(SERVER));
+
+        assertThat(meterRegistry.get("mongodb.driver.pool.wait")
+                .tag("server", SERVER_TAG)
+                .tag("method", "movieRepository.findAllByCensureLevel")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    private double gauge(final String name) {
+        return meterRegistry.get(name).tag("server", SERVER_TAG).gauge().value();
+    }
+
+}
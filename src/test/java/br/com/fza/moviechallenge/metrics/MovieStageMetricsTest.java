@@ -0,0 +1,46 @@
+package br.com.fza.moviechallenge.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MovieStageMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MovieStageMetrics target = new MovieStageMetrics(meterRegistry);
+
+    @Test
+    public void timeMustRecordTheStageAndMethodOfEachCall() {
+        assertThat(target.time(MovieStageMetrics.SERVICE, "movieServiceImpl.findAllByCensureLevel", () -> "movies"))
+                .isEqualTo("movies");
+
+        assertThat(count(MovieStageMetrics.SERVICE, "movieServiceImpl.findAllByCensureLevel", MovieStageMetrics.NONE))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void timeMustRecordTheExceptionOfFailedCalls() {
+        final Throwable exception = catchThrowable(() -> target.time(MovieStageMetrics.REPOSITORY,
+                "movieRepository.insert", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertThat(exception).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(count(MovieStageMetrics.REPOSITORY, "movieRepository.insert", "IllegalStateException"))
+                .isEqualTo(1);
+    }
+
+    private long count(final String stage, final String method, final String exception) {
+        return meterRegistry.get("movies.stages")
+                .tag("stage", stage)
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer()
+                .count();
+    }
+
+}
@@ -0,0 +1,60 @@
+package br.com.fza.moviechallenge.metrics;
+
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryMethodTaggerTest {
+
+    private final RepositoryMethodTagger target = new RepositoryMethodTagger();
+
+    @Test
+    public void postProcessAfterInitializationMustTagTheOutermostRepositoryMethodWhileItRuns() {
+        final TaggedRepositoryImpl implementation = new TaggedRepositoryImpl();
+        final TaggedRepository repository = (TaggedRepository) target.postProcessAfterInitialization(
+                new ProxyFactory(implementation).getProxy(), "movieRepository");
+        implementation.self = repository;
+
+        assertThat(repository.currentMethod()).isEqualTo("movieRepository.currentMethod");
+        assertThat(repository.outerMethod()).isEqualTo("movieRepository.outerMethod");
+        assertThat(target.currentMethod()).isEqualTo(RepositoryMethodTagger.NONE);
+    }
+
+    @Test
+    public void postProcessAfterInitializationMustLeaveOtherBeansUntouched() {
+        final Object bean = new ProxyFactory((Runnable) () -> { }).getProxy();
+        final TaggedRepositoryImpl repository = new TaggedRepositoryImpl();
+
+        assertThat(target.postProcessAfterInitialization(bean, "runnable")).isSameAs(bean);
+        assertThat(((Advised) bean).getAdvisors()).isEmpty();
+        assertThat(target.postProcessAfterInitialization(repository, "movieRepository")).isSameAs(repository);
+        assertThat(repository.currentMethod()).isEqualTo(RepositoryMethodTagger.NONE);
+    }
+
+    public interface TaggedRepository extends Repository<Movie, String> {
+
+        String currentMethod();
+
+        String outerMethod();
+    }
+
+    private class TaggedRepositoryImpl implements TaggedRepository {
+
+        private TaggedRepository self;
+
+        @Override
+        public String currentMethod() {
+            return target.currentMethod();
+        }
+
+        @Override
+        public String outerMethod() {
+            return this.self.currentMethod();
+        }
+    }
+
+}
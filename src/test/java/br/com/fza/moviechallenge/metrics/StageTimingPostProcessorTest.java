@@ -0,0 +1,80 @@
+package br.com.fza.moviechallenge.metrics;
+
+import br.com.fza.moviechallenge.controller.transformer.MovieCursorTransformer;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.service.MovieService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class StageTimingPostProcessorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final StageTimingPostProcessor target = new StageTimingPostProcessor(new MovieStageMetrics(meterRegistry));
+
+    @Test
+    public void postProcessAfterInitializationMustTimeTheTransformersThroughAClassProxy() {
+        final Movie movie = Movie.builder().id("5e5a9b6f1c9d440000a1b2c3").build();
+
+        final Object bean = target.postProcessAfterInitialization(new MovieCursorTransformer(), "movieCursorTransformer");
+
+        assertThat(bean).isInstanceOf(MovieCursorTransformer.class);
+        final MovieCursorTransformer transformer = (MovieCursorTransformer) bean;
+        assertThat(transformer.decode(transformer.transform(movie))).isEqualTo(movie.getId());
+        assertThat(count(MovieStageMetrics.TRANSFORMER, "movieCursorTransformer.transform")).isEqualTo(1);
+        assertThat(count(MovieStageMetrics.TRANSFORMER, "movieCursorTransformer.decode")).isEqualTo(1);
+    }
+
+    @Test
+    public void postProcessAfterInitializationMustTimeTheServicesAndRepositoriesThroughTheirProxies() {
+        final Page<Movie> page = Page.empty();
+        final MovieService service = proxy(MovieService.class, invocation -> page);
+        final TimedRepository repository = proxy(TimedRepository.class,
+                invocation -> "toString".equals(invocation.getMethod().getName()) ? "movieRepository" : Mono.empty());
+
+        assertThat(target.postProcessAfterInitialization(service, "movieServiceImpl")).isSameAs(service);
+        assertThat(target.postProcessAfterInitialization(repository, "movieRepository")).isSameAs(repository);
+
+        assertThat(service.findAllByCensureLevel(CensureLevel.CENSURADO, Pageable.unpaged())).isSameAs(page);
+        assertThat(repository.findAll()).isNotNull();
+        assertThat(repository.toString()).isEqualTo("movieRepository");
+        assertThat(count(MovieStageMetrics.SERVICE, "movieServiceImpl.findAllByCensureLevel")).isEqualTo(1);
+        assertThat(meterRegistry.find("movies.stages").tag("stage", MovieStageMetrics.REPOSITORY).timer()).isNull();
+    }
+
+    @Test
+    public void postProcessAfterInitializationMustLeaveOtherBeansUntouched() {
+        final Runnable bean = mock(Runnable.class);
+
+        assertThat(target.postProcessAfterInitialization(bean, "runnable")).isSameAs(bean);
+    }
+
+    private long count(final String stage, final String method) {
+        return meterRegistry.get("movies.stages").tag("stage", stage).tag("method", method).timer().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final MethodInterceptor interceptor) {
+        final ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.addInterface(type);
+        proxyFactory.addAdvice(interceptor);
+        return (T) proxyFactory.getProxy();
+    }
+
+    public interface TimedRepository extends Repository<Movie, String> {
+
+        Mono<Movie> findAll();
+    }
+
+}
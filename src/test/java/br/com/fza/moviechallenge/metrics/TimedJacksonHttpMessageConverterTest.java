@@ -0,0 +1,62 @@
+package br.com.fza.moviechallenge.metrics;
+
+import br.com.fza.moviechallenge.controller.response.MovieResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimedJacksonHttpMessageConverterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TimedJacksonHttpMessageConverter target =
+            new TimedJacksonHttpMessageConverter(new ObjectMapper(), new MovieStageMetrics(meterRegistry));
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void writeMustTimeTheSerializationByHandler() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, TimedJacksonHttpMessageConverterTest.class.getMethod("tearDown")));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        final MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        target.write(MovieResponse.builder().name("Bacurau").build(), MediaType.APPLICATION_JSON, outputMessage);
+
+        assertThat(outputMessage.getBodyAsString()).contains("Bacurau");
+        assertThat(count("timedJacksonHttpMessageConverterTest.tearDown")).isEqualTo(1);
+    }
+
+    @Test
+    public void writeMustTimeTheSerializationWithoutAHandler() throws Exception {
+        target.write(MovieResponse.builder().build(), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        target.write(MovieResponse.builder().build(), MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+
+        assertThat(count(MovieStageMetrics.NONE)).isEqualTo(2);
+    }
+
+    private long count(final String method) {
+        return meterRegistry.get("movies.stages")
+                .tag("stage", MovieStageMetrics.SERIALIZATION)
+                .tag("method", method)
+                .timer()
+                .count();
+    }
+
+}
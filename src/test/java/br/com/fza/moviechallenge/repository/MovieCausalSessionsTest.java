@@ -0,0 +1,308 @@
+package br.com.fza.moviechallenge.repository;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientException;
+import com.mongodb.MongoException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mongodb.MongoDbFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieCausalSessionsTest {
+
+    private static final BsonDocument CLUSTER_TIME = new BsonDocument("clusterTime", new BsonTimestamp(9, 1));
+
+    @Mock
+    private MongoDbFactory mongoDbFactory;
+    @Mock
+    private MongoDbFactory sessionBoundFactory;
+    @Mock
+    private ClientSession session;
+    @Mock
+    private MongoDatabase database;
+    @Mock
+    private MongoDatabase sessionBoundDatabase;
+
+    private MovieCausalSessions target;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieCausalSessions(this.mongoDbFactory);
+        lenient().when(this.mongoDbFactory.getSession(argThat(ClientSessionOptions::isCausallyConsistent)))
+                .thenReturn(this.session);
+        lenient().when(this.mongoDbFactory.getDb()).thenReturn(this.database);
+        lenient().when(this.mongoDbFactory.withSession(this.session)).thenReturn(this.sessionBoundFactory);
+        lenient().when(this.sessionBoundFactory.getDb()).thenReturn(this.sessionBoundDatabase);
+        lenient().when(this.session.getClusterTime()).thenReturn(CLUSTER_TIME);
+    }
+
+    @Test
+    public void executeMustBindTheSessionToTheThreadAndAnswerTheTokenOfThatSession() {
+        when(this.session.getOperationTime()).thenReturn(null, timestamp(5));
+
+        final String token = this.target.execute(null, () -> {
+            assertThat(this.target.inSession()).isTrue();
+            assertThat(this.target.getDatabase()).isSameAs(this.sessionBoundDatabase);
+            return this.target.token().orElseThrow();
+        });
+
+        assertThat(this.target.inSession()).isFalse();
+        assertThat(this.target.getDatabase()).isSameAs(this.database);
+        assertThat(this.target.parse(token)).isEqualTo(token(5).append("clusterTime", CLUSTER_TIME));
+        assertThat(this.target.token()).isEmpty();
+        verify(this.session, never()).advanceOperationTime(any());
+        verify(this.session).close();
+    }
+
+    @Test
+    public void executeMustStartAfterTheGivenTokenButNotAfterTheLatestOperationTimeOfTheNode() {
+        final BsonDocument after = token(4).append("clusterTime", CLUSTER_TIME);
+        this.target.advance(timestamp(7));
+
+        assertThat(this.target.execute(after, () -> "movies")).isEqualTo("movies");
+
+        verify(this.session).advanceClusterTime(CLUSTER_TIME);
+        verify(this.session).advanceOperationTime(timestamp(4));
+        verify(this.session, never()).advanceOperationTime(timestamp(7));
+    }
+
+    @Test
+    public void catchUpMustAdvanceTheSessionToTheLatestOperationTimeRecordedByThisNode() {
+        when(this.session.getOperationTime()).thenReturn(null, timestamp(5));
+        this.target.execute(null, () -> "write");
+
+        this.target.execute(null, () -> {
+            this.target.catchUp();
+            return "cached page";
+        });
+
+        verify(this.session).advanceClusterTime(CLUSTER_TIME);
+        verify(this.session).advanceOperationTime(timestamp(5));
+    }
+
+    @Test
+    public void catchUpMustDoNothingWithoutASessionOrAnOperationTime() {
+        this.target.catchUp();
+        this.target.execute(null, () -> {
+            this.target.catchUp();
+            return "cached page";
+        });
+
+        verify(this.session, never()).advanceOperationTime(any());
+    }
+
+    @Test
+    public void observedMustAnswerWhatTheBoundSessionObserved() {
+        when(this.session.getOperationTime()).thenReturn(null, null, timestamp(5));
+
+        assertThat(this.target.observed()).isEmpty();
+        assertThat(this.target.execute(null, () -> this.target.observed())).isEmpty();
+        assertThat(this.target.execute(null, () -> this.target.observed()))
+                .contains(token(5).append("clusterTime", CLUSTER_TIME));
+    }
+
+    @Test
+    public void observeMustAdvanceOnlyTheBoundSession() {
+        this.target.observe(token(5));
+        verify(this.session, never()).advanceOperationTime(any());
+
+        this.target.execute(null, () -> {
+            this.target.observe(token(5).append("clusterTime", CLUSTER_TIME));
+            return "coalesced write";
+        });
+
+        verify(this.session).advanceClusterTime(CLUSTER_TIME);
+        verify(this.session).advanceOperationTime(timestamp(5));
+    }
+
+    @Test
+    public void tokenMustOmitTheClusterTimeWhenTheServerAnswersNone() {
+        when(this.session.getOperationTime()).thenReturn(null, timestamp(5));
+        when(this.session.getClusterTime()).thenReturn(null);
+
+        final String token = this.target.execute(null, () -> this.target.token().orElseThrow());
+
+        assertThat(this.target.parse(token)).isEqualTo(token(5));
+    }
+
+    @Test
+    public void executeMustNotRecordAnythingWhenTheServerAnswersNoOperationTime() {
+        assertThat(this.target.execute(null, () -> this.target.token())).isEmpty();
+
+        this.target.execute(null, () -> {
+            this.target.catchUp();
+            return "cached page";
+        });
+
+        verify(this.session, never()).advanceOperationTime(any());
+    }
+
+    @Test
+    public void executeMustUnbindTheSessionWhenTheOperationFails() {
+        final Throwable exception = catchThrowable(() -> this.target.execute(null, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertThat(exception).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(this.target.inSession()).isFalse();
+        assertThat(this.target.getDatabase()).isSameAs(this.database);
+        verify(this.session).close();
+    }
+
+    @Test
+    public void executeMustRunWithoutASessionWhenTheServerDoesNotSupportThem() {
+        doThrow(new MongoClientException("Sessions are not supported"))
+                .when(this.mongoDbFactory).getSession(any(ClientSessionOptions.class));
+
+        final MongoDatabase database = this.target.execute(null, () -> {
+            assertThat(this.target.inSession()).isFalse();
+            return this.target.getDatabase();
+        });
+
+        assertThat(database).isSameAs(this.database);
+    }
+
+    @Test
+    public void snapshotMustReadThePrimaryInOneSnapshotAndAnswerItsTime() {
+        when(this.session.getOperationTime()).thenReturn(timestamp(5));
+
+        final MongoDatabase database = this.target.snapshot(() -> {
+            assertThat(this.target.inSession()).isFalse();
+            assertThat(this.target.snapshotTime()).contains(timestamp(5));
+            return this.target.getDatabase();
+        });
+
+        assertThat(database).isSameAs(this.sessionBoundDatabase);
+        assertThat(this.target.snapshotTime()).isEmpty();
+        assertThat(this.target.execute(null, () -> this.target.snapshotTime())).isEmpty();
+        verify(this.session).startTransaction(argThat(options -> options.getReadConcern() == ReadConcern.SNAPSHOT
+                && options.getReadPreference() == ReadPreference.primary()));
+        verify(this.session).commitTransaction();
+        verify(this.session, times(2)).close();
+    }
+
+    @Test
+    public void snapshotMustRethrowFailuresWithoutCommitting() {
+        final Throwable failure = catchThrowable(() -> this.target.snapshot(() -> {
+            throw new InvalidDataAccessApiUsageException("Invalid", new MongoException(2, "Bad value"));
+        }));
+        final Throwable unexpected = catchThrowable(() -> this.target.snapshot(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertThat(failure).isInstanceOf(InvalidDataAccessApiUsageException.class);
+        assertThat(unexpected).isInstanceOf(IllegalStateException.class);
+        assertThat(this.target.snapshotTime()).isEmpty();
+        verify(this.session, never()).commitTransaction();
+        verify(this.mongoDbFactory, times(2)).getSession(any(ClientSessionOptions.class));
+    }
+
+    @Test
+    public void snapshotMustReadTheLatestDataWhenTheServerRefusesTransactions() {
+        final int[] runs = new int[1];
+
+        final String result = this.target.snapshot(() -> {
+            if (runs[0]++ == 0) {
+                throw new InvalidDataAccessApiUsageException("Transaction numbers are only allowed on a replica set",
+                        new MongoException(MovieCausalSessions.ILLEGAL_OPERATION, "Illegal operation"));
+            }
+            assertThat(this.target.snapshotTime()).isEmpty();
+            return "stats";
+        });
+        this.target.snapshot(() -> "stats");
+
+        assertThat(result).isEqualTo("stats");
+        assertThat(runs[0]).isEqualTo(2);
+        verify(this.mongoDbFactory).getSession(any(ClientSessionOptions.class));
+    }
+
+    @Test
+    public void snapshotMustReadTheLatestDataWhenTheDriverRefusesTransactions() {
+        final int[] runs = new int[1];
+
+        this.target.snapshot(() -> {
+            if (runs[0]++ == 0) {
+                throw new MongoClientException("Transactions are not supported");
+            }
+            return "stats";
+        });
+
+        assertThat(runs[0]).isEqualTo(2);
+    }
+
+    @Test
+    public void snapshotMustReadTheLatestDataWhenTheServerDoesNotSupportSessions() {
+        doThrow(new MongoClientException("Sessions are not supported"))
+                .when(this.mongoDbFactory).getSession(any(ClientSessionOptions.class));
+
+        assertThat(this.target.snapshot(() -> this.target.getDatabase())).isSameAs(this.database);
+        assertThat(this.target.snapshot(() -> this.target.getDatabase())).isSameAs(this.database);
+
+        verify(this.mongoDbFactory).getSession(any(ClientSessionOptions.class));
+    }
+
+    @Test
+    public void advanceMustKeepTheLatestOperationTime() {
+        this.target.advance(null);
+        this.target.advance(timestamp(5));
+        this.target.advance(timestamp(3));
+        this.target.execute(null, () -> {
+            this.target.catchUp();
+            return "cached page";
+        });
+
+        this.target.advance(timestamp(7));
+        this.target.execute(null, () -> {
+            this.target.catchUp();
+            return "cached page";
+        });
+
+        verify(this.session).advanceOperationTime(timestamp(5));
+        verify(this.session, never()).advanceOperationTime(timestamp(3));
+        verify(this.session).advanceOperationTime(timestamp(7));
+    }
+
+    @Test
+    public void parseMustRejectInvalidTokens() {
+        final String withoutOperationTime = Base64.getUrlEncoder()
+                .encodeToString(CLUSTER_TIME.toJson().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(catchThrowableOfType(() -> this.target.parse("not a token"), IllegalArgumentException.class))
+                .hasMessage("Invalid causal token: not a token");
+        assertThat(catchThrowableOfType(() -> this.target.parse(withoutOperationTime), IllegalArgumentException.class))
+                .hasCauseInstanceOf(RuntimeException.class);
+    }
+
+    private static BsonDocument token(final int seconds) {
+        return new BsonDocument("operationTime", timestamp(seconds));
+    }
+
+    private static BsonTimestamp timestamp(final int seconds) {
+        return new BsonTimestamp(seconds, 1);
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.model.Movie;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations indexOperations;
+
+    @InjectMocks
+    private MovieIndexInitializer target;
+
+    @Before
+    public void setUp() {
+        when(this.mongoTemplate.indexOps(Movie.class)).thenReturn(this.indexOperations);
+    }
+
+    @Test
+    public void ensureUniqueNameIndexMustOnlyVerifyAnExistingUniqueIndex() {
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of(index("_id_", false, "_id"), index("name_unique", true, "name")));
+
+        this.target.ensureUniqueNameIndex();
+
+        verify(this.indexOperations, never()).dropIndex(anyString());
+        verify(this.indexOperations, never()).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    public void ensureUniqueNameIndexMustCreateTheIndexWhenMissing() {
+        final ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of(index("_id_", false, "_id"), index("name_launchDate", true, "name", "launchDate")));
+
+        this.target.ensureUniqueNameIndex();
+
+        verify(this.indexOperations, never()).dropIndex(anyString());
+        verify(this.indexOperations).ensureIndex(indexCaptor.capture());
+        assertThat(indexCaptor.getValue().getIndexKeys()).containsEntry("name", 1);
+        assertThat(indexCaptor.getValue().getIndexOptions())
+                .containsEntry("name", MovieIndexInitializer.NAME_INDEX)
+                .containsEntry("unique", true);
+    }
+
+    @Test
+    public void ensureUniqueNameIndexMustReplaceANonUniqueIndex() {
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of(index("name", false, "name")));
+
+        this.target.ensureUniqueNameIndex();
+
+        verify(this.indexOperations).dropIndex("name");
+        verify(this.indexOperations).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test(expected = DuplicateKeyException.class)
+    public void ensureUniqueNameIndexMustFailWhenDuplicatedNamesExist() {
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of());
+        when(this.indexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        this.target.ensureUniqueNameIndex();
+    }
+
+    @Test
+    public void reconcileSortIndexesMustCreateACompoundIndexPerSortableField() {
+        final ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of(index("_id_", false, "_id"), index("censureLevel_id", false, "censureLevel", "_id"),
+                        index("name_unique", true, "name")));
+
+        this.target.reconcileSortIndexes();
+
+        verify(this.indexOperations, never()).dropIndex(anyString());
+        verify(this.indexOperations, times(3)).ensureIndex(indexCaptor.capture());
+        assertThat(indexCaptor.getAllValues())
+                .extracting(index -> index.getIndexOptions().get("name"))
+                .containsExactlyInAnyOrder("sort_censureLevel_name", "sort_censureLevel_launchDate",
+                        "sort_censureLevel_director");
+        assertThat(indexCaptor.getAllValues().get(0).getIndexKeys().keySet())
+                .containsExactly("censureLevel", "name", "_id");
+    }
+
+    @Test
+    public void ensureFilmographyIndexesMustCreateADescendingLaunchDateIndexOnCastAndDirector() {
+        final ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+
+        this.target.ensureFilmographyIndexes();
+
+        verify(this.indexOperations, times(2)).ensureIndex(indexCaptor.capture());
+        assertThat(indexCaptor.getAllValues())
+                .extracting(index -> index.getIndexOptions().get("name"))
+                .containsExactly("filmography_director", "filmography_cast");
+        assertThat(indexCaptor.getAllValues().get(1).getIndexKeys())
+                .isEqualTo(new Document("cast", 1).append("launchDate", -1).append("_id", -1));
+    }
+
+    @Test
+    public void ensureReleaseIndexMustCreateALaunchDateIndexForRangesWithoutCensureLevel() {
+        final ArgumentCaptor<Index> indexCaptor = ArgumentCaptor.forClass(Index.class);
+
+        this.target.ensureReleaseIndex();
+
+        verify(this.indexOperations).ensureIndex(indexCaptor.capture());
+        assertThat(indexCaptor.getValue().getIndexOptions().get("name")).isEqualTo("launchDate_id");
+        assertThat(indexCaptor.getValue().getIndexKeys())
+                .isEqualTo(new Document("launchDate", 1).append("_id", 1));
+    }
+
+    @Test
+    public void reconcileSortIndexesMustDropStaleSortIndexesAndTheSingleCensureLevelIndex() {
+        when(this.indexOperations.getIndexInfo())
+                .thenReturn(List.of(index("sort_censureLevel_name", false, "censureLevel", "name", "_id"),
+                        index("sort_censureLevel_cast", false, "censureLevel", "cast", "_id"),
+                        index("censureLevel", false, "censureLevel"),
+                        index("censureLevel_id", false, "censureLevel", "_id")));
+
+        this.target.reconcileSortIndexes();
+
+        verify(this.indexOperations).dropIndex("sort_censureLevel_cast");
+        verify(this.indexOperations).dropIndex("censureLevel");
+        verify(this.indexOperations, times(2)).dropIndex(anyString());
+        verify(this.indexOperations, times(3)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    private static IndexInfo index(final String name, final boolean unique, final String... keys) {
+        return new IndexInfo(List.of(keys).stream()
+                .map(key -> IndexField.create(key, Sort.Direction.ASC))
+                .collect(Collectors.toList()), name, unique, false, null);
+    }
+}
@@ -0,0 +1,431 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.TimeZone;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieRepositoryImplTest extends BaseTest {
+
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private MovieRepositoryImpl target;
+
+    @Test
+    public void findAllByCensureLevelMustProjectRequestedFieldsAndExcludeId() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+        when(this.mongoTemplate.count(any(Query.class), eq(Movie.class)))
+                .thenReturn(5L);
+
+        final Page<Movie> result = this.target.findAllByCensureLevel(censureLevel,
+                EnumSet.of(MovieField.NAME, MovieField.CENSURE_LEVEL), pageable);
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("censureLevel", censureLevel));
+        assertThat(query.getFieldsObject())
+                .isEqualTo(new Document("name", 1).append("censureLevel", 1).append("id", 0));
+        assertThat(query.getSkip()).isEqualTo(2);
+        assertThat(query.getLimit()).isEqualTo(2);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).containsExactlyElementsOf(movies);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustKeepIdWhenRequestedAndSkipCountWhenUnpaged() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+
+        final Page<Movie> result = this.target.findAllByCensureLevel(censureLevel,
+                EnumSet.of(MovieField.ID, MovieField.NAME), Pageable.unpaged());
+
+        assertThat(queryCaptor.getValue().getFieldsObject())
+                .isEqualTo(new Document("id", 1).append("name", 1));
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(this.mongoTemplate, never()).count(any(Query.class), eq(Movie.class));
+    }
+
+    @Test
+    public void findFilmographyMustSortByLaunchDateAndForceTheFilmographyIndex() {
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        final ArgumentCaptor<Query> countCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+        when(this.mongoTemplate.count(countCaptor.capture(), eq(Movie.class)))
+                .thenReturn(5L);
+
+        final Page<Movie> result = this.target.findFilmography(MovieField.CAST, "Wagner Moura", pageable);
+
+        final Query query = queryCaptor.getValue();
+        final String hint = new Document("cast", 1).append("launchDate", -1).append("_id", -1).toJson();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("cast", "Wagner Moura"));
+        assertThat(query.getSortObject()).isEqualTo(new Document("launchDate", -1).append("id", -1));
+        assertThat(query.getHint()).isEqualTo(hint);
+        assertThat(query.getSkip()).isEqualTo(2);
+        assertThat(query.getLimit()).isEqualTo(2);
+        assertThat(countCaptor.getValue().getHint()).isEqualTo(hint);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getContent()).containsExactlyElementsOf(movies);
+    }
+
+    @Test
+    public void findSliceByLaunchDateBetweenMustSeekPastTheCursorOnTheCensureLevelSortIndex() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 12, 31);
+        final LocalDate lastLaunchDate = LocalDate.of(2020, 3, 1);
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final List<Movie> movies = from(Movie.class).gimme(3, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+
+        final Slice<Movie> result = this.target.findSliceByLaunchDateBetween(from, to, CensureLevel.CENSURADO,
+                Movie.builder().launchDate(lastLaunchDate).id(lastId).build(), 2);
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("censureLevel", CensureLevel.CENSURADO)
+                .append("launchDate", new Document("$gte", from).append("$lte", to))
+                .append("$or", List.of(new Document("launchDate", new Document("$gt", lastLaunchDate)),
+                        new Document("launchDate", lastLaunchDate)
+                                .append("id", new Document("$gt", new ObjectId(lastId))))));
+        assertThat(query.getSortObject()).isEqualTo(new Document("launchDate", 1).append("id", 1));
+        assertThat(query.getLimit()).isEqualTo(3);
+        assertThat(query.getHint())
+                .isEqualTo(new Document("censureLevel", 1).append("launchDate", 1).append("_id", 1).toJson());
+        assertThat(result.getContent()).containsExactlyElementsOf(movies.subList(0, 2));
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    public void findSliceByLaunchDateBetweenMustUseTheReleaseIndexWithoutCensureLevel() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 1, 31);
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+
+        final Slice<Movie> result = this.target.findSliceByLaunchDateBetween(from, to, null, null, 2);
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject())
+                .isEqualTo(new Document("launchDate", new Document("$gte", from).append("$lte", to)));
+        assertThat(query.getHint()).isEqualTo(new Document("launchDate", 1).append("_id", 1).toJson());
+        assertThat(result.getContent()).containsExactlyElementsOf(movies);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    public void aggregateStatsMustGroupEveryMovie() {
+        final ArgumentCaptor<Aggregation> aggregationCaptor = ArgumentCaptor.forClass(Aggregation.class);
+
+        when(this.mongoTemplate.aggregate(aggregationCaptor.capture(), eq(Movie.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", "CENSURADO").append("count", 2),
+                        new Document("_id", null).append("count", 1)), new Document()))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", 2019).append("count", 3)), new Document()))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", "Kleber Mendonça Filho").append("count", 2L)), new Document()));
+
+        final MovieStats result = this.target.aggregateStats();
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getByCensureLevel()).containsOnly(entry(CensureLevel.CENSURADO, 2L));
+        assertThat(result.getByLaunchYear()).containsOnly(entry(2019, 3L));
+        assertThat(result.getByDirector()).containsOnly(entry("Kleber Mendonça Filho", 2L));
+        assertThat(aggregationCaptor.getAllValues()).hasSize(3).allSatisfy(aggregation -> {
+            assertThat(aggregation.getOptions().isAllowDiskUse()).isTrue();
+            assertThat(aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT).get(0)).containsOnlyKeys("$project");
+        });
+    }
+
+    @Test
+    public void aggregateStatsMustGroupLaunchYearsInTheZoneLaunchDatesAreStoredIn() {
+        final TimeZone defaultTimeZone = TimeZone.getDefault();
+        final ArgumentCaptor<Aggregation> aggregationCaptor = ArgumentCaptor.forClass(Aggregation.class);
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        try {
+            when(this.mongoTemplate.aggregate(aggregationCaptor.capture(), eq(Movie.class), eq(Document.class)))
+                    .thenReturn(new AggregationResults<>(List.of(
+                            new Document("_id", "CENSURADO").append("count", 1)), new Document()))
+                    .thenReturn(new AggregationResults<>(List.of(
+                            new Document("_id", 2020).append("count", 1)), new Document()))
+                    .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+            final MovieStats result = this.target.aggregateStats();
+
+            // A 1 January 2020 launch is stored as 2019-12-31T15:00Z, only its zone puts it back in 2020
+            assertThat(result.getByLaunchYear()).containsOnly(entry(LocalDate.of(2020, 1, 1).getYear(), 1L));
+            assertThat(aggregationCaptor.getAllValues().get(1).toPipeline(Aggregation.DEFAULT_CONTEXT).get(0))
+                    .isEqualTo(new Document("$project", new Document("key", new Document("$year",
+                            new Document("date", "$launchDate").append("timezone", "Asia/Tokyo")))));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    @Test
+    public void findExistingIdsMustQueryOnlyTheIdsWithIn() {
+        final String id = "5e2cc9e6ec7aef3c7d38a84c";
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(List.of(Movie.builder().id(id).build()));
+
+        final List<String> result = this.target.findExistingIds(List.of(id));
+
+        assertThat(result).containsExactly(id);
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .isEqualTo(new Document("id", new Document("$in", List.of(new ObjectId(id)))));
+        assertThat(queryCaptor.getValue().getFieldsObject()).isEqualTo(new Document("id", 1));
+    }
+
+    @Test
+    public void findExistingNamesMustQueryDistinctNamesWithIn() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.mongoTemplate.findDistinct(queryCaptor.capture(), eq("name"), eq(Movie.class), eq(String.class)))
+                .thenReturn(List.of("Titanic"));
+
+        final List<String> result = this.target.findExistingNames(List.of("Titanic", "Avatar"));
+
+        assertThat(result).containsExactly("Titanic");
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .isEqualTo(new Document("name", new Document("$in", List.of("Titanic", "Avatar"))));
+    }
+
+    @Test
+    public void insertAllMustExecuteOneUnorderedBulkWrite() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final BulkOperations bulkOperations = mock(BulkOperations.class);
+
+        when(this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(movies))
+                .thenReturn(bulkOperations);
+
+        final List<BulkWriteError> result = this.target.insertAll(movies);
+
+        assertThat(result).isEmpty();
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    public void insertAllMustReturnWriteErrorsOfPartialFailures() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final BulkOperations bulkOperations = mock(BulkOperations.class);
+        final List<BulkWriteError> writeErrors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1));
+
+        when(this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(movies))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error", new MongoBulkWriteException(
+                        BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()), writeErrors, null,
+                        new ServerAddress())));
+
+        final List<BulkWriteError> result = this.target.insertAll(movies);
+
+        assertThat(result).containsExactlyElementsOf(writeErrors);
+    }
+
+    @Test(expected = DataAccessResourceFailureException.class)
+    public void insertAllMustRethrowFailuresOfTheWholeBulkWrite() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final BulkOperations bulkOperations = mock(BulkOperations.class);
+
+        when(this.mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(movies))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        this.target.insertAll(movies);
+    }
+
+    @Test
+    public void insertAllWithWriteConcernMustExecuteOneUnorderedBulkWriteWithTheWriteConcern() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MongoCollection<Document> collection = this.mockCollection();
+        final ArgumentCaptor<List<InsertOneModel<Document>>> insertsCaptor = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<BulkWriteOptions> optionsCaptor = ArgumentCaptor.forClass(BulkWriteOptions.class);
+
+        final List<BulkWriteError> result = this.target.insertAll(movies, WriteConcern.MAJORITY);
+
+        assertThat(result).isEmpty();
+        verify(collection).withWriteConcern(WriteConcern.MAJORITY);
+        verify(collection).bulkWrite(insertsCaptor.capture(), optionsCaptor.capture());
+        assertThat(insertsCaptor.getValue()).hasSize(2);
+        assertThat(optionsCaptor.getValue().isOrdered()).isFalse();
+        verify(this.mongoTemplate.getConverter(), times(2)).write(any(Movie.class), any(Document.class));
+    }
+
+    @Test
+    public void insertAllWithWriteConcernMustReturnWriteErrorsOfPartialFailures() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final List<BulkWriteError> writeErrors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0));
+        this.mockCollection();
+
+        when(this.mongoTemplate.execute(eq(Movie.class), any(CollectionCallback.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error", new MongoBulkWriteException(
+                        BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()), writeErrors, null,
+                        new ServerAddress())));
+
+        final List<BulkWriteError> result = this.target.insertAll(movies, WriteConcern.W1);
+
+        assertThat(result).containsExactlyElementsOf(writeErrors);
+    }
+
+    @Test(expected = DuplicateKeyException.class)
+    public void insertAllWithWriteConcernMustRethrowWriteConcernErrors() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final List<BulkWriteError> writeErrors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0));
+        this.mockCollection();
+
+        when(this.mongoTemplate.execute(eq(Movie.class), any(CollectionCallback.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error", new MongoBulkWriteException(
+                        BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()), writeErrors,
+                        new WriteConcernError(64, "waiting for replication timed out", new BsonDocument()),
+                        new ServerAddress())));
+
+        this.target.insertAll(movies, WriteConcern.MAJORITY);
+    }
+
+    @Test
+    public void streamByIdRangeMustStreamTheIdRangeSortedById() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        final CloseableIterator<Movie> movies = mock(CloseableIterator.class);
+
+        when(this.mongoTemplate.stream(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(movies);
+
+        final CloseableIterator<Movie> result = this.target.streamByIdRange("5e0000000000000000000000",
+                "5e0000040000000000000000", 100);
+
+        assertThat(result).isSameAs(movies);
+        assertThat(queryCaptor.getValue().getQueryObject()).isEqualTo(new Document("id",
+                new Document("$gte", new ObjectId("5e0000000000000000000000"))
+                        .append("$lt", new ObjectId("5e0000040000000000000000"))));
+        assertThat(queryCaptor.getValue().getSortObject()).isEqualTo(new Document("id", 1));
+        assertThat(queryCaptor.getValue().getMeta().getCursorBatchSize()).isEqualTo(100);
+    }
+
+    @Test
+    public void streamByIdRangeMustStreamEverythingWhenUnbounded() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        this.target.streamByIdRange(null, null, 100);
+
+        verify(this.mongoTemplate).stream(queryCaptor.capture(), eq(Movie.class));
+        assertThat(queryCaptor.getValue().getQueryObject()).isEqualTo(new Document());
+    }
+
+    @Test
+    public void streamByIdRangeMustLeaveOpenEndsUnbounded() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        this.target.streamByIdRange(null, "5e0000040000000000000000", 100);
+        this.target.streamByIdRange("5e0000040000000000000000", null, 100);
+
+        verify(this.mongoTemplate, times(2)).stream(queryCaptor.capture(), eq(Movie.class));
+        assertThat(queryCaptor.getAllValues().get(0).getQueryObject())
+                .isEqualTo(new Document("id", new Document("$lt", new ObjectId("5e0000040000000000000000"))));
+        assertThat(queryCaptor.getAllValues().get(1).getQueryObject())
+                .isEqualTo(new Document("id", new Document("$gte", new ObjectId("5e0000040000000000000000"))));
+    }
+
+    @Test
+    public void streamNamesMustProjectOnlyTheName() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        this.target.streamNames(500);
+
+        verify(this.mongoTemplate).stream(queryCaptor.capture(), eq(Movie.class));
+        assertThat(queryCaptor.getValue().getQueryObject()).isEqualTo(new Document());
+        assertThat(queryCaptor.getValue().getFieldsObject()).isEqualTo(new Document("name", 1).append("id", 0));
+        assertThat(queryCaptor.getValue().getMeta().getCursorBatchSize()).isEqualTo(500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> mockCollection() {
+        final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+        when(this.mongoTemplate.getConverter())
+                .thenReturn(mock(MongoConverter.class));
+        lenient().when(collection.withWriteConcern(any(WriteConcern.class)))
+                .thenReturn(collection);
+        lenient().when(this.mongoTemplate.execute(eq(Movie.class), any(CollectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+        return collection;
+    }
+}
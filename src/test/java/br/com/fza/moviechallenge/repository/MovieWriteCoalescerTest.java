@@ -0,0 +1,299 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.model.Movie;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.ClientSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieWriteCoalescerTest extends BaseTest {
+
+    public static final String VALID_CANDIDATE = "validCandidate";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @Mock
+    private MovieRepository movieRepository;
+    @Mock
+    private MovieCausalSessions movieCausalSessions;
+
+    private MovieWriteCoalescer target;
+
+    @Before
+    public void setUp() throws Exception {
+        lenient().when(this.movieCausalSessions.execute(isNull(), any()))
+                .thenAnswer(invocation -> invocation.<MovieCausalSessions.Operation<?, ?>>getArgument(1).run());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        this.target.destroy();
+        this.callers.shutdownNow();
+    }
+
+    @Test
+    public void insertMustWriteDirectlyWhenCoalescingIsDisabled() {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                false, 5, 10, 5_000, this.meterRegistry);
+        final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.movieRepository.insert(movie)).thenReturn(movie);
+
+        assertThat(this.target.insert(movie)).isSameAs(movie);
+        verify(this.movieRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    public void insertMustFlushConcurrentMoviesInOneBulkWriteWhenTheBatchIsFull() throws Exception {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 10_000, 2, 5_000, this.meterRegistry);
+        final List<Movie> movies = this.buildCandidates("First", "Second");
+
+        when(this.movieRepository.insertAll(anyList())).thenReturn(List.of());
+
+        final List<Movie> result = this.insertConcurrently(movies).stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(movies);
+        assertThat(result).allSatisfy(movie -> assertThat(movie.getId()).isNotNull());
+        verify(this.movieRepository, times(1)).insertAll(anyList());
+        verify(this.movieCausalSessions, times(1)).execute(isNull(), any());
+        assertThat(this.meterRegistry.get("movies.writes.batch.size").summary().max()).isEqualTo(2);
+    }
+
+    @Test
+    public void insertMustFlushAPartialBatchWhenTheWindowCloses() {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 20, 100, 5_000, this.meterRegistry);
+        final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.movieRepository.insertAll(List.of(movie))).thenReturn(List.of());
+
+        assertThat(this.target.insert(movie)).isSameAs(movie);
+    }
+
+    @Test
+    public void insertMustCompleteEachCallerWithItsOwnWriteError() {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 10_000, 3, 5_000, this.meterRegistry);
+        final List<Movie> movies = this.buildCandidates("Duplicated", "Created", "Invalid");
+
+        when(this.movieRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            final List<Movie> batch = invocation.getArgument(0);
+            final List<BulkWriteError> errors = new ArrayList<>();
+            for (int index = 0; index < batch.size(); index++) {
+                if ("Duplicated".equals(batch.get(index).getName())) {
+                    errors.add(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), index));
+                } else if ("Invalid".equals(batch.get(index).getName())) {
+                    errors.add(new BulkWriteError(121, "Document failed validation", new BsonDocument(), index));
+                }
+            }
+            return errors;
+        });
+
+        final List<CompletableFuture<Movie>> results = this.insertConcurrently(movies);
+
+        assertThat(catchThrowable(results.get(0)::join)).hasCauseInstanceOf(DuplicateKeyException.class);
+        assertThat(results.get(1).join()).isSameAs(movies.get(1));
+        assertThat(catchThrowable(results.get(2)::join)).hasCauseExactlyInstanceOf(DataIntegrityViolationException.class);
+        assertThat(movies.get(0).getId()).isNull();
+        assertThat(movies.get(1).getId()).isNotNull();
+        assertThat(movies.get(2).getId()).isNull();
+    }
+
+    @Test
+    public void insertMustFailEveryCallerWhenTheBulkWriteFails() {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 10_000, 2, 5_000, this.meterRegistry);
+        final List<Movie> movies = this.buildCandidates("First", "Second");
+
+        when(this.movieRepository.insertAll(anyList())).thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        this.insertConcurrently(movies).forEach(result -> assertThat(catchThrowable(result::join))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DataAccessResourceFailureException.class));
+    }
+
+    @Test
+    public void destroyMustFailQueuedMoviesAndWriteDirectlyAfterwards() throws Exception {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 0, 1, 5_000, this.meterRegistry);
+        final List<Movie> movies = this.buildCandidates("Flushing", "Queued", "Late");
+        final AtomicBoolean released = new AtomicBoolean();
+
+        when(this.movieRepository.insertAll(List.of(movies.get(0)))).thenAnswer(invocation -> {
+            while (!released.get()) {
+                Thread.onSpinWait();
+            }
+            return List.of();
+        });
+        when(this.movieRepository.insert(movies.get(2))).thenReturn(movies.get(2));
+
+        final CompletableFuture<Movie> flushing = CompletableFuture.supplyAsync(() -> this.target.insert(movies.get(0)), this.callers);
+        verify(this.movieRepository, timeout(5_000)).insertAll(List.of(movies.get(0)));
+        final CompletableFuture<Movie> queued = CompletableFuture.supplyAsync(() -> this.target.insert(movies.get(1)), this.callers);
+        this.awaitQueued();
+        final CompletableFuture<Void> destroyed = CompletableFuture.runAsync(() -> {
+            try {
+                this.target.destroy();
+            } catch(final InterruptedException e) {
+                throw new CompletionException(e);
+            }
+        }, this.callers);
+        while (!((ExecutorService) ReflectionTestUtils.getField(this.target, "flusher")).isShutdown()) {
+            Thread.onSpinWait();
+        }
+        released.set(true);
+
+        destroyed.get(5, TimeUnit.SECONDS);
+        assertThat(flushing.get(5, TimeUnit.SECONDS)).isSameAs(movies.get(0));
+        assertThat(catchThrowable(() -> queued.get(5, TimeUnit.SECONDS)))
+                .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(movies.get(1).getId()).isNull();
+        assertThat(this.target.insert(movies.get(2))).isSameAs(movies.get(2));
+        verify(this.movieRepository, never()).insertAll(List.of(movies.get(1)));
+    }
+
+    @Test
+    public void insertMustWithdrawAQueuedMovieAfterTheTimeoutAndNeverWriteIt() throws Exception {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 0, 1, 100, this.meterRegistry);
+        final List<Movie> movies = this.buildCandidates("Flushing", "Queued");
+        final AtomicBoolean released = new AtomicBoolean();
+
+        when(this.movieRepository.insertAll(List.of(movies.get(0)))).thenAnswer(invocation -> {
+            while (!released.get()) {
+                Thread.onSpinWait();
+            }
+            return List.of();
+        });
+
+        final CompletableFuture<Movie> flushing = CompletableFuture.supplyAsync(() -> this.target.insert(movies.get(0)), this.callers);
+        verify(this.movieRepository, timeout(5_000)).insertAll(List.of(movies.get(0)));
+
+        assertThat(catchThrowable(() -> this.target.insert(movies.get(1))))
+                .isInstanceOf(DataAccessResourceFailureException.class)
+                .hasMessageStartingWith("Timed out after 100 ms waiting for the movie insert");
+        assertThat((Queue<?>) ReflectionTestUtils.getField(this.target, "queue")).isEmpty();
+
+        released.set(true);
+        assertThat(flushing.get(5, TimeUnit.SECONDS)).isSameAs(movies.get(0));
+        this.target.destroy();
+        verify(this.movieRepository, never()).insertAll(List.of(movies.get(1)));
+    }
+
+    @Test
+    public void insertMustWaitForTheFlusherWhenTheTimeoutFiresAfterTheDrain() throws Exception {
+        this.target = new MovieWriteCoalescer(this.movieRepository, this.movieCausalSessions,
+                true, 0, 1, 100, this.meterRegistry);
+        final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+        final CountDownLatch released = new CountDownLatch(1);
+
+        when(this.movieRepository.insertAll(List.of(movie))).thenAnswer(invocation -> {
+            released.await();
+            return List.of();
+        });
+
+        final CompletableFuture<Movie> inserting = CompletableFuture.supplyAsync(() -> this.target.insert(movie), this.callers);
+        verify(this.movieRepository, timeout(5_000)).insertAll(List.of(movie));
+        Thread.sleep(300);
+
+        assertThat(inserting).isNotDone();
+        released.countDown();
+        assertThat(inserting.get(5, TimeUnit.SECONDS)).isSameAs(movie);
+        assertThat(movie.getId()).isNotNull();
+    }
+
+    @Test
+    public void insertMustHandTheCallerACausalTokenCoveringTheBatch() {
+        final MongoDbFactory mongoDbFactory = mock(MongoDbFactory.class);
+        final ClientSession callerSession = mock(ClientSession.class);
+        final ClientSession flusherSession = mock(ClientSession.class);
+        final AtomicReference<BsonTimestamp> callerOperationTime = new AtomicReference<>();
+        final MovieCausalSessions movieCausalSessions = new MovieCausalSessions(mongoDbFactory);
+        this.target = new MovieWriteCoalescer(this.movieRepository, movieCausalSessions,
+                true, 0, 1, 5_000, this.meterRegistry);
+        final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(mongoDbFactory.getSession(any(ClientSessionOptions.class))).thenReturn(callerSession, flusherSession);
+        when(callerSession.getOperationTime()).thenAnswer(invocation -> callerOperationTime.get());
+        doAnswer(invocation -> {
+            callerOperationTime.set(invocation.getArgument(0));
+            return null;
+        }).when(callerSession).advanceOperationTime(any());
+        when(flusherSession.getOperationTime()).thenReturn(null, new BsonTimestamp(5, 1));
+        when(this.movieRepository.insertAll(List.of(movie))).thenReturn(List.of());
+
+        final String token = movieCausalSessions.execute(null, () -> {
+            this.target.insert(movie);
+            return movieCausalSessions.token().orElseThrow();
+        });
+
+        assertThat(movieCausalSessions.parse(token))
+                .isEqualTo(new BsonDocument("operationTime", new BsonTimestamp(5, 1)));
+    }
+
+    private void awaitQueued() {
+        final Queue<?> queue = (Queue<?>) ReflectionTestUtils.getField(this.target, "queue");
+        while (queue.isEmpty()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private List<CompletableFuture<Movie>> insertConcurrently(final List<Movie> movies) {
+        return movies.stream()
+                .map(movie -> CompletableFuture.supplyAsync(() -> this.target.insert(movie), this.callers))
+                .collect(Collectors.toList());
+    }
+
+    private List<Movie> buildCandidates(final String... names) {
+        return Stream.of(names)
+                .map(name -> {
+                    final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+                    movie.setName(name);
+                    return movie;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,263 @@
+package br.com.fza.moviechallenge.repository;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieField;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveCollectionCallback;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveMovieRepositoryImplTest extends BaseTest {
+
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @InjectMocks
+    private ReactiveMovieRepositoryImpl target;
+
+    @Test
+    public void findAllByCensureLevelMustProjectRequestedFieldsAndExcludeId() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.fromIterable(movies));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel,
+                EnumSet.of(MovieField.NAME), PageRequest.of(1, 2)))
+                .expectNextSequence(movies)
+                .verifyComplete();
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("censureLevel", censureLevel));
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("name", 1).append("id", 0));
+        assertThat(query.getSkip()).isEqualTo(2);
+        assertThat(query.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void findFilmographyMustSortByLaunchDateAndForceTheFilmographyIndex() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.fromIterable(movies));
+        when(this.reactiveMongoTemplate.count(any(Query.class), eq(Movie.class)))
+                .thenReturn(Mono.just(5L));
+
+        StepVerifier.create(this.target.findFilmography(MovieField.DIRECTOR, "Fernando Meirelles",
+                PageRequest.of(1, 2)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(movies);
+                    assertThat(page.getTotalElements()).isEqualTo(5);
+                })
+                .verifyComplete();
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("director", "Fernando Meirelles"));
+        assertThat(query.getSortObject()).isEqualTo(new Document("launchDate", -1).append("id", -1));
+        assertThat(query.getHint())
+                .isEqualTo(new Document("director", 1).append("launchDate", -1).append("_id", -1).toJson());
+        assertThat(query.getSkip()).isEqualTo(2);
+    }
+
+    @Test
+    public void findSliceByLaunchDateBetweenMustFetchOneMoreMovieToKnowIfThereIsANextSlice() {
+        final List<Movie> movies = from(Movie.class).gimme(3, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.fromIterable(movies));
+
+        StepVerifier.create(this.target.findSliceByLaunchDateBetween(LocalDate.of(2020, 1, 1),
+                LocalDate.of(2020, 12, 31), null, null, 2))
+                .assertNext(slice -> {
+                    assertThat(slice.getContent()).containsExactlyElementsOf(movies.subList(0, 2));
+                    assertThat(slice.hasNext()).isTrue();
+                })
+                .verifyComplete();
+
+        assertThat(queryCaptor.getValue().getLimit()).isEqualTo(3);
+        assertThat(queryCaptor.getValue().getHint())
+                .isEqualTo(new Document("launchDate", 1).append("_id", 1).toJson());
+    }
+
+    @Test
+    public void findAllByCensureLevelMustKeepIdWhenRequested() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.target.findAllByCensureLevel(CensureLevel.SEM_CENSURA,
+                EnumSet.of(MovieField.ID, MovieField.NAME), Pageable.unpaged()))
+                .verifyComplete();
+
+        assertThat(queryCaptor.getValue().getFieldsObject()).isEqualTo(new Document("id", 1).append("name", 1));
+    }
+
+    @Test
+    public void findSliceByCensureLevelAfterMustFetchOneExtraMovieToKnowIfThereIsANextSlice() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movies = from(Movie.class).gimme(3, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.fromIterable(movies));
+
+        StepVerifier.create(this.target.findSliceByCensureLevelAfter(censureLevel, null, pageable))
+                .assertNext(slice -> {
+                    assertThat(slice.getContent()).containsExactlyElementsOf(movies.subList(0, 2));
+                    assertThat(slice.hasNext()).isTrue();
+                })
+                .verifyComplete();
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject()).isEqualTo(new Document("censureLevel", censureLevel));
+        assertThat(query.getSkip()).isEqualTo(2);
+        assertThat(query.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    public void findSliceByCensureLevelAfterMustResumeAfterTheLastId() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "id"));
+        final List<Movie> movies = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.find(queryCaptor.capture(), eq(Movie.class)))
+                .thenReturn(Flux.fromIterable(movies));
+
+        StepVerifier.create(this.target.findSliceByCensureLevelAfter(censureLevel, lastId, pageable))
+                .assertNext(slice -> {
+                    assertThat(slice.getContent()).containsExactlyElementsOf(movies);
+                    assertThat(slice.hasNext()).isFalse();
+                })
+                .verifyComplete();
+
+        final Query query = queryCaptor.getValue();
+        assertThat(query.getQueryObject())
+                .isEqualTo(new Document("censureLevel", censureLevel).append("id", new Document("$gt", lastId)));
+        assertThat(query.getSortObject()).isEqualTo(new Document("id", 1));
+    }
+
+    @Test
+    public void findExistingNamesMustQueryDistinctNamesWithIn() {
+        final ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        when(this.reactiveMongoTemplate.findDistinct(queryCaptor.capture(), eq("name"), eq(Movie.class),
+                eq(String.class)))
+                .thenReturn(Flux.just("Titanic"));
+
+        StepVerifier.create(this.target.findExistingNames(List.of("Titanic", "Avatar")))
+                .expectNext("Titanic")
+                .verifyComplete();
+
+        assertThat(queryCaptor.getValue().getQueryObject())
+                .isEqualTo(new Document("name", new Document("$in", List.of("Titanic", "Avatar"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void insertAllMustExecuteOneUnorderedBulkWrite() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final MongoCollection<Document> collection = mock(MongoCollection.class);
+        final ArgumentCaptor<List<InsertOneModel<Document>>> insertsCaptor = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<BulkWriteOptions> optionsCaptor = ArgumentCaptor.forClass(BulkWriteOptions.class);
+
+        when(this.reactiveMongoTemplate.getConverter())
+                .thenReturn(mock(MongoConverter.class));
+        when(collection.bulkWrite(insertsCaptor.capture(), optionsCaptor.capture()))
+                .thenReturn(Mono.just(BulkWriteResult.acknowledged(2, 0, 0, 0, List.of())));
+        when(this.reactiveMongoTemplate.execute(eq(Movie.class), any(ReactiveCollectionCallback.class)))
+                .thenAnswer(invocation -> Flux.from(invocation.<ReactiveCollectionCallback<?>>getArgument(1)
+                        .doInCollection(collection)));
+
+        StepVerifier.create(this.target.insertAll(movies))
+                .verifyComplete();
+
+        assertThat(insertsCaptor.getValue()).hasSize(2);
+        assertThat(optionsCaptor.getValue().isOrdered()).isFalse();
+        verify(this.reactiveMongoTemplate.getConverter(), times(2)).write(any(Movie.class), any(Document.class));
+    }
+
+    @Test
+    public void insertAllMustEmitTheWriteErrorsOfPartialFailures() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final List<BulkWriteError> writeErrors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0));
+
+        when(this.reactiveMongoTemplate.getConverter())
+                .thenReturn(mock(MongoConverter.class));
+        when(this.reactiveMongoTemplate.execute(eq(Movie.class), any(ReactiveCollectionCallback.class)))
+                .thenReturn(Flux.error(new DuplicateKeyException("E11000 duplicate key error",
+                        new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()), writeErrors,
+                                null, new ServerAddress()))));
+
+        StepVerifier.create(this.target.insertAll(movies))
+                .expectNextSequence(writeErrors)
+                .verifyComplete();
+    }
+
+    @Test
+    public void insertAllMustEmitWriteConcernErrors() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+        final List<BulkWriteError> writeErrors = List.of(
+                new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0));
+
+        when(this.reactiveMongoTemplate.getConverter())
+                .thenReturn(mock(MongoConverter.class));
+        when(this.reactiveMongoTemplate.execute(eq(Movie.class), any(ReactiveCollectionCallback.class)))
+                .thenReturn(Flux.error(new DuplicateKeyException("E11000 duplicate key error",
+                        new MongoBulkWriteException(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()), writeErrors,
+                                new WriteConcernError(64, "waiting for replication timed out", new BsonDocument()),
+                                new ServerAddress()))));
+
+        StepVerifier.create(this.target.insertAll(movies))
+                .verifyError(DuplicateKeyException.class);
+    }
+}
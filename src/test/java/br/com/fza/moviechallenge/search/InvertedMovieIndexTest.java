@@ -0,0 +1,79 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvertedMovieIndexTest {
+
+    private final InvertedMovieIndex target = new InvertedMovieIndex();
+
+    @Before
+    public void setUp() {
+        target.add(movie("1", "Cidade de Deus", "Fernando Meirelles", "Alexandre Rodrigues", "Leandro Firmino"));
+        target.add(movie("2", "Ensaio sobre a Cegueira", "Fernando Meirelles", "Julianne Moore"));
+        target.add(movie("3", "Central do Brasil", "Walter Salles", "Fernanda Montenegro"));
+        target.add(movie("4", "Fernando", "Walter Salles"));
+        target.add(movie("5", "Cidade Baixa", "Sérgio Machado", "Alice Braga", "Lázaro Ramos"));
+    }
+
+    @Test
+    public void searchMustRankNameMatchesAboveDirectorMatches() {
+        final List<Movie> result = target.search(List.of("fernando"));
+
+        assertThat(result).extracting(Movie::getId).containsExactly("4", "1", "2");
+    }
+
+    @Test
+    public void searchMustRequireEveryTerm() {
+        final List<Movie> result = target.search(List.of("cidade", "meirelles"));
+
+        assertThat(result).extracting(Movie::getId).containsExactly("1");
+    }
+
+    @Test
+    public void searchMustMatchFoldedCastTerms() {
+        final List<Movie> result = target.search(MovieSearchTokenizer.tokenize("LAZARO"));
+
+        assertThat(result).extracting(Movie::getId).containsExactly("5");
+    }
+
+    @Test
+    public void searchMustBreakScoreTiesByName() {
+        final List<Movie> result = target.search(List.of("cidade"));
+
+        assertThat(result).extracting(Movie::getName).containsExactly("Cidade Baixa", "Cidade de Deus");
+    }
+
+    @Test
+    public void searchMustReturnNothingForUnknownOrMissingTerms() {
+        assertThat(target.search(List.of("cidade", "titanic"))).isEmpty();
+        assertThat(target.search(List.of())).isEmpty();
+    }
+
+    @Test
+    public void addMustIgnoreMoviesAlreadyIndexed() {
+        target.add(movie("1", "Titanic", "James Cameron"));
+
+        assertThat(target.size()).isEqualTo(5);
+        assertThat(target.search(List.of("titanic"))).isEmpty();
+    }
+
+    @Test
+    public void addMustIndexMoviesWithoutCast() {
+        final Movie movie = movie("6", "Bacurau", "Kleber Mendonça Filho");
+        movie.setCast(null);
+
+        target.add(movie);
+
+        assertThat(target.search(List.of("mendonca"))).extracting(Movie::getId).containsExactly("6");
+    }
+
+    private static Movie movie(final String id, final String name, final String director, final String... cast) {
+        return Movie.builder().id(id).name(name).director(director).cast(List.of(cast)).build();
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.util.CloseableIterator;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieSearchIndexTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private MovieSearchIndex target;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieSearchIndex(this.movieRepository, this.meterRegistry);
+    }
+
+    @Test(expected = MovieSearchUnavailableException.class)
+    public void searchMustBeRefusedUntilTheFirstRebuild() {
+        target.onMovieCreated(new MovieCreatedEvent(movie("1", "Titanic")));
+
+        target.search("titanic", PageRequest.of(0, 10));
+    }
+
+    @Test
+    public void searchMustPageTheRankedHitsOfTheRebuiltIndex() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(movie("1", "Titanic"), movie("2", "Titanic II"),
+                        movie("3", "Titanic III"), movie("4", "Avatar"))));
+
+        target.rebuild();
+        final Page<Movie> firstPage = target.search("Titanic", PageRequest.of(0, 2));
+        final Page<Movie> lastPage = target.search("Titanic", PageRequest.of(1, 2));
+        final Page<Movie> pastTheEnd = target.search("Titanic", PageRequest.of(5, 2));
+
+        assertThat(firstPage.getContent()).extracting(Movie::getId).containsExactly("1", "2");
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(lastPage.getContent()).extracting(Movie::getId).containsExactly("3");
+        assertThat(pastTheEnd.getContent()).isEmpty();
+        assertThat(this.meterRegistry.get("movies.search.duration").timer().count()).isEqualTo(3);
+        assertThat(this.meterRegistry.get("movies.search.indexed").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    public void onMovieCreatedMustIndexTheMovieIncrementally() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of()));
+
+        target.rebuild();
+        target.onMovieCreated(new MovieCreatedEvent(movie("1", "Central do Brasil")));
+
+        assertThat(target.search("brasil", PageRequest.of(0, 10)).getContent())
+                .extracting(Movie::getId).containsExactly("1");
+    }
+
+    @Test
+    public void rebuildMustKeepTheMoviesCreatedDuringTheScan() {
+        final MovieSearchIndex index = this.target;
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenAnswer(invocation -> {
+                    index.onMovieCreated(new MovieCreatedEvent(movie("2", "Bacurau")));
+                    return closeableIterator(List.of(movie("1", "Titanic")));
+                });
+
+        target.rebuild();
+
+        assertThat(target.search("bacurau", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    public void rebuildMustKeepThePreviousIndexWhenTheScanFails() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(movie("1", "Titanic"))))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        target.rebuild();
+        target.rebuild();
+
+        assertThat(target.search("titanic", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    public void indexedGaugeMustBeZeroBeforeTheFirstRebuild() {
+        assertThat(this.meterRegistry.get("movies.search.indexed").gauge().value()).isZero();
+    }
+
+    private static Movie movie(final String id, final String name) {
+        return Movie.builder().id(id).name(name).director("Director").cast(List.of("Actor")).build();
+    }
+
+    private static CloseableIterator<Movie> closeableIterator(final List<Movie> movies) {
+        final Iterator<Movie> iterator = movies.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Movie next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
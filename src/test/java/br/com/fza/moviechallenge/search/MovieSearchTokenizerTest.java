@@ -0,0 +1,32 @@
+package br.com.fza.moviechallenge.search;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieSearchTokenizerTest {
+
+    @Test
+    public void tokenizeMustFoldAccentsAndCase() {
+        assertThat(MovieSearchTokenizer.tokenize("Ação em São PAULO")).containsExactly("acao", "sao", "paulo");
+    }
+
+    @Test
+    public void tokenizeMustSplitOnPunctuationAndDropStopWords() {
+        assertThat(MovieSearchTokenizer.tokenize("O Auto da Compadecida: 2 (Versão do Diretor)"))
+                .containsExactly("auto", "compadecida", "2", "versao", "diretor");
+    }
+
+    @Test
+    public void tokenizeMustReturnNoTermsForMissingText() {
+        assertThat(MovieSearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(MovieSearchTokenizer.tokenize("  --  ")).isEmpty();
+        assertThat(MovieSearchTokenizer.tokenize(" -- Bacurau")).containsExactly("bacurau");
+    }
+
+    @Test
+    public void normalizeMustCollapseSeparatorsIntoSingleSpaces() {
+        assertThat(MovieSearchTokenizer.normalize("  Homem-Aranha:  Através do Aranhaverso ")).isEqualTo("homem aranha atraves do aranhaverso");
+        assertThat(MovieSearchTokenizer.normalize(null)).isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.util.CloseableIterator;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MovieSuggestIndexTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private MovieSuggestIndex target;
+
+    @Before
+    public void setUp() {
+        this.target = new MovieSuggestIndex(this.movieRepository, this.meterRegistry);
+    }
+
+    @Test(expected = MovieSearchUnavailableException.class)
+    public void suggestMustBeRefusedUntilTheFirstRebuild() {
+        target.onMovieCreated(new MovieCreatedEvent(movie("1", "Titanic", CensureLevel.CENSURADO, 1997)));
+
+        target.suggest("tit", null, 10);
+    }
+
+    @Test
+    public void suggestMustMergeTheSuggestionsOfEveryCensureLevel() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(
+                        movie("1", "Titanic", CensureLevel.CENSURADO, 1997),
+                        movie("2", "Titanic II", CensureLevel.SEM_CENSURA, 2010),
+                        movie("3", "Titãs", CensureLevel.SEM_CENSURA, 2001),
+                        movie("4", "Avatar", CensureLevel.CENSURADO, 2009))));
+
+        target.rebuild();
+        final List<Movie> suggestions = target.suggest("Tit", null, 2);
+
+        assertThat(suggestions).extracting(Movie::getId).containsExactly("2", "3");
+        assertThat(suggestions.get(0).getCast()).isNull();
+        assertThat(this.meterRegistry.get("movies.suggest.duration").timer().count()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("movies.suggest.indexed").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    public void suggestMustFilterByCensureLevel() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(
+                        movie("1", "Titanic", CensureLevel.CENSURADO, 1997),
+                        movie("2", "Titanic II", CensureLevel.SEM_CENSURA, 2010),
+                        movie("3", "Tito", CensureLevel.CENSURADO, null))));
+
+        target.rebuild();
+
+        assertThat(target.suggest("tit", CensureLevel.CENSURADO, 10)).extracting(Movie::getId)
+                .containsExactly("1", "3");
+    }
+
+    @Test
+    public void onMovieCreatedMustAddTheTitleIncrementally() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of()));
+
+        target.rebuild();
+        target.onMovieCreated(new MovieCreatedEvent(movie("1", "Bacurau", CensureLevel.CENSURADO, 2019)));
+
+        assertThat(target.suggest("bac", null, 10)).extracting(Movie::getId).containsExactly("1");
+    }
+
+    @Test
+    public void rebuildMustKeepTheMoviesCreatedDuringTheScan() {
+        final MovieSuggestIndex index = this.target;
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenAnswer(invocation -> {
+                    index.onMovieCreated(new MovieCreatedEvent(movie("2", "Bacurau", CensureLevel.CENSURADO, 2019)));
+                    return closeableIterator(List.of(movie("1", "Titanic", CensureLevel.CENSURADO, 1997)));
+                });
+
+        target.rebuild();
+
+        assertThat(target.suggest("bac", null, 10)).extracting(Movie::getId).containsExactly("2");
+    }
+
+    @Test
+    public void rebuildMustKeepThePreviousIndexWhenTheScanFails() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(movie("1", "Titanic", CensureLevel.CENSURADO, 1997))))
+                .thenThrow(new DataAccessResourceFailureException("Timed out"));
+
+        target.rebuild();
+        target.rebuild();
+
+        assertThat(target.suggest("tit", null, 10)).extracting(Movie::getId).containsExactly("1");
+    }
+
+    @Test
+    public void rebuildMustSkipMoviesWithoutACensureLevel() {
+        when(this.movieRepository.streamByIdRange(null, null, 1000))
+                .thenReturn(closeableIterator(List.of(
+                        movie("1", "Titanic", null, 1997),
+                        movie("2", "Tito", CensureLevel.CENSURADO, 2001))));
+
+        target.rebuild();
+        target.onMovieCreated(new MovieCreatedEvent(movie("3", "Titãs", null, 2010)));
+
+        assertThat(target.suggest("tit", null, 10)).extracting(Movie::getId).containsExactly("2");
+        assertThat(this.meterRegistry.get("movies.suggest.indexed").gauge().value()).isEqualTo(1);
+        assertThat(this.meterRegistry.get("movies.suggest.memory.bytes").gauge().value()).isPositive();
+    }
+
+    @Test
+    public void indexedGaugeMustBeZeroBeforeTheFirstRebuild() {
+        assertThat(this.meterRegistry.get("movies.suggest.indexed").gauge().value()).isZero();
+        assertThat(this.meterRegistry.get("movies.suggest.memory.bytes").gauge().value()).isZero();
+    }
+
+    private static Movie movie(final String id, final String name, final CensureLevel censureLevel,
+                               final Integer year) {
+        return Movie.builder()
+                .id(id)
+                .name(name)
+                .censureLevel(censureLevel)
+                .launchDate(year == null ? null : LocalDate.of(year, 1, 1))
+                .director("Director")
+                .cast(List.of("Actor"))
+                .build();
+    }
+
+    private static CloseableIterator<Movie> closeableIterator(final List<Movie> movies) {
+        final Iterator<Movie> iterator = movies.iterator();
+        return new CloseableIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Movie next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
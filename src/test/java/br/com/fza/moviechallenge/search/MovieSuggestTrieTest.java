@@ -0,0 +1,108 @@
+package br.com.fza.moviechallenge.search;
+
+import br.com.fza.moviechallenge.model.Movie;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MovieSuggestTrieTest {
+
+    private final MovieSuggestTrie target = new MovieSuggestTrie(3);
+
+    @Before
+    public void setUp() {
+        target.add(movie("1", "Cidade de Deus"), 100);
+        target.add(movie("2", "Cidade Baixa"), 300);
+        target.add(movie("3", "Central do Brasil"), 200);
+        target.add(movie("4", "Ciclone"), 50);
+        target.add(movie("5", "Bacurau"), 400);
+    }
+
+    @Test
+    public void suggestMustRankTitlesStartingWithThePrefixByPopularity() {
+        assertThat(target.suggest("ci", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("2", "1", "4");
+        assertThat(target.suggest("cidade d", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("1");
+    }
+
+    @Test
+    public void suggestMustKeepOnlyTheMostPopularTitlesOfEachPrefix() {
+        assertThat(target.suggest("c", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("2", "3", "1");
+        assertThat(target.suggest("c", 2)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("2", "3");
+    }
+
+    @Test
+    public void suggestMustBreakPopularityTiesByTitle() {
+        target.add(movie("6", "Cidade Alta"), 300);
+
+        assertThat(target.suggest("cidade", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("6", "2", "1");
+    }
+
+    @Test
+    public void suggestMustBreakTitleTiesById() {
+        target.add(movie("0", "Bacurau"), 400);
+
+        assertThat(target.suggest("bacurau", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("0", "5");
+    }
+
+    @Test
+    public void suggestMustReturnNothingForUnknownPrefixes() {
+        assertThat(target.suggest("ti", 10)).isEmpty();
+        assertThat(target.suggest("cx", 10)).isEmpty();
+        assertThat(target.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    public void suggestMustMatchPrefixesEndingHalfwayThroughAnEdge() {
+        assertThat(target.suggest("bacu", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("5");
+        assertThat(target.suggest("baco", 10)).isEmpty();
+        assertThat(target.suggest("bacurau 2", 10)).isEmpty();
+    }
+
+    @Test
+    public void addMustSplitAnEdgeAtATitleEndingHalfwayThroughIt() {
+        target.add(movie("6", "Bacu"), 10);
+        target.add(movie("7", "Cidade"), 20);
+
+        assertThat(target.suggest("bacu", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("5", "6");
+        assertThat(target.suggest("bacur", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("5");
+        assertThat(target.suggest("cidade", 10)).extracting(suggestion -> suggestion.getMovie().getId())
+                .containsExactly("2", "1", "7");
+    }
+
+    @Test
+    public void sizeInBytesMustGrowWithTheBranchesNotWithEveryCharacter() {
+        final MovieSuggestTrie shortTitle = new MovieSuggestTrie(3);
+        final MovieSuggestTrie longTitle = new MovieSuggestTrie(3);
+        final long empty = shortTitle.sizeInBytes();
+
+        shortTitle.add(movie("1", "O"), 100);
+        longTitle.add(movie("1", "O" + " auto da compadecida".repeat(10)), 100);
+
+        assertThat(shortTitle.sizeInBytes()).isGreaterThan(empty);
+        // One node either way, only its label grows
+        assertThat(longTitle.sizeInBytes() - shortTitle.sizeInBytes()).isEqualTo(200);
+        assertThat(target.sizeInBytes()).isGreaterThan(shortTitle.sizeInBytes());
+    }
+
+    @Test
+    public void addMustIgnoreMoviesAlreadyIndexed() {
+        target.add(movie("5", "Titanic"), 500);
+
+        assertThat(target.size()).isEqualTo(5);
+        assertThat(target.suggest("ti", 10)).isEmpty();
+    }
+
+    private static Movie movie(final String id, final String name) {
+        return Movie.builder().id(id).name(name).build();
+    }
+}
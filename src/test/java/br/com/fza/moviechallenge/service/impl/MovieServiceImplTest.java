@@ -1,26 +1,64 @@
 package br.com.fza.moviechallenge.service.impl;
 
 import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.cache.MovieCatalogStats;
+import br.com.fza.moviechallenge.cache.MovieGenerationCounter;
+import br.com.fza.moviechallenge.cache.MovieNameFilter;
+import br.com.fza.moviechallenge.cache.MoviePageCache;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
 import br.com.fza.moviechallenge.exception.CouldNotCreateMovieException;
 import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
 import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
 import br.com.fza.moviechallenge.model.CensureLevel;
 import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.repository.MovieCausalSessions;
 import br.com.fza.moviechallenge.repository.MovieRepository;
+import br.com.fza.moviechallenge.repository.MovieWriteCoalescer;
+import br.com.fza.moviechallenge.search.MovieSearchIndex;
+import br.com.fza.moviechallenge.search.MovieSuggestIndex;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static br.com.six2six.fixturefactory.Fixture.from;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,6 +68,24 @@ public class MovieServiceImplTest extends BaseTest {
     public static final String PERSISTED_CENSURADO = "persistedCensurado";
     @Mock
     private MovieRepository movieRepository;
+    @Mock
+    private MovieWriteCoalescer movieWriteCoalescer;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private MovieSearchIndex movieSearchIndex;
+    @Mock
+    private MovieSuggestIndex movieSuggestIndex;
+    @Mock
+    private MovieCatalogStats movieCatalogStats;
+    @Spy
+    private MoviePageCache moviePageCache = new MoviePageCache(1000, 60, new SimpleMeterRegistry(),
+            mock(MovieCausalSessions.class));
+    @Spy
+    private MovieGenerationCounter movieGenerationCounter = new MovieGenerationCounter();
+    @Spy
+    private MovieNameFilter movieNameFilter = new MovieNameFilter(mock(MovieRepository.class),
+            new SimpleMeterRegistry(), 1000, 0.01);
 
     @InjectMocks
     private MovieServiceImpl target;
@@ -39,53 +95,155 @@ public class MovieServiceImplTest extends BaseTest {
         final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
         final Movie persistedMovie = from(Movie.class).gimme(PERSISTED_CENSURADO);
 
-        when(this.movieRepository.existsByName(movieCandidate.getName()))
-                .thenReturn(Boolean.FALSE);
-
-        when(this.movieRepository.save(movieCandidate))
+        when(this.movieWriteCoalescer.insert(movieCandidate))
                 .thenReturn(persistedMovie);
 
         final Movie result = this.target.createMovie(movieCandidate);
 
         assertThat(result).isEqualToIgnoringGivenFields(persistedMovie,"id");
         assertThat(result.getId()).isNotNull();
+        verify(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMovieMustReturnThePersistedMovieWhenAListenerFails() {
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final Movie persistedMovie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieWriteCoalescer.insert(movieCandidate))
+                .thenReturn(persistedMovie);
+        doThrow(new IllegalStateException("Listener failure"))
+                .when(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+
+        assertThat(this.target.createMovie(movieCandidate)).isSameAs(persistedMovie);
     }
 
     @Test(expected = DuplicatedMovieException.class)
     public void createMovieThrowExceptionWhenMovieCandidateNameExists() {
         final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
 
-        when(this.movieRepository.existsByName(movieCandidate.getName()))
-                .thenReturn(Boolean.TRUE);
+        when(this.movieWriteCoalescer.insert(movieCandidate))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
-        this.target.createMovie(movieCandidate);
+        try {
+            this.target.createMovie(movieCandidate);
+        } finally {
+            verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+        }
     }
 
     @Test(expected = CouldNotCreateMovieException.class)
-    public void createMovieThrowExceptionWhenRepositoryExistsByNameThrowsException() {
+    public void createMovieThrowExceptionWhenRepositoryInsertThrowsException() {
         final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
 
-        final Throwable throwable = new RuntimeException("Some Runtime Exception");
+        final Throwable throwable = new RuntimeException("Some Runtime Exception Saving Movie");
 
-        when(this.movieRepository.existsByName(movieCandidate.getName()))
+        when(this.movieWriteCoalescer.insert(movieCandidate))
                 .thenThrow(throwable);
 
-        this.target.createMovie(movieCandidate);
+        try {
+            this.target.createMovie(movieCandidate);
+        } finally {
+            verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+        }
     }
 
-    @Test(expected = CouldNotCreateMovieException.class)
-    public void createMovieThrowExceptionWhenRepositorySaveThrowsException() {
-        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+    @Test
+    public void createMoviesMustInsertOnlyNewNamesInOneBulkWrite() {
+        final List<Movie> movieCandidates = this.buildCandidates("Existing", "New", "New", "Other");
+
+        when(this.movieRepository.findExistingNames(Set.of("Existing", "New", "Other")))
+                .thenReturn(List.of("Existing"));
+        when(this.movieRepository.insertAll(any()))
+                .thenReturn(List.of());
+
+        final List<MovieBatchResult> result = this.target.createMovies(movieCandidates);
+
+        assertThat(result).extracting(MovieBatchResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(MovieBatchStatus.DUPLICATED,
+                MovieBatchStatus.CREATED, MovieBatchStatus.DUPLICATED, MovieBatchStatus.CREATED);
+        assertThat(result.get(0).getMessage()).isEqualTo(new DuplicatedMovieException("Existing").getMessage());
+        assertThat(result.get(0).getMovie().getId()).isNull();
+        assertThat(result.get(1).getMovie().getId()).isNotNull();
+        assertThat(result.get(3).getMovie().getId()).isNotNull();
+        verify(this.movieRepository).insertAll(List.of(movieCandidates.get(1), movieCandidates.get(3)));
+        verify(this.applicationEventPublisher).publishEvent(argThat((MovieCreatedEvent event) ->
+                event.getMovies().equals(List.of(movieCandidates.get(1), movieCandidates.get(3)))));
+    }
 
-        when(this.movieRepository.existsByName(movieCandidate.getName()))
-                .thenReturn(Boolean.FALSE);
+    @Test
+    public void createMoviesMustReportCreatedMoviesWhenAListenerFails() {
+        final List<Movie> movieCandidates = this.buildCandidates("First", "Second");
 
-        final Throwable throwable = new RuntimeException("Some Runtime Exception Saving Movie");
+        when(this.movieRepository.findExistingNames(any()))
+                .thenReturn(List.of());
+        when(this.movieRepository.insertAll(any()))
+                .thenReturn(List.of());
+        doThrow(new IllegalStateException("Listener failure"))
+                .when(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
 
-        when(this.movieRepository.save(movieCandidate))
-                .thenThrow(throwable);
+        final List<MovieBatchResult> result = this.target.createMovies(movieCandidates);
+
+        assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(MovieBatchStatus.CREATED,
+                MovieBatchStatus.CREATED);
+        verify(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMoviesMustReportBulkWriteErrorsPerItem() {
+        final List<Movie> movieCandidates = this.buildCandidates("Racing", "Created", "Invalid");
+
+        when(this.movieRepository.findExistingNames(any()))
+                .thenReturn(List.of());
+        when(this.movieRepository.insertAll(any()))
+                .thenReturn(List.of(
+                        new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 0),
+                        new BulkWriteError(121, "Document failed validation", new BsonDocument(), 2)));
+
+        final List<MovieBatchResult> result = this.target.createMovies(movieCandidates);
+
+        assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(MovieBatchStatus.DUPLICATED,
+                MovieBatchStatus.CREATED, MovieBatchStatus.FAILED);
+        assertThat(result.get(2).getMessage()).isEqualTo("Document failed validation");
+        assertThat(result.get(0).getMovie().getId()).isNull();
+        assertThat(result.get(2).getMovie().getId()).isNull();
+        verify(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+    }
 
-        this.target.createMovie(movieCandidate);
+    @Test
+    public void createMoviesMustNotWriteWhenEveryMovieIsDuplicated() {
+        final List<Movie> movieCandidates = this.buildCandidates("Existing");
+
+        when(this.movieRepository.findExistingNames(any()))
+                .thenReturn(List.of("Existing"));
+
+        final List<MovieBatchResult> result = this.target.createMovies(movieCandidates);
+
+        assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(MovieBatchStatus.DUPLICATED);
+        verify(this.movieRepository, never()).insertAll(any());
+    }
+
+    @Test
+    public void createMoviesMustSkipTheNameLookupWhenTheFilterRulesEveryNameOut() {
+        final List<Movie> movieCandidates = this.buildCandidates("New", "Other");
+
+        doReturn(false).when(this.movieNameFilter).mightContain(any());
+
+        final List<MovieBatchResult> result = this.target.createMovies(movieCandidates);
+
+        assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(MovieBatchStatus.CREATED,
+                MovieBatchStatus.CREATED);
+        verify(this.movieRepository, never()).findExistingNames(any());
+    }
+
+    @Test(expected = CouldNotCreateMovieException.class)
+    public void createMoviesThrowExceptionWhenRepositoryThrowsException() {
+        final List<Movie> movieCandidates = this.buildCandidates("New");
+
+        when(this.movieRepository.findExistingNames(any()))
+                .thenThrow(new RuntimeException("Some Runtime Exception"));
+
+        this.target.createMovies(movieCandidates);
     }
 
     @Test
@@ -187,6 +345,55 @@ public class MovieServiceImplTest extends BaseTest {
         assertThat(result.getContent()).hasSize(0);
     }
 
+    @Test
+    public void findAllByCensureLevelMustServeRepeatedPagesFromCache() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(movieList, pageable, 2));
+
+        this.target.findAllByCensureLevel(censureLevel, pageable);
+        final Page<Movie> result = this.target.findAllByCensureLevel(censureLevel, pageable);
+
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+        verify(this.movieRepository, times(1)).findAllByCensureLevel(censureLevel, pageable);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustReloadPageAfterGenerationChanges() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final Movie movie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(new PageImpl<>(List.of(movie), pageable, 2));
+
+        this.target.findAllByCensureLevel(censureLevel, pageable);
+        this.movieGenerationCounter.onMovieCreated(new MovieCreatedEvent(movie));
+        this.target.findAllByCensureLevel(censureLevel, pageable);
+
+        verify(this.movieRepository, times(2)).findAllByCensureLevel(censureLevel, pageable);
+    }
+
+    @Test
+    public void findAllByCensureLevelWithFieldsMustReturnUnpagedProjection() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+        final Set<MovieField> fields = EnumSet.of(MovieField.NAME);
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findAllByCensureLevel(censureLevel, fields, pageable))
+                .thenReturn(new PageImpl<>(movieList));
+
+        this.target.findAllByCensureLevel(censureLevel, fields, pageable);
+        final Page<Movie> result = this.target.findAllByCensureLevel(censureLevel, fields, pageable);
+
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+        verify(this.movieRepository, times(2)).findAllByCensureLevel(censureLevel, fields, pageable);
+    }
+
     @Test(expected = CouldNotFindMoviesException.class)
     public void findAllByCensureLevelMustThrowExceptionWhenAnErrorOccurs() {
         final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
@@ -199,4 +406,282 @@ public class MovieServiceImplTest extends BaseTest {
 
         this.target.findAllByCensureLevel(censureLevel, pageable);
     }
+
+    @Test
+    public void findAllByCensureLevelWithFieldsMustReturnProjectedPage() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Set<MovieField> fields = EnumSet.of(MovieField.ID, MovieField.NAME);
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findAllByCensureLevel(censureLevel, fields, pageable))
+                .thenReturn(new PageImpl<>(movieList, pageable, 2));
+
+        final Page<Movie> result = this.target.findAllByCensureLevel(censureLevel, fields, pageable);
+
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findAllByCensureLevelWithFieldsMustThrowExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10);
+        final Set<MovieField> fields = EnumSet.of(MovieField.NAME);
+
+        when(this.movieRepository.findAllByCensureLevel(censureLevel, fields, pageable))
+                .thenThrow(new RuntimeException("Some Runtime Exception Finding Movies"));
+
+        this.target.findAllByCensureLevel(censureLevel, fields, pageable);
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnRepositorySlice() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findSliceByCensureLevel(censureLevel, pageable))
+                .thenReturn(new SliceImpl<>(movieList, pageable, true));
+
+        final Slice<Movie> result = this.target.findSliceByCensureLevel(censureLevel, pageable);
+
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findSliceByCensureLevelMustThrowExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10);
+
+        when(this.movieRepository.findSliceByCensureLevel(censureLevel, pageable))
+                .thenThrow(new RuntimeException("Some Runtime Exception Finding Movies"));
+
+        this.target.findSliceByCensureLevel(censureLevel, pageable);
+    }
+
+    @Test
+    public void findAllByCensureLevelAfterMustReturnFirstSliceWithoutCursor() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findSliceByCensureLevel(censureLevel, pageable))
+                .thenReturn(new SliceImpl<>(movieList, pageable, true));
+
+        final Slice<Movie> result = this.target.findAllByCensureLevelAfter(censureLevel, null, 1);
+
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+    }
+
+    @Test
+    public void findAllByCensureLevelAfterMustResumeAfterTheLastId() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.findSliceByCensureLevelAndIdGreaterThan(censureLevel, lastId, pageable))
+                .thenReturn(new SliceImpl<>(movieList, pageable, false));
+
+        final Slice<Movie> result = this.target.findAllByCensureLevelAfter(censureLevel, lastId, 1);
+
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.getContent()).containsExactlyElementsOf(movieList);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findAllByCensureLevelAfterMustThrowExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        final Throwable throwable = new RuntimeException("Some Runtime Exception Finding Movies");
+
+        when(this.movieRepository.findSliceByCensureLevel(censureLevel, pageable))
+                .thenThrow(throwable);
+
+        this.target.findAllByCensureLevelAfter(censureLevel, null, 10);
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustReturnRepositoryStream() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieRepository.streamAllByCensureLevel(censureLevel))
+                .thenReturn(movieList.stream());
+
+        try (Stream<Movie> result = this.target.streamAllByCensureLevel(censureLevel)) {
+            assertThat(result.collect(Collectors.toList())).containsExactlyElementsOf(movieList);
+        }
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void streamAllByCensureLevelMustThrowExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+
+        when(this.movieRepository.streamAllByCensureLevel(censureLevel))
+                .thenThrow(new RuntimeException("Some Runtime Exception Streaming Movies"));
+
+        this.target.streamAllByCensureLevel(censureLevel);
+    }
+
+    @Test
+    public void searchMoviesMustReturnTheRankedPageOfTheSearchIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.movieSearchIndex.search("titanic", pageable))
+                .thenReturn(moviesPage);
+
+        final Page<Movie> result = this.target.searchMovies("titanic", pageable);
+
+        assertThat(result).isSameAs(moviesPage);
+        verifyZeroInteractions(this.movieRepository);
+    }
+
+    @Test(expected = MovieSearchUnavailableException.class)
+    public void searchMoviesMustRethrowWhenTheSearchIndexIsNotReady() {
+        when(this.movieSearchIndex.search("titanic", Pageable.unpaged()))
+                .thenThrow(new MovieSearchUnavailableException("The search index is still being built"));
+
+        this.target.searchMovies("titanic", Pageable.unpaged());
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void searchMoviesMustThrowExceptionWhenAnErrorOccurs() {
+        when(this.movieSearchIndex.search("titanic", Pageable.unpaged()))
+                .thenThrow(new RuntimeException("Some Runtime Exception Searching Movies"));
+
+        this.target.searchMovies("titanic", Pageable.unpaged());
+    }
+
+    @Test
+    public void findAllByActorMustReturnTheFilmographyOfTheCastIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.movieRepository.findFilmography(MovieField.CAST, "Wagner Moura", pageable))
+                .thenReturn(moviesPage);
+
+        assertThat(this.target.findAllByActor("Wagner Moura", pageable)).isSameAs(moviesPage);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findAllByActorMustThrowExceptionWhenAnErrorOccurs() {
+        when(this.movieRepository.findFilmography(MovieField.CAST, "Wagner Moura", Pageable.unpaged()))
+                .thenThrow(new RuntimeException("Some Runtime Exception Finding Movies"));
+
+        this.target.findAllByActor("Wagner Moura", Pageable.unpaged());
+    }
+
+    @Test
+    public void findAllByDirectorMustReturnTheFilmographyOfTheDirectorIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.movieRepository.findFilmography(MovieField.DIRECTOR, "Walter Salles", pageable))
+                .thenReturn(moviesPage);
+
+        assertThat(this.target.findAllByDirector("Walter Salles", pageable)).isSameAs(moviesPage);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findAllByDirectorMustThrowExceptionWhenAnErrorOccurs() {
+        when(this.movieRepository.findFilmography(MovieField.DIRECTOR, "Walter Salles", Pageable.unpaged()))
+                .thenThrow(new RuntimeException("Some Runtime Exception Finding Movies"));
+
+        this.target.findAllByDirector("Walter Salles", Pageable.unpaged());
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustReturnTheSliceAfterTheCursor() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 12, 31);
+        final Movie after = Movie.builder().launchDate(from).id("5e2cc9e6ec7aef3c7d38a84b").build();
+        final Slice<Movie> moviesSlice = new SliceImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO));
+
+        when(this.movieRepository.findSliceByLaunchDateBetween(from, to, CensureLevel.CENSURADO, after, 2))
+                .thenReturn(moviesSlice);
+
+        assertThat(this.target.findAllByLaunchDateBetween(from, to, CensureLevel.CENSURADO, after, 2))
+                .isSameAs(moviesSlice);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void findAllByLaunchDateBetweenMustThrowExceptionWhenAnErrorOccurs() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+
+        when(this.movieRepository.findSliceByLaunchDateBetween(from, from, null, null, 2))
+                .thenThrow(new RuntimeException("Some Runtime Exception Finding Movies"));
+
+        this.target.findAllByLaunchDateBetween(from, from, null, null, 2);
+    }
+
+    @Test
+    public void suggestMoviesMustReturnTheSuggestionsOfTheSuggestIndex() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieSuggestIndex.suggest("tit", CensureLevel.CENSURADO, 5))
+                .thenReturn(movies);
+
+        final List<Movie> result = this.target.suggestMovies("tit", CensureLevel.CENSURADO, 5);
+
+        assertThat(result).isSameAs(movies);
+        verifyZeroInteractions(this.movieRepository);
+    }
+
+    @Test(expected = MovieSearchUnavailableException.class)
+    public void suggestMoviesMustRethrowWhenTheSuggestIndexIsNotReady() {
+        when(this.movieSuggestIndex.suggest("tit", null, 5))
+                .thenThrow(new MovieSearchUnavailableException("The suggestion index is still being built"));
+
+        this.target.suggestMovies("tit", null, 5);
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void suggestMoviesMustThrowExceptionWhenAnErrorOccurs() {
+        when(this.movieSuggestIndex.suggest("tit", null, 5))
+                .thenThrow(new RuntimeException("Some Runtime Exception Suggesting Movies"));
+
+        this.target.suggestMovies("tit", null, 5);
+    }
+
+    @Test
+    public void getStatsMustReturnTheCatalogCounters() {
+        final MovieStats movieStats = MovieStats.builder().total(2).build();
+
+        when(this.movieCatalogStats.stats())
+                .thenReturn(movieStats);
+
+        assertThat(this.target.getStats()).isSameAs(movieStats);
+        verifyZeroInteractions(this.movieRepository);
+    }
+
+    @Test(expected = MovieStatsUnavailableException.class)
+    public void getStatsMustRethrowWhenTheCountersAreNotReady() {
+        when(this.movieCatalogStats.stats())
+                .thenThrow(new MovieStatsUnavailableException("The catalog statistics are still being computed"));
+
+        this.target.getStats();
+    }
+
+    @Test(expected = CouldNotFindMoviesException.class)
+    public void getStatsMustThrowExceptionWhenAnErrorOccurs() {
+        when(this.movieCatalogStats.stats())
+                .thenThrow(new RuntimeException("Some Runtime Exception Getting Stats"));
+
+        this.target.getStats();
+    }
+
+    private List<Movie> buildCandidates(final String... names) {
+        return Stream.of(names)
+                .map(name -> {
+                    final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+                    movie.setName(name);
+                    return movie;
+                })
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,594 @@
+package br.com.fza.moviechallenge.service.impl;
+
+import br.com.fza.moviechallenge.BaseTest;
+import br.com.fza.moviechallenge.cache.MovieCatalogStats;
+import br.com.fza.moviechallenge.cache.MovieNameFilter;
+import br.com.fza.moviechallenge.event.MovieCreatedEvent;
+import br.com.fza.moviechallenge.exception.CouldNotCreateMovieException;
+import br.com.fza.moviechallenge.exception.CouldNotFindMoviesException;
+import br.com.fza.moviechallenge.exception.DuplicatedMovieException;
+import br.com.fza.moviechallenge.exception.MovieSearchUnavailableException;
+import br.com.fza.moviechallenge.exception.MovieStatsUnavailableException;
+import br.com.fza.moviechallenge.model.CensureLevel;
+import br.com.fza.moviechallenge.model.Movie;
+import br.com.fza.moviechallenge.model.MovieBatchResult;
+import br.com.fza.moviechallenge.model.MovieBatchStatus;
+import br.com.fza.moviechallenge.model.MovieField;
+import br.com.fza.moviechallenge.model.MovieStats;
+import br.com.fza.moviechallenge.repository.MovieRepository;
+import br.com.fza.moviechallenge.repository.ReactiveMovieRepository;
+import br.com.fza.moviechallenge.search.MovieSearchIndex;
+import br.com.fza.moviechallenge.search.MovieSuggestIndex;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static br.com.six2six.fixturefactory.Fixture.from;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveMovieServiceImplTest extends BaseTest {
+
+    public static final String VALID_CANDIDATE = "validCandidate";
+    public static final String PERSISTED_CENSURADO = "persistedCensurado";
+    @Mock
+    private ReactiveMovieRepository reactiveMovieRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private MovieSearchIndex movieSearchIndex;
+    @Mock
+    private MovieSuggestIndex movieSuggestIndex;
+    @Mock
+    private MovieCatalogStats movieCatalogStats;
+    @Spy
+    private MovieNameFilter movieNameFilter = new MovieNameFilter(mock(MovieRepository.class),
+            new SimpleMeterRegistry(), 1000, 0.01);
+
+    @InjectMocks
+    private ReactiveMovieServiceImpl target;
+
+    @Test
+    public void createMovieMustWorksProperlyWithValidMovieCandidate() {
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final Movie persistedMovie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.insert(movieCandidate))
+                .thenReturn(Mono.just(persistedMovie));
+
+        StepVerifier.create(this.target.createMovie(movieCandidate))
+                .expectNext(persistedMovie)
+                .verifyComplete();
+
+        verify(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMovieMustEmitThePersistedMovieWhenAListenerFails() {
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+        final Movie persistedMovie = from(Movie.class).gimme(PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.insert(movieCandidate))
+                .thenReturn(Mono.just(persistedMovie));
+        doThrow(new IllegalStateException("Listener failure"))
+                .when(this.applicationEventPublisher).publishEvent(any(MovieCreatedEvent.class));
+
+        StepVerifier.create(this.target.createMovie(movieCandidate))
+                .expectNext(persistedMovie)
+                .verifyComplete();
+    }
+
+    @Test
+    public void createMovieMustEmitDuplicatedMovieExceptionWhenMovieCandidateNameExists() {
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.reactiveMovieRepository.insert(movieCandidate))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(this.target.createMovie(movieCandidate))
+                .verifyError(DuplicatedMovieException.class);
+
+        verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMovieMustEmitCouldNotCreateMovieExceptionWhenInsertFails() {
+        final Movie movieCandidate = from(Movie.class).gimme(VALID_CANDIDATE);
+
+        when(this.reactiveMovieRepository.insert(movieCandidate))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Saving Movie")));
+
+        StepVerifier.create(this.target.createMovie(movieCandidate))
+                .verifyError(CouldNotCreateMovieException.class);
+
+        verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMoviesMustInsertOnlyNewNamesInOneBulkWrite() {
+        final List<Movie> movieCandidates = this.buildCandidates("Existing", "New", "New", "Racing", "Invalid");
+
+        when(this.reactiveMovieRepository.findExistingNames(Set.of("Existing", "New", "Racing", "Invalid")))
+                .thenReturn(Flux.just("Existing"));
+        when(this.reactiveMovieRepository.insertAll(any()))
+                .thenReturn(Flux.just(
+                        new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1),
+                        new BulkWriteError(121, "Document failed validation", new BsonDocument(), 2)));
+
+        StepVerifier.create(this.target.createMovies(movieCandidates))
+                .assertNext(result -> {
+                    assertThat(result).extracting(MovieBatchResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+                    assertThat(result).extracting(MovieBatchResult::getStatus).containsExactly(
+                            MovieBatchStatus.DUPLICATED, MovieBatchStatus.CREATED, MovieBatchStatus.DUPLICATED,
+                            MovieBatchStatus.DUPLICATED, MovieBatchStatus.FAILED);
+                    assertThat(result.get(4).getMessage()).isEqualTo("Document failed validation");
+                    assertThat(result.get(1).getMovie().getId()).isNotNull();
+                    assertThat(result.get(3).getMovie().getId()).isNull();
+                })
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository).insertAll(List.of(movieCandidates.get(1), movieCandidates.get(3),
+                movieCandidates.get(4)));
+        verify(this.applicationEventPublisher).publishEvent(argThat((MovieCreatedEvent event) ->
+                event.getMovies().equals(List.of(movieCandidates.get(1)))));
+    }
+
+    @Test
+    public void createMoviesMustNotWriteWhenEveryMovieIsDuplicated() {
+        final List<Movie> movieCandidates = this.buildCandidates("Existing");
+
+        when(this.reactiveMovieRepository.findExistingNames(any()))
+                .thenReturn(Flux.just("Existing"));
+
+        StepVerifier.create(this.target.createMovies(movieCandidates))
+                .assertNext(result -> assertThat(result).extracting(MovieBatchResult::getStatus)
+                        .containsExactly(MovieBatchStatus.DUPLICATED))
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository, never()).insertAll(any());
+        verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void createMoviesMustSkipTheNameLookupWhenTheFilterRulesEveryNameOut() {
+        final List<Movie> movieCandidates = this.buildCandidates("New", "Other");
+
+        doReturn(false).when(this.movieNameFilter).mightContain(any());
+        when(this.reactiveMovieRepository.insertAll(any()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.target.createMovies(movieCandidates))
+                .assertNext(result -> assertThat(result).extracting(MovieBatchResult::getStatus)
+                        .containsExactly(MovieBatchStatus.CREATED, MovieBatchStatus.CREATED))
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository, never()).findExistingNames(any());
+    }
+
+    @Test
+    public void createMoviesMustEmitCouldNotCreateMovieExceptionWhenTheLookupFails() {
+        final List<Movie> movieCandidates = this.buildCandidates("New");
+
+        when(this.reactiveMovieRepository.findExistingNames(any()))
+                .thenReturn(Flux.error(new RuntimeException("Some Runtime Exception")));
+
+        StepVerifier.create(this.target.createMovies(movieCandidates))
+                .verifyError(CouldNotCreateMovieException.class);
+
+        verify(this.applicationEventPublisher, never()).publishEvent(any(MovieCreatedEvent.class));
+    }
+
+    @Test
+    public void findAllByCensureLevelMustNotCountWhenUnpaged() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = Pageable.unpaged();
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(2);
+                    assertThat(page.getContent()).containsExactlyElementsOf(movieList);
+                })
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository, never()).countByCensureLevel(censureLevel);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustNotCountWhenFirstPageIsNotFull() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 5);
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .assertNext(page -> assertThat(page.getTotalElements()).isEqualTo(2))
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository, never()).countByCensureLevel(censureLevel);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustNotCountWhenLastPageIsNotFull() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(1, 2);
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(3);
+                    assertThat(page.isLast()).isTrue();
+                })
+                .verifyComplete();
+
+        verify(this.reactiveMovieRepository, never()).countByCensureLevel(censureLevel);
+    }
+
+    @Test
+    public void findAllByCensureLevelMustCountWhenPageIsFull() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final List<Movie> movieList = from(Movie.class).gimme(1, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        when(this.reactiveMovieRepository.countByCensureLevel(censureLevel))
+                .thenReturn(Mono.just(2L));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .assertNext(page -> {
+                    assertThat(page.getTotalPages()).isEqualTo(2);
+                    assertThat(page.hasNext()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByCensureLevelMustCountWhenPageIsEmpty() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(3, 10);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.empty());
+
+        when(this.reactiveMovieRepository.countByCensureLevel(censureLevel))
+                .thenReturn(Mono.just(12L));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .assertNext(page -> {
+                    assertThat(page.getTotalElements()).isEqualTo(12);
+                    assertThat(page.getContent()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByCensureLevelMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, pageable))
+                .thenReturn(Flux.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, pageable))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findAllByCensureLevelWithFieldsMustReturnProjectedPage() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 5);
+        final Set<MovieField> fields = EnumSet.of(MovieField.ID, MovieField.NAME);
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, fields, pageable))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, fields, pageable))
+                .assertNext(page -> assertThat(page.getContent()).containsExactlyElementsOf(movieList))
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByCensureLevelWithFieldsMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10);
+        final Set<MovieField> fields = EnumSet.of(MovieField.NAME);
+
+        when(this.reactiveMovieRepository.findAllByCensureLevel(censureLevel, fields, pageable))
+                .thenReturn(Flux.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByCensureLevel(censureLevel, fields, pageable))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustReturnRepositorySlice() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final Pageable pageable = PageRequest.of(0, 1);
+        final Slice<Movie> slice = new SliceImpl<>(from(Movie.class).gimme(1, PERSISTED_CENSURADO), pageable, true);
+
+        when(this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, null, pageable))
+                .thenReturn(Mono.just(slice));
+
+        StepVerifier.create(this.target.findSliceByCensureLevel(censureLevel, pageable))
+                .expectNext(slice)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findSliceByCensureLevelMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10);
+
+        when(this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, null, pageable))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findSliceByCensureLevel(censureLevel, pageable))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findAllByCensureLevelAfterMustResumeAfterTheLastId() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final String lastId = "5e2cc9e6ec7aef3c7d38a84b";
+        final Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        final Slice<Movie> slice = new SliceImpl<>(from(Movie.class).gimme(1, PERSISTED_CENSURADO), pageable, false);
+
+        when(this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, lastId, pageable))
+                .thenReturn(Mono.just(slice));
+
+        StepVerifier.create(this.target.findAllByCensureLevelAfter(censureLevel, lastId, 1))
+                .expectNext(slice)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByCensureLevelAfterMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+        final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        when(this.reactiveMovieRepository.findSliceByCensureLevelAfter(censureLevel, null, pageable))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByCensureLevelAfter(censureLevel, null, 10))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustReturnRepositoryFlux() {
+        final CensureLevel censureLevel = CensureLevel.CENSURADO;
+        final List<Movie> movieList = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.reactiveMovieRepository.streamAllByCensureLevel(censureLevel))
+                .thenReturn(Flux.fromIterable(movieList));
+
+        StepVerifier.create(this.target.streamAllByCensureLevel(censureLevel))
+                .expectNextSequence(movieList)
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamAllByCensureLevelMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final CensureLevel censureLevel = CensureLevel.SEM_CENSURA;
+
+        when(this.reactiveMovieRepository.streamAllByCensureLevel(censureLevel))
+                .thenReturn(Flux.error(new RuntimeException("Some Runtime Exception Streaming Movies")));
+
+        StepVerifier.create(this.target.streamAllByCensureLevel(censureLevel))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void searchMoviesMustEmitTheRankedPageOfTheSearchIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.movieSearchIndex.search("titanic", pageable))
+                .thenReturn(moviesPage);
+
+        StepVerifier.create(this.target.searchMovies("titanic", pageable))
+                .expectNext(moviesPage)
+                .verifyComplete();
+    }
+
+    @Test
+    public void searchMoviesMustEmitMovieSearchUnavailableExceptionWhenTheSearchIndexIsNotReady() {
+        when(this.movieSearchIndex.search("titanic", Pageable.unpaged()))
+                .thenThrow(new MovieSearchUnavailableException("The search index is still being built"));
+
+        StepVerifier.create(this.target.searchMovies("titanic", Pageable.unpaged()))
+                .verifyError(MovieSearchUnavailableException.class);
+    }
+
+    @Test
+    public void searchMoviesMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        when(this.movieSearchIndex.search("titanic", Pageable.unpaged()))
+                .thenThrow(new RuntimeException("Some Runtime Exception Searching Movies"));
+
+        StepVerifier.create(this.target.searchMovies("titanic", Pageable.unpaged()))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findAllByActorMustEmitTheFilmographyOfTheCastIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.reactiveMovieRepository.findFilmography(MovieField.CAST, "Wagner Moura", pageable))
+                .thenReturn(Mono.just(moviesPage));
+
+        StepVerifier.create(this.target.findAllByActor("Wagner Moura", pageable))
+                .expectNext(moviesPage)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByActorMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        when(this.reactiveMovieRepository.findFilmography(MovieField.CAST, "Wagner Moura", Pageable.unpaged()))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByActor("Wagner Moura", Pageable.unpaged()))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findAllByDirectorMustEmitTheFilmographyOfTheDirectorIndex() {
+        final Pageable pageable = PageRequest.of(0, 2);
+        final Page<Movie> moviesPage = new PageImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO), pageable, 3);
+
+        when(this.reactiveMovieRepository.findFilmography(MovieField.DIRECTOR, "Walter Salles", pageable))
+                .thenReturn(Mono.just(moviesPage));
+
+        StepVerifier.create(this.target.findAllByDirector("Walter Salles", pageable))
+                .expectNext(moviesPage)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByDirectorMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        when(this.reactiveMovieRepository.findFilmography(MovieField.DIRECTOR, "Walter Salles", Pageable.unpaged()))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByDirector("Walter Salles", Pageable.unpaged()))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustEmitTheSliceAfterTheCursor() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+        final LocalDate to = LocalDate.of(2020, 12, 31);
+        final Movie after = Movie.builder().launchDate(from).id("5e2cc9e6ec7aef3c7d38a84b").build();
+        final Slice<Movie> moviesSlice = new SliceImpl<>(from(Movie.class).gimme(2, PERSISTED_CENSURADO));
+
+        when(this.reactiveMovieRepository.findSliceByLaunchDateBetween(from, to, CensureLevel.CENSURADO, after, 2))
+                .thenReturn(Mono.just(moviesSlice));
+
+        StepVerifier.create(this.target.findAllByLaunchDateBetween(from, to, CensureLevel.CENSURADO, after, 2))
+                .expectNext(moviesSlice)
+                .verifyComplete();
+    }
+
+    @Test
+    public void findAllByLaunchDateBetweenMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        final LocalDate from = LocalDate.of(2020, 1, 1);
+
+        when(this.reactiveMovieRepository.findSliceByLaunchDateBetween(from, from, null, null, 2))
+                .thenReturn(Mono.error(new RuntimeException("Some Runtime Exception Finding Movies")));
+
+        StepVerifier.create(this.target.findAllByLaunchDateBetween(from, from, null, null, 2))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void suggestMoviesMustEmitTheSuggestionsOfTheSuggestIndex() {
+        final List<Movie> movies = from(Movie.class).gimme(2, PERSISTED_CENSURADO);
+
+        when(this.movieSuggestIndex.suggest("tit", CensureLevel.CENSURADO, 5))
+                .thenReturn(movies);
+
+        StepVerifier.create(this.target.suggestMovies("tit", CensureLevel.CENSURADO, 5))
+                .expectNext(movies.get(0), movies.get(1))
+                .verifyComplete();
+    }
+
+    @Test
+    public void suggestMoviesMustEmitMovieSearchUnavailableExceptionWhenTheSuggestIndexIsNotReady() {
+        when(this.movieSuggestIndex.suggest("tit", null, 5))
+                .thenThrow(new MovieSearchUnavailableException("The suggestion index is still being built"));
+
+        StepVerifier.create(this.target.suggestMovies("tit", null, 5))
+                .verifyError(MovieSearchUnavailableException.class);
+    }
+
+    @Test
+    public void suggestMoviesMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        when(this.movieSuggestIndex.suggest("tit", null, 5))
+                .thenThrow(new RuntimeException("Some Runtime Exception Suggesting Movies"));
+
+        StepVerifier.create(this.target.suggestMovies("tit", null, 5))
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    @Test
+    public void getStatsMustEmitTheCatalogCounters() {
+        final MovieStats movieStats = MovieStats.builder().total(2).build();
+
+        when(this.movieCatalogStats.stats())
+                .thenReturn(movieStats);
+
+        StepVerifier.create(this.target.getStats())
+                .expectNext(movieStats)
+                .verifyComplete();
+    }
+
+    @Test
+    public void getStatsMustEmitMovieStatsUnavailableExceptionWhenTheCountersAreNotReady() {
+        when(this.movieCatalogStats.stats())
+                .thenThrow(new MovieStatsUnavailableException("The catalog statistics are still being computed"));
+
+        StepVerifier.create(this.target.getStats())
+                .verifyError(MovieStatsUnavailableException.class);
+    }
+
+    @Test
+    public void getStatsMustEmitCouldNotFindMoviesExceptionWhenAnErrorOccurs() {
+        when(this.movieCatalogStats.stats())
+                .thenThrow(new RuntimeException("Some Runtime Exception Getting Stats"));
+
+        StepVerifier.create(this.target.getStats())
+                .verifyError(CouldNotFindMoviesException.class);
+    }
+
+    private List<Movie> buildCandidates(final String... names) {
+        return Stream.of(names)
+                .map(name -> {
+                    final Movie movie = from(Movie.class).gimme(VALID_CANDIDATE);
+                    movie.setName(name);
+                    return movie;
+                })
+                .collect(Collectors.toList());
+    }
+}